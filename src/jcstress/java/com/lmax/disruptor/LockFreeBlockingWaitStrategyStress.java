@@ -0,0 +1,139 @@
+package com.lmax.disruptor;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Mode;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.Signal;
+import org.openjdk.jcstress.annotations.State;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+public final class LockFreeBlockingWaitStrategyStress
+{
+    /**
+     * A consumer blocks waiting for sequence 0 while a single producer publishes it, relying on the sequencer to
+     * publish with a volatile store for this strategy.  The consumer must always be woken, a lost wake-up leaves it
+     * parked.
+     */
+    @JCStressTest(Mode.Termination)
+    @Outcome(id = "TERMINATED", expect = ACCEPTABLE, desc = "Consumer woken by the publish.")
+    @Outcome(id = "STALE", expect = FORBIDDEN, desc = "Lost wake-up, the consumer stayed parked.")
+    @State
+    public static class SingleProducerPublishWakesConsumer
+    {
+        RingBuffer<Object> ringBuffer = RingBuffer.createSingleProducer(Object::new, 4, new LockFreeBlockingWaitStrategy());
+        SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        @Actor
+        public void consumer()
+        {
+            waitForFirst(barrier);
+        }
+
+        @Signal
+        public void publisher()
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+    }
+
+    /**
+     * As above, but with a multi producer ring where the cursor is claimed before the event is published.
+     */
+    @JCStressTest(Mode.Termination)
+    @Outcome(id = "TERMINATED", expect = ACCEPTABLE, desc = "Consumer woken by the publish.")
+    @Outcome(id = "STALE", expect = FORBIDDEN, desc = "Lost wake-up, the consumer stayed parked.")
+    @State
+    public static class MultiProducerPublishWakesConsumer
+    {
+        RingBuffer<Object> ringBuffer = RingBuffer.createMultiProducer(Object::new, 4, new LockFreeBlockingWaitStrategy());
+        SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        @Actor
+        public void consumer()
+        {
+            waitForFirst(barrier);
+        }
+
+        @Signal
+        public void publisher()
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+    }
+
+    /**
+     * Alerting the barrier, as halting an event processor does, must always wake a parked consumer.
+     */
+    @JCStressTest(Mode.Termination)
+    @Outcome(id = "TERMINATED", expect = ACCEPTABLE, desc = "Consumer woken by the alert.")
+    @Outcome(id = "STALE", expect = FORBIDDEN, desc = "Lost wake-up, the consumer stayed parked.")
+    @State
+    public static class AlertWakesConsumer
+    {
+        RingBuffer<Object> ringBuffer = RingBuffer.createSingleProducer(Object::new, 4, new LockFreeBlockingWaitStrategy());
+        SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        @Actor
+        public void consumer()
+        {
+            waitForFirst(barrier);
+        }
+
+        @Signal
+        public void alert()
+        {
+            barrier.alert();
+        }
+    }
+
+    /**
+     * Two consumers park on the same strategy, one publish must wake both of them.
+     */
+    @JCStressTest(Mode.Termination)
+    @Outcome(id = "TERMINATED", expect = ACCEPTABLE, desc = "Both consumers woken by the publish.")
+    @Outcome(id = "STALE", expect = FORBIDDEN, desc = "Lost wake-up, a consumer stayed parked.")
+    @State
+    public static class PublishWakesEveryConsumer
+    {
+        RingBuffer<Object> ringBuffer = RingBuffer.createSingleProducer(Object::new, 4, new LockFreeBlockingWaitStrategy());
+        SequenceBarrier firstBarrier = ringBuffer.newBarrier();
+        SequenceBarrier secondBarrier = ringBuffer.newBarrier();
+        Thread secondConsumer = new Thread(() -> waitForFirst(secondBarrier));
+
+        @Actor
+        public void consumer()
+        {
+            secondConsumer.start();
+            waitForFirst(firstBarrier);
+            try
+            {
+                secondConsumer.join();
+            }
+            catch (final InterruptedException e)
+            {
+                secondConsumer.interrupt();
+            }
+        }
+
+        @Signal
+        public void publisher()
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+    }
+
+    private static void waitForFirst(final SequenceBarrier barrier)
+    {
+        try
+        {
+            barrier.waitFor(0);
+        }
+        catch (final AlertException | InterruptedException | TimeoutException e)
+        {
+            // woken, which is all that is being tested
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.lmax.disruptor;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+public final class SingleProducerSequencerOverwriteStress
+{
+    /**
+     * A consumer reads the event for sequence 0 while the overwriting publisher claims the same slot for
+     * sequence 1 and rewrites it.  Check that a torn or rewritten event is never passed by checkOverrun and that
+     * a failed check always reports the new oldest sequence, so the consumer moves on.
+     */
+    @JCStressTest
+    @Outcome(id = "0, 0, -1", expect = ACCEPTABLE, desc = "Read the intact event before the slot was claimed.")
+    @Outcome(id = "0, 0, 1", expect = ACCEPTABLE_INTERESTING, desc = "Slot claimed during the read, detected before the rewrite was seen.")
+    @Outcome(id = "0, 1, 1", expect = ACCEPTABLE_INTERESTING, desc = "Torn read, detected.")
+    @Outcome(id = "1, 0, 1", expect = ACCEPTABLE_INTERESTING, desc = "Torn read, detected.")
+    @Outcome(id = "1, 1, 1", expect = ACCEPTABLE, desc = "Read the rewritten event, detected.")
+    @Outcome(expect = FORBIDDEN, desc = "A torn or rewritten event passed the check, or the overrun did not move the consumer on.")
+    @State
+    public static class TornReadDetected
+    {
+        RingBuffer<LongPair> ringBuffer = RingBuffer.createSingleProducerOverwriting(LongPair::new, 1, new BlockingWaitStrategy());
+        SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        public TornReadDetected()
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        @Actor
+        public void publisher()
+        {
+            final long sequence = ringBuffer.next();
+            final LongPair event = ringBuffer.get(sequence);
+            event.first = 1;
+            event.second = 1;
+            ringBuffer.publish(sequence);
+        }
+
+        @Actor
+        public void consumer(final JJJ_Result r)
+        {
+            final LongPair event = ringBuffer.get(0);
+            r.r1 = event.first;
+            r.r2 = event.second;
+            try
+            {
+                barrier.checkOverrun(0);
+                r.r3 = -1;
+            }
+            catch (final OverrunException e)
+            {
+                r.r3 = e.getOldestAvailableSequence();
+            }
+        }
+    }
+
+    static final class LongPair
+    {
+        long first;
+        long second;
+    }
+}
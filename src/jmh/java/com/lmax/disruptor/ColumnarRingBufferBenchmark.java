@@ -0,0 +1,115 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a consumer that reads two fields of a ten field event across the whole ring, with the events held as
+ * objects in a {@link RingBuffer} against the same fields held as columns of a {@link ColumnarRingBuffer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ColumnarRingBufferBenchmark
+{
+    private static final int FIELD_COUNT = 10;
+
+    @Param({"1024", "65536", "1048576"})
+    int bufferSize;
+
+    private RingBuffer<WideEvent> ringBuffer;
+    private ColumnarRingBuffer columnarRingBuffer;
+    private ColumnarRingBuffer.LongColumn price;
+    private ColumnarRingBuffer.LongColumn quantity;
+    private ColumnarRingBuffer.Row row;
+
+    @Setup
+    public void setup()
+    {
+        ringBuffer = RingBuffer.createSingleProducer(WideEvent::new, bufferSize, new BlockingWaitStrategy());
+        columnarRingBuffer = ColumnarRingBuffer.create(ProducerType.SINGLE, bufferSize, new BlockingWaitStrategy());
+        final ColumnarRingBuffer.LongColumn[] columns = new ColumnarRingBuffer.LongColumn[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++)
+        {
+            columns[i] = columnarRingBuffer.newLongColumn();
+        }
+        price = columns[3];
+        quantity = columns[7];
+        row = columnarRingBuffer.newRow();
+
+        for (long sequence = 0; sequence < bufferSize; sequence++)
+        {
+            final WideEvent event = ringBuffer.get(sequence);
+            event.price = sequence;
+            event.quantity = 2;
+            price.set(sequence, sequence);
+            quantity.set(sequence, 2);
+        }
+    }
+
+    @Benchmark
+    public long objectEvents()
+    {
+        long notional = 0;
+        for (long sequence = 0; sequence < bufferSize; sequence++)
+        {
+            final WideEvent event = ringBuffer.get(sequence);
+            notional += event.price * event.quantity;
+        }
+        return notional;
+    }
+
+    @Benchmark
+    public long columns()
+    {
+        long notional = 0;
+        for (long sequence = 0; sequence < bufferSize; sequence++)
+        {
+            row.get(sequence);
+            notional += row.get(price) * row.get(quantity);
+        }
+        return notional;
+    }
+
+    public static class WideEvent
+    {
+        long id;
+        long account;
+        long instrument;
+        long price;
+        long venue;
+        long timestamp;
+        long side;
+        long quantity;
+        long orderId;
+        long flags;
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(ColumnarRingBufferBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,161 @@
+package com.lmax.disruptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a consumer scanning the whole ring in sequence order after a full GC, with the events allocated as
+ * objects by the usual {@link EventFactory} against flyweights over a {@link SlabEventFactory} slab.
+ *
+ * <p>Each event object is allocated between other long lived objects, standing in for whatever else the
+ * application allocates while the ring buffer is being filled, so the events are no longer adjacent once
+ * the collector has moved them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class EventLayoutAfterGcBenchmark
+{
+    private static final int WORDS_PER_EVENT = 8;
+    private static final int PRICE = 3;
+    private static final int QUANTITY = 5;
+
+    @Param({"65536", "262144"})
+    int bufferSize;
+
+    @Param({"0", "4"})
+    int interleavedObjects;
+
+    private RingBuffer<ObjectEvent> objectRingBuffer;
+    private RingBuffer<SlabEvent> slabRingBuffer;
+    private final List<Object> interleaved = new ArrayList<>();
+
+    @Setup
+    public void setup()
+    {
+        objectRingBuffer = RingBuffer.createSingleProducer(
+            () ->
+            {
+                for (int i = 0; i < interleavedObjects; i++)
+                {
+                    interleaved.add(new long[WORDS_PER_EVENT]);
+                }
+                return new ObjectEvent();
+            },
+            bufferSize);
+        slabRingBuffer = RingBuffer.createSingleProducer(
+            SlabEventFactory.create(bufferSize, WORDS_PER_EVENT, SlabEvent::new), bufferSize);
+
+        for (long sequence = 0; sequence < bufferSize; sequence++)
+        {
+            final ObjectEvent objectEvent = objectRingBuffer.get(sequence);
+            objectEvent.price = sequence;
+            objectEvent.quantity = 2;
+            final SlabEvent slabEvent = slabRingBuffer.get(sequence);
+            slabEvent.setPrice(sequence);
+            slabEvent.setQuantity(2);
+        }
+
+        System.gc();
+        System.gc();
+    }
+
+    @Benchmark
+    public long objectEvents()
+    {
+        final RingBuffer<ObjectEvent> ringBuffer = objectRingBuffer;
+        long notional = 0;
+        for (long sequence = 0; sequence < bufferSize; sequence++)
+        {
+            final ObjectEvent event = ringBuffer.get(sequence);
+            notional += event.price * event.quantity;
+        }
+        return notional;
+    }
+
+    @Benchmark
+    public long slabEvents()
+    {
+        final RingBuffer<SlabEvent> ringBuffer = slabRingBuffer;
+        long notional = 0;
+        for (long sequence = 0; sequence < bufferSize; sequence++)
+        {
+            final SlabEvent event = ringBuffer.get(sequence);
+            notional += event.getPrice() * event.getQuantity();
+        }
+        return notional;
+    }
+
+    public static class ObjectEvent
+    {
+        long id;
+        long account;
+        long instrument;
+        long price;
+        long venue;
+        long quantity;
+        long timestamp;
+        long flags;
+    }
+
+    public static final class SlabEvent
+    {
+        private final long[] slab;
+        private final int offset;
+
+        SlabEvent(final long[] slab, final int offset)
+        {
+            this.slab = slab;
+            this.offset = offset;
+        }
+
+        long getPrice()
+        {
+            return slab[offset + PRICE];
+        }
+
+        void setPrice(final long price)
+        {
+            slab[offset + PRICE] = price;
+        }
+
+        long getQuantity()
+        {
+            return slab[offset + QUANTITY];
+        }
+
+        void setQuantity(final long quantity)
+        {
+            slab[offset + QUANTITY] = quantity;
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(EventLayoutAfterGcBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
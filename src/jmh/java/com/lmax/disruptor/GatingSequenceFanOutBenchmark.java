@@ -0,0 +1,111 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a publisher's wrap check on a fan-out of gating sequences, scanning every sequence with
+ * {@link Util#getMinimumSequence(Sequence[])} (as before {@link MinimumSequenceTree}) against reading
+ * the tree of lower bounds.  The consumer thread moves the gating sequences on round robin, the way a
+ * fan-out of consumers that keep up with each other would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GatingSequenceFanOutBenchmark
+{
+    @State(Scope.Group)
+    public static class FanOutState
+    {
+        @Param({"1", "4", "16", "64"})
+        int gatingSequenceCount;
+
+        Sequence[] gatingSequences;
+        MinimumSequenceTree tree;
+        long requiredSequence;
+        int nextConsumer;
+
+        @Setup
+        public void setup()
+        {
+            gatingSequences = new Sequence[gatingSequenceCount];
+            for (int i = 0; i < gatingSequenceCount; i++)
+            {
+                gatingSequences[i] = new Sequence();
+            }
+            tree = new MinimumSequenceTree(gatingSequences);
+        }
+    }
+
+    @Benchmark
+    @Group("fullScan")
+    public long publisherFullScan(final FanOutState s)
+    {
+        final long minimum = Util.getMinimumSequence(s.gatingSequences);
+        if (minimum >= s.requiredSequence)
+        {
+            s.requiredSequence = minimum + 1;
+        }
+        return minimum;
+    }
+
+    @Benchmark
+    @Group("fullScan")
+    public void consumersFullScan(final FanOutState s)
+    {
+        advanceNextConsumer(s);
+    }
+
+    @Benchmark
+    @Group("minimumTree")
+    public long publisherMinimumTree(final FanOutState s)
+    {
+        final long minimum = s.tree.minimum(s.requiredSequence);
+        if (minimum >= s.requiredSequence)
+        {
+            s.requiredSequence = minimum + 1;
+        }
+        return minimum;
+    }
+
+    @Benchmark
+    @Group("minimumTree")
+    public void consumersMinimumTree(final FanOutState s)
+    {
+        advanceNextConsumer(s);
+    }
+
+    private static void advanceNextConsumer(final FanOutState s)
+    {
+        final Sequence sequence = s.gatingSequences[s.nextConsumer];
+        sequence.set(sequence.get() + 1);
+        s.nextConsumer = s.nextConsumer + 1 == s.gatingSequenceCount ? 0 : s.nextConsumer + 1;
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(GatingSequenceFanOutBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
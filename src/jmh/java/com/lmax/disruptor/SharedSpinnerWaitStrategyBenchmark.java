@@ -0,0 +1,108 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Constants;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.SimpleEvent;
+import com.lmax.disruptor.util.SimpleEventHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many rings in one process, each with its own consumer thread, published to round robin. Compares a
+ * {@link BlockingWaitStrategy} per ring with one {@link SharedSpinnerWaitStrategy} shared by all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class SharedSpinnerWaitStrategyBenchmark
+{
+    private static final int RINGS = 24;
+
+    @Param({"blocking", "sharedSpinner"})
+    public String waitStrategy;
+
+    private final Disruptor<SimpleEvent>[] disruptors = newDisruptorArray();
+    private final RingBuffer<SimpleEvent>[] ringBuffers = newRingBufferArray();
+    private SharedSpinnerWaitStrategy sharedSpinnerWaitStrategy;
+
+    @Setup
+    public void setup(final Blackhole bh)
+    {
+        sharedSpinnerWaitStrategy = new SharedSpinnerWaitStrategy();
+        for (int i = 0; i < RINGS; i++)
+        {
+            disruptors[i] = new Disruptor<>(SimpleEvent::new,
+                    Constants.RINGBUFFER_SIZE,
+                    DaemonThreadFactory.INSTANCE,
+                    ProducerType.SINGLE,
+                    "blocking".equals(waitStrategy) ? new BlockingWaitStrategy() : sharedSpinnerWaitStrategy);
+
+            disruptors[i].handleEventsWith(new SimpleEventHandler(bh));
+
+            ringBuffers[i] = disruptors[i].start();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RINGS)
+    public void producing()
+    {
+        for (final RingBuffer<SimpleEvent> ringBuffer : ringBuffers)
+        {
+            long sequence = ringBuffer.next();
+            SimpleEvent simpleEvent = ringBuffer.get(sequence);
+            simpleEvent.setValue(0);
+            ringBuffer.publish(sequence);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        for (final Disruptor<SimpleEvent> disruptor : disruptors)
+        {
+            disruptor.shutdown();
+        }
+        sharedSpinnerWaitStrategy.halt();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Disruptor<SimpleEvent>[] newDisruptorArray()
+    {
+        return new Disruptor[RINGS];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RingBuffer<SimpleEvent>[] newRingBufferArray()
+    {
+        return new RingBuffer[RINGS];
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(SharedSpinnerWaitStrategyBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
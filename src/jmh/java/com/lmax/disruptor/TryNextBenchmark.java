@@ -0,0 +1,84 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.SimpleEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares claiming from a saturated ring buffer, where every attempt fails, through {@link RingBuffer#tryNext()}
+ * reporting the full ring with an exception against {@link RingBuffer#tryNextOrNegative()} reporting it by value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TryNextBenchmark
+{
+    private static final int BUFFER_SIZE = 1024;
+    private static final EventTranslator<SimpleEvent> TRANSLATOR = (event, sequence) -> event.setValue(sequence);
+
+    @Param({"SINGLE", "MULTI"})
+    ProducerType producerType;
+
+    private RingBuffer<SimpleEvent> ringBuffer;
+
+    @Setup
+    public void setup()
+    {
+        ringBuffer = RingBuffer.create(producerType, SimpleEvent::new, BUFFER_SIZE, new BusySpinWaitStrategy());
+        ringBuffer.addGatingSequences(new Sequence());
+        ringBuffer.publish(0, ringBuffer.next(BUFFER_SIZE));
+    }
+
+    @Benchmark
+    public long tryNextThrowing()
+    {
+        try
+        {
+            return ringBuffer.tryNext();
+        }
+        catch (final InsufficientCapacityException e)
+        {
+            return -1L;
+        }
+    }
+
+    @Benchmark
+    public long tryNextOrNegative()
+    {
+        return ringBuffer.tryNextOrNegative();
+    }
+
+    @Benchmark
+    public boolean tryPublishEvent()
+    {
+        return ringBuffer.tryPublishEvent(TRANSLATOR);
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(TryNextBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -17,7 +17,10 @@ package com.lmax.disruptor;
 
 import com.lmax.disruptor.util.Util;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
@@ -29,12 +32,17 @@ public abstract class AbstractSequencer implements Sequencer
 {
     private static final AtomicReferenceFieldUpdater<AbstractSequencer, Sequence[]> SEQUENCE_UPDATER =
         AtomicReferenceFieldUpdater.newUpdater(AbstractSequencer.class, Sequence[].class, "gatingSequences");
+    private static final AtomicReferenceFieldUpdater<AbstractSequencer, long[]> CANCELLED_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractSequencer.class, long[].class, "cancelledSequences");
+    private static final VarHandle CANCELLED_ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
 
     protected final int bufferSize;
     /**
      * 这个等待策略在生产者与消费者中 共享 俩实现多个线程的生产协调
      */
     protected final WaitStrategy waitStrategy;
+    protected final ProducerWaitStrategy producerWaitStrategy;
+    private final boolean signalProducerWaitStrategy;
 
     /**
      * 这个cursor是什么呢？首先它是Sequencer的成员变量。
@@ -46,6 +54,11 @@ public abstract class AbstractSequencer implements Sequencer
      */
     protected final Sequence cursor = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
     protected volatile Sequence[] gatingSequences = new Sequence[0];
+    protected final Sequence minimumGatingSequence = new MinimumGatingSequence();
+    private volatile MinimumSequenceTree gatingSequenceTree = new MinimumSequenceTree(gatingSequences);
+    private final PendingClaims pendingClaims = new PendingClaims(this);
+    // the sequence last cancelled in each slot, allocated by the first cancel
+    private volatile long[] cancelledSequences;
 
     /**
      * Create with the specified buffer size and wait strategy.
@@ -54,6 +67,21 @@ public abstract class AbstractSequencer implements Sequencer
      * @param waitStrategy The wait strategy used by this sequencer
      */
     public AbstractSequencer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create with the specified buffer size, wait strategy and producer wait strategy.
+     *
+     * @param bufferSize           The total number of entries, must be a positive power of 2.
+     * @param waitStrategy         The wait strategy used by this sequencer
+     * @param producerWaitStrategy The strategy used by publishers waiting for capacity
+     */
+    public AbstractSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
     {
         if (bufferSize < 1)
         {
@@ -66,6 +94,8 @@ public abstract class AbstractSequencer implements Sequencer
 
         this.bufferSize = bufferSize;
         this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
+        this.signalProducerWaitStrategy = producerWaitStrategy.requiresSignal();
     }
 
     /**
@@ -113,13 +143,234 @@ public abstract class AbstractSequencer implements Sequencer
         return Util.getMinimumSequence(gatingSequences, cursor.get());
     }
 
+    /**
+     * Get a lower bound on the minimum of the gating sequences and the given default for use in wrap checks.
+     * Unlike {@link Util#getMinimumSequence(Sequence[], long)} this only reads the gating sequences that were
+     * last seen behind the required sequence, see {@link MinimumSequenceTree}.
+     *
+     * @param requiredSequence the value the caller needs the gating sequences to have reached.
+     * @param defaultValue     the value returned if there are no gating sequences, or if it is lower.
+     * @return a lower bound on the minimum, which is at least requiredSequence if every gating sequence has reached it.
+     */
+    protected final long getMinimumGatingSequence(final long requiredSequence, final long defaultValue)
+    {
+        final Sequence[] gatingSequences = this.gatingSequences;
+        MinimumSequenceTree tree = gatingSequenceTree;
+        if (tree.sequences != gatingSequences)
+        {
+            tree = new MinimumSequenceTree(gatingSequences);
+            gatingSequenceTree = tree;
+        }
+
+        final long minimum = tree.minimum(requiredSequence);
+        if (minimum <= defaultValue)
+        {
+            return minimum;
+        }
+
+        if (0 != gatingSequences.length)
+        {
+            // gating sequences ahead of the cursor, e.g. after RingBuffer.resetTo, may since have been moved back
+            gatingSequenceTree = new MinimumSequenceTree(gatingSequences);
+        }
+
+        return Util.getMinimumSequence(gatingSequences, defaultValue);
+    }
+
     /**
      * @see Sequencer#newBarrier(Sequence...)
      */
     @Override
     public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
     {
-        return new ProcessingSequenceBarrier(this, waitStrategy, cursor, sequencesToTrack);
+        return new ProcessingSequenceBarrier(this, waitStrategy, producerWaitStrategy, pendingClaims, cursor, sequencesToTrack);
+    }
+
+    /**
+     * @see Sequencer#newNonGatingBarrier(Sequence...)
+     */
+    @Override
+    public SequenceBarrier newNonGatingBarrier(final Sequence... sequencesToTrack)
+    {
+        trackClaims();
+        return new ProcessingSequenceBarrier(
+            this, waitStrategy, producerWaitStrategy, pendingClaims, cursor, sequencesToTrack, this);
+    }
+
+    /**
+     * Make claims visible to consumers before the claimed slots are written, so {@link AbstractSequencer#isOverwritten(long)}
+     * is accurate.  The cursor already is the highest claim for sequencers that claim by advancing it.
+     */
+    void trackClaims()
+    {
+    }
+
+    /**
+     * @return true if publishers overwrite events rather than waiting for the gating sequences.
+     */
+    boolean isOverwriting()
+    {
+        return false;
+    }
+
+    /**
+     * The oldest sequence whose event has not been overwritten, consumers that have not reached it have been lapped.
+     * Only accurate once claims are tracked, see {@link AbstractSequencer#trackClaims()}.
+     *
+     * @return the oldest sequence still held in the buffer.
+     */
+    long getOldestAvailableSequence()
+    {
+        return cursor.get() - bufferSize + 1;
+    }
+
+    /**
+     * Validate a read of the event for a sequence, as a seqlock would.  Call after reading the event.  Only accurate
+     * once claims are tracked, see {@link AbstractSequencer#trackClaims()}.
+     *
+     * @param sequence of the event that was read.
+     * @return true if the slot was claimed again before or during the read, so what was read may be torn.
+     */
+    boolean isOverwritten(final long sequence)
+    {
+        // orders the caller's reads of the event before the check, as StampedLock.validate does
+        VarHandle.acquireFence();
+        return sequence < getOldestAvailableSequence();
+    }
+
+    /**
+     * For consumers that do not wait through a barrier from {@link AbstractSequencer#newBarrier(Sequence...)}
+     * to release publishers waiting for capacity, as {@link ProcessingSequenceBarrier#waitFor(long)} does.
+     *
+     * @param beforeWaiting true if the consumer is about to wait for more events.
+     */
+    void signalConsumerProgress(final boolean beforeWaiting)
+    {
+        if (signalProducerWaitStrategy)
+        {
+            producerWaitStrategy.signalAllWhenBlocking();
+        }
+        if (beforeWaiting)
+        {
+            pendingClaims.signalBeforeWaiting();
+        }
+        else
+        {
+            pendingClaims.signal();
+        }
+    }
+
+    /**
+     * @see Sequencer#cancel(long)
+     */
+    @Override
+    public void cancel(final long sequence)
+    {
+        cancelledSequences()[(int) sequence & (bufferSize - 1)] = sequence;
+        // publish is a release, so consumers see the mark no later than the sequence
+        publish(sequence);
+    }
+
+    /**
+     * @see Sequencer#cancel(long, long)
+     */
+    @Override
+    public void cancel(final long lo, final long hi)
+    {
+        final long[] cancelled = cancelledSequences();
+        for (long sequence = lo; sequence <= hi; sequence++)
+        {
+            cancelled[(int) sequence & (bufferSize - 1)] = sequence;
+        }
+        publish(lo, hi);
+    }
+
+    /**
+     * @see Sequencer#isCancelled(long)
+     */
+    @Override
+    public boolean isCancelled(final long sequence)
+    {
+        final long[] cancelled = cancelledSequences;
+        return null != cancelled && cancelled[(int) sequence & (bufferSize - 1)] == sequence;
+    }
+
+    /**
+     * @see Sequencer#hasCancelled(long, long)
+     */
+    @Override
+    public boolean hasCancelled(final long lo, final long hi)
+    {
+        final long[] cancelled = cancelledSequences;
+        if (null == cancelled)
+        {
+            return false;
+        }
+
+        for (long sequence = lo; sequence <= hi; sequence++)
+        {
+            if (cancelled[(int) sequence & (bufferSize - 1)] == sequence)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return false if no sequence has ever been cancelled or superseded on this sequencer.
+     */
+    boolean hasCancellations()
+    {
+        return null != cancelledSequences;
+    }
+
+    /**
+     * Mark a sequence as cancelled after it may have been published, so consumers that have not reached
+     * it yet skip it.  Unlike {@link AbstractSequencer#cancel(long)} the caller need not own the slot: if it has
+     * since been claimed again the newer sequence's mark is left in place.
+     *
+     * @param sequence the sequence to supersede.
+     */
+    void supersede(final long sequence)
+    {
+        final long[] cancelled = cancelledSequences();
+        final int index = (int) sequence & (bufferSize - 1);
+        long current;
+        do
+        {
+            current = (long) CANCELLED_ARRAY.getVolatile(cancelled, index);
+            if (current >= sequence)
+            {
+                return;
+            }
+        }
+        while (!CANCELLED_ARRAY.compareAndSet(cancelled, index, current, sequence));
+    }
+
+    private long[] cancelledSequences()
+    {
+        final long[] cancelled = cancelledSequences;
+        if (null != cancelled)
+        {
+            return cancelled;
+        }
+
+        final long[] newCancelled = new long[bufferSize];
+        Arrays.fill(newCancelled, Sequencer.INITIAL_CURSOR_VALUE);
+        CANCELLED_UPDATER.compareAndSet(this, null, newCancelled);
+
+        return cancelledSequences;
+    }
+
+    /**
+     * @see Sequencer#claimAsync(int)
+     */
+    @Override
+    public CompletableFuture<Long> claimAsync(final int n)
+    {
+        return pendingClaims.claim(n);
     }
 
     /**
@@ -141,8 +392,22 @@ public abstract class AbstractSequencer implements Sequencer
     {
         return "AbstractSequencer{" +
             "waitStrategy=" + waitStrategy +
+            ", producerWaitStrategy=" + producerWaitStrategy +
             ", cursor=" + cursor +
             ", gatingSequences=" + Arrays.toString(gatingSequences) +
             '}';
     }
+
+    /**
+     * Read only view of the minimum of the current gating sequences, handed to the
+     * {@link ProducerWaitStrategy}.  Reports <code>Long.MAX_VALUE</code> if there are no gating sequences.
+     */
+    private final class MinimumGatingSequence extends ReadOnlySequence
+    {
+        @Override
+        public long get()
+        {
+            return Util.getMinimumSequence(gatingSequences);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.lmax.disruptor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Batch size strategy that sizes batches so each takes about a target time to handle, learnt from a moving
+ * average of the time per event in recent batches.  Cheap events give large batches for throughput, expensive
+ * events give small ones so that progress, and with it capacity, is published at least every target interval.
+ *
+ * <p>Only batches that were cut short by the limit, i.e. handled while a backlog built up, update the average,
+ * as the time per event of a processor keeping up is dominated by waiting rather than handling.
+ *
+ * <p>A strategy is used by a single processor thread, so must not be shared between processors.
+ */
+public final class AdaptiveBatchSizeStrategy implements BatchSizeStrategy
+{
+    // weight of each new sample in the moving average, 1 / 2^SMOOTHING_SHIFT
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final long targetBatchNanos;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final LongSupplier nanoClock;
+
+    private int batchSize;
+    private boolean limited;
+    private long batchStartNanos;
+    private long nanosPerEvent;
+
+    /**
+     * @param targetBatchNanos how long each batch should take to handle, in nanoseconds
+     * @param minBatchSize     the smallest batch size to use
+     * @param maxBatchSize     the largest batch size to use, also used until the first batch has been timed
+     */
+    public AdaptiveBatchSizeStrategy(final long targetBatchNanos, final int minBatchSize, final int maxBatchSize)
+    {
+        this(targetBatchNanos, minBatchSize, maxBatchSize, System::nanoTime);
+    }
+
+    AdaptiveBatchSizeStrategy(
+        final long targetBatchNanos,
+        final int minBatchSize,
+        final int maxBatchSize,
+        final LongSupplier nanoClock)
+    {
+        if (targetBatchNanos < 1)
+        {
+            throw new IllegalArgumentException("targetBatchNanos must be greater than 0");
+        }
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize)
+        {
+            throw new IllegalArgumentException("minBatchSize must be greater than 0 and no greater than maxBatchSize");
+        }
+
+        this.targetBatchNanos = targetBatchNanos;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.nanoClock = nanoClock;
+        this.batchSize = maxBatchSize;
+    }
+
+    @Override
+    public int nextBatchSize(final long availableEvents)
+    {
+        limited = availableEvents >= batchSize;
+        batchStartNanos = nanoClock.getAsLong();
+        return batchSize;
+    }
+
+    @Override
+    public void onBatchProcessed(final long batchSize)
+    {
+        if (!limited)
+        {
+            return;
+        }
+
+        final long sample = Math.max(1L, (nanoClock.getAsLong() - batchStartNanos) / batchSize);
+        nanosPerEvent = 0 == nanosPerEvent ? sample : nanosPerEvent + ((sample - nanosPerEvent) >> SMOOTHING_SHIFT);
+        this.batchSize = (int) Math.max(minBatchSize, Math.min(maxBatchSize, targetBatchNanos / Math.max(1L, nanosPerEvent)));
+    }
+
+    /**
+     * @return the batch size currently in use
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * @return the moving average of the time taken to handle an event, in nanoseconds, or 0 if not yet measured
+     */
+    public long getNanosPerEvent()
+    {
+        return nanosPerEvent;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AdaptiveBatchSizeStrategy{" +
+            "targetBatchNanos=" + targetBatchNanos +
+            ", minBatchSize=" + minBatchSize +
+            ", maxBatchSize=" + maxBatchSize +
+            ", batchSize=" + batchSize +
+            ", nanosPerEvent=" + nanosPerEvent +
+            '}';
+    }
+}
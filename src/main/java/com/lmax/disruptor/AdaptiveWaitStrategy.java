@@ -0,0 +1,223 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Self tuning wait strategy that spins, then yields, then sleeps (<code>LockSupport.parkNanos(n)</code>), learning
+ * how long to spend in each phase from what it observes for each {@link SequenceBarrier}.
+ *
+ * <p>Every wait that does not find its sequence available straight away is timed, giving a moving average of how
+ * long the barrier waits for the next event.  While that is within the spin budget the strategy spins for up to twice
+ * the average, so events arriving as expected are picked up at the lowest latency.  When it falls within the yield
+ * budget the strategy yields instead, and beyond that it goes almost straight to sleep rather than burn CPU on a quiet
+ * barrier.  Sleeps are sized to hold the latency target: how far each sleep overshoots what was asked for, the wake
+ * up latency, is averaged too and taken off the target.
+ *
+ * <p>Like {@link SleepingWaitStrategy} publishers never need to signal, so {@link #signalAllWhenBlocking()} is free.
+ * The current thresholds for a barrier are exposed for monitoring, and are approximate if several
+ * {@link EventProcessor}s share a barrier.  State is kept for every barrier the strategy has waited on, so this
+ * strategy is intended for long lived barriers.
+ */
+public final class AdaptiveWaitStrategy implements WaitStrategy
+{
+    private static final long DEFAULT_MAX_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final long DEFAULT_MAX_YIELD_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long MIN_PHASE_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MIN_SLEEP_NANOS = 1L;
+    // each new sample moves a moving average 1 / 2^SMOOTHING_SHIFT of the way towards it
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final long latencyTargetNanos;
+    private final long maxSpinNanos;
+    private final long maxYieldNanos;
+    private final long maxWaitSampleNanos;
+    private final Map<SequenceBarrier, Thresholds> thresholdsByBarrier = new ConcurrentHashMap<>();
+
+    /**
+     * Create with the default spin and yield budgets.
+     *
+     * @param latencyTarget the latency to hold once the strategy has fallen back to sleeping.
+     * @param units         time units of the latency target.
+     */
+    public AdaptiveWaitStrategy(final long latencyTarget, final TimeUnit units)
+    {
+        this(units.toNanos(latencyTarget), DEFAULT_MAX_SPIN_NANOS, DEFAULT_MAX_YIELD_NANOS);
+    }
+
+    /**
+     * @param latencyTarget the latency to hold once the strategy has fallen back to sleeping.
+     * @param maxSpin       the longest to busy spin for in one wait, bounding the CPU burnt by spinning.
+     * @param maxYield      the longest to yield for in one wait.
+     * @param units         time units of the values.
+     */
+    public AdaptiveWaitStrategy(final long latencyTarget, final long maxSpin, final long maxYield, final TimeUnit units)
+    {
+        this(units.toNanos(latencyTarget), units.toNanos(maxSpin), units.toNanos(maxYield));
+    }
+
+    private AdaptiveWaitStrategy(final long latencyTargetNanos, final long maxSpinNanos, final long maxYieldNanos)
+    {
+        if (latencyTargetNanos < MIN_SLEEP_NANOS)
+        {
+            throw new IllegalArgumentException("latencyTarget must be positive");
+        }
+        if (maxSpinNanos < MIN_PHASE_NANOS || maxYieldNanos < MIN_PHASE_NANOS)
+        {
+            throw new IllegalArgumentException("maxSpin and maxYield must be at least 1 microsecond");
+        }
+
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.maxSpinNanos = maxSpinNanos;
+        this.maxYieldNanos = maxYieldNanos;
+        // any wait longer than this ends up sleeping, capping samples lets the average recover quickly after idling
+        this.maxWaitSampleNanos = Math.max(maxSpinNanos, maxYieldNanos) + latencyTargetNanos;
+    }
+
+    @Override
+    public long waitFor(
+        final long sequence, final Sequence cursor, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException
+    {
+        long availableSequence;
+        if ((availableSequence = dependentSequence.get()) >= sequence)
+        {
+            return availableSequence;
+        }
+
+        final Thresholds thresholds = thresholdsByBarrier.computeIfAbsent(barrier, key -> new Thresholds());
+        final long startTime = System.nanoTime();
+        final long spinDeadline = startTime + thresholds.spinNanos;
+        final long yieldDeadline = spinDeadline + thresholds.yieldNanos;
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+
+            final long now = System.nanoTime();
+            if (now - spinDeadline < 0)
+            {
+                Thread.onSpinWait();
+            }
+            else if (now - yieldDeadline < 0)
+            {
+                Thread.yield();
+            }
+            else
+            {
+                final long sleepNanos = thresholds.sleepNanos;
+                LockSupport.parkNanos(sleepNanos);
+                thresholds.onWakeUp(System.nanoTime() - now - sleepNanos);
+            }
+        }
+
+        thresholds.onWait(System.nanoTime() - startTime);
+
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+
+    /**
+     * @param barrier the barrier being waited on.
+     * @return how long the next wait on the barrier will busy spin for, in nanoseconds.
+     */
+    public long getSpinNanos(final SequenceBarrier barrier)
+    {
+        final Thresholds thresholds = thresholdsByBarrier.get(barrier);
+        return null == thresholds ? maxSpinNanos : thresholds.spinNanos;
+    }
+
+    /**
+     * @param barrier the barrier being waited on.
+     * @return how long the next wait on the barrier will yield for after spinning, in nanoseconds.
+     */
+    public long getYieldNanos(final SequenceBarrier barrier)
+    {
+        final Thresholds thresholds = thresholdsByBarrier.get(barrier);
+        return null == thresholds ? maxYieldNanos : thresholds.yieldNanos;
+    }
+
+    /**
+     * @param barrier the barrier being waited on.
+     * @return how long each sleep will ask for once spinning and yielding are over, in nanoseconds.
+     */
+    public long getSleepNanos(final SequenceBarrier barrier)
+    {
+        final Thresholds thresholds = thresholdsByBarrier.get(barrier);
+        return null == thresholds ? latencyTargetNanos : thresholds.sleepNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AdaptiveWaitStrategy{" +
+            "latencyTargetNanos=" + latencyTargetNanos +
+            ", maxSpinNanos=" + maxSpinNanos +
+            ", maxYieldNanos=" + maxYieldNanos +
+            ", barriers=" + thresholdsByBarrier.size() +
+            '}';
+    }
+
+    /**
+     * Moving averages and derived thresholds for one barrier.  Normally only updated by the one thread waiting on
+     * the barrier, concurrent updates from threads sharing a barrier may lose samples, which is harmless.
+     */
+    private final class Thresholds
+    {
+        private long averageWaitNanos = maxSpinNanos / 2;
+        private long averageOvershootNanos = 0;
+        private volatile long spinNanos = maxSpinNanos;
+        private volatile long yieldNanos = maxYieldNanos;
+        private volatile long sleepNanos = latencyTargetNanos;
+
+        void onWait(final long waitedNanos)
+        {
+            final long sample = Math.min(waitedNanos, maxWaitSampleNanos);
+            averageWaitNanos += (sample - averageWaitNanos) >> SMOOTHING_SHIFT;
+
+            final long expectedWait = 2 * averageWaitNanos;
+            if (expectedWait <= maxSpinNanos)
+            {
+                spinNanos = Math.max(expectedWait, MIN_PHASE_NANOS);
+                yieldNanos = MIN_PHASE_NANOS;
+            }
+            else if (expectedWait <= maxYieldNanos)
+            {
+                spinNanos = MIN_PHASE_NANOS;
+                yieldNanos = expectedWait;
+            }
+            else
+            {
+                spinNanos = MIN_PHASE_NANOS;
+                yieldNanos = MIN_PHASE_NANOS;
+            }
+        }
+
+        void onWakeUp(final long overshootNanos)
+        {
+            averageOvershootNanos += (Math.max(overshootNanos, 0) - averageOvershootNanos) >> SMOOTHING_SHIFT;
+            sleepNanos = Math.max(latencyTargetNanos - averageOvershootNanos, MIN_SLEEP_NANOS);
+        }
+    }
+}
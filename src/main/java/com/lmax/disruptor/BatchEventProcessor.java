@@ -43,6 +43,8 @@ public final class BatchEventProcessor<T>
     private ExceptionHandler<? super T> exceptionHandler;
     private final DataProvider<T> dataProvider;
     private final SequenceBarrier sequenceBarrier;
+    // decided once, so consumers of rings that never lap them do not check each event for an overrun
+    private final boolean lappable;
     private final EventHandler<? super T> eventHandler;
 
     /**
@@ -50,8 +52,10 @@ public final class BatchEventProcessor<T>
      */
     private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
     private final TimeoutHandler timeoutHandler;
+    private final OverrunHandler overrunHandler;
     private final BatchStartAware batchStartAware;
     private BatchRewindStrategy batchRewindStrategy = new SimpleBatchRewindStrategy();
+    private BatchSizeStrategy batchSizeStrategy = new FixedBatchSizeStrategy(Integer.MAX_VALUE);
     private int retriesAttempted = 0;
 
     /**
@@ -69,6 +73,7 @@ public final class BatchEventProcessor<T>
     {
         this.dataProvider = dataProvider;
         this.sequenceBarrier = sequenceBarrier;
+        this.lappable = sequenceBarrier.canBeLapped();
         this.eventHandler = eventHandler;
 
         if (eventHandler instanceof SequenceReportingEventHandler)
@@ -80,6 +85,8 @@ public final class BatchEventProcessor<T>
             (eventHandler instanceof BatchStartAware) ? (BatchStartAware) eventHandler : null;
         timeoutHandler =
             (eventHandler instanceof TimeoutHandler) ? (TimeoutHandler) eventHandler : null;
+        overrunHandler =
+            (eventHandler instanceof OverrunHandler) ? (OverrunHandler) eventHandler : null;
     }
 
     @Override
@@ -133,6 +140,24 @@ public final class BatchEventProcessor<T>
         this.batchRewindStrategy = batchRewindStrategy;
     }
 
+    /**
+     * Set a new {@link BatchSizeStrategy} to limit how many events are handled before progress is published, see
+     * {@link FixedBatchSizeStrategy} and {@link AdaptiveBatchSizeStrategy}.  The default handles every available
+     * event in one batch.  Each limited batch is reported to a {@link BatchStartAware} handler and ends with
+     * <code>endOfBatch</code> set.
+     *
+     * @param batchSizeStrategy to replace the existing batchSizeStrategy.
+     */
+    public void setBatchSizeStrategy(final BatchSizeStrategy batchSizeStrategy)
+    {
+        if (null == batchSizeStrategy)
+        {
+            throw new NullPointerException();
+        }
+
+        this.batchSizeStrategy = batchSizeStrategy;
+    }
+
     /**
      * It is ok to have another thread rerun this method after a halt().
      *
@@ -188,24 +213,57 @@ public final class BatchEventProcessor<T>
                 try
                 {
                     // 以nextSequence作为底线，去获取最大的可用sequence（也就是已经被publish的sequence）
-                    final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                    final long availableSequence = limitBatch(nextSequence, sequenceBarrier.waitFor(nextSequence));
                     if (batchStartAware != null && availableSequence >= nextSequence)
                     {
                         batchStartAware.onBatchStart(availableSequence - nextSequence + 1);
                     }
                     // 如果获取到的sequence大于等于nextSequence，说明有可以消费的event，
                     // 从nextSequence(包含)到availableSequence(包含)这一段的事件就作为同一个批次
-                    while (nextSequence <= availableSequence)
+                    final boolean hasCancelled = sequenceBarrier.hasCancelled(nextSequence, availableSequence);
+                    if (!hasCancelled && !lappable)
+                    {
+                        while (nextSequence <= availableSequence)
+                        {
+                            event = dataProvider.get(nextSequence);
+                            // 调用了前面注册的回调函数
+                            eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
+                            nextSequence++;
+                        }
+                    }
+                    else if (!hasCancelled)
                     {
-                        event = dataProvider.get(nextSequence);
-                        // 调用了前面注册的回调函数
-                        eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
-                        nextSequence++;
+                        while (nextSequence <= availableSequence)
+                        {
+                            event = dataProvider.get(nextSequence);
+                            eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
+                            sequenceBarrier.checkOverrun(nextSequence);
+                            nextSequence++;
+                        }
+                    }
+                    else
+                    {
+                        nextSequence = nextUncancelledSequence(nextSequence, availableSequence);
+                        while (nextSequence <= availableSequence)
+                        {
+                            final long followingSequence = nextUncancelledSequence(nextSequence + 1, availableSequence);
+                            event = dataProvider.get(nextSequence);
+                            eventHandler.onEvent(event, nextSequence, followingSequence > availableSequence);
+                            if (lappable)
+                            {
+                                sequenceBarrier.checkOverrun(nextSequence);
+                            }
+                            nextSequence = followingSequence;
+                        }
                     }
 
                     retriesAttempted = 0;
                     // 消费完一批之后 一次性更新消费进度
                     sequence.set(availableSequence);
+                    if (availableSequence >= startOfBatchSequence)
+                    {
+                        batchSizeStrategy.onBatchProcessed(availableSequence - startOfBatchSequence + 1);
+                    }
                 }
                 catch (final RewindableException e)
                 {
@@ -225,6 +283,13 @@ public final class BatchEventProcessor<T>
                 // waitFor超时的场景
                 notifyTimeout(sequence.get());
             }
+            catch (final OverrunException e)
+            {
+                // the publisher lapped this processor, skip to the oldest event it has not overwritten
+                notifyOverrun(e.getSequence(), e.getLostCount());
+                nextSequence = e.getOldestAvailableSequence();
+                sequence.set(nextSequence - 1L);
+            }
             catch (final AlertException ex)
             {
                 if (running.get() != RUNNING)
@@ -244,6 +309,35 @@ public final class BatchEventProcessor<T>
         }
     }
 
+    /**
+     * The rest of a limited batch is picked up by the next call to waitFor, which returns straight away.
+     */
+    private long limitBatch(final long nextSequence, final long availableSequence)
+    {
+        if (availableSequence < nextSequence)
+        {
+            return availableSequence;
+        }
+
+        final int batchSize = batchSizeStrategy.nextBatchSize(availableSequence - nextSequence + 1);
+        return Math.min(availableSequence, nextSequence + batchSize - 1);
+    }
+
+    /**
+     * Cancelled sequences are skipped. Each sequence is checked once, one ahead of delivery, so a sequence superseded
+     * after it was taken into the batch is still delivered and the end of batch flag always goes to a delivered event.
+     */
+    private long nextUncancelledSequence(final long fromSequence, final long availableSequence)
+    {
+        long sequence = fromSequence;
+        while (sequence <= availableSequence && sequenceBarrier.isCancelled(sequence))
+        {
+            sequence++;
+        }
+
+        return sequence;
+    }
+
     private void earlyExit()
     {
         notifyStart();
@@ -265,6 +359,21 @@ public final class BatchEventProcessor<T>
         }
     }
 
+    private void notifyOverrun(final long lostSequence, final long lostCount)
+    {
+        try
+        {
+            if (overrunHandler != null)
+            {
+                overrunHandler.onOverrun(lostSequence, lostCount);
+            }
+        }
+        catch (Throwable e)
+        {
+            handleEventException(e, lostSequence, null);
+        }
+    }
+
     /**
      * Notifies the EventHandler when this processor is starting up.
      */
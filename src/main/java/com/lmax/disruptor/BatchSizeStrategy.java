@@ -0,0 +1,23 @@
+package com.lmax.disruptor;
+
+/**
+ * Strategy for limiting how many events a {@link BatchEventProcessor} handles before it publishes its progress,
+ * so that a large backlog releases capacity to publishers a batch at a time rather than all at the end.
+ */
+public interface BatchSizeStrategy
+{
+    /**
+     * Called before each batch.
+     *
+     * @param availableEvents the number of events available to the processor
+     * @return the maximum number of events to handle in the batch, must be at least 1
+     */
+    int nextBatchSize(long availableEvents);
+
+    /**
+     * Called once the processor has published its progress for a batch.
+     *
+     * @param batchSize the number of events handled in the batch
+     */
+    void onBatchProcessed(long batchSize);
+}
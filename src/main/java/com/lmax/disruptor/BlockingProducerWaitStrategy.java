@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.lmax.disruptor.util.Util.awaitNanos;
+
+/**
+ * Blocking strategy that uses a lock and condition variable for publishers waiting on a full ring buffer.
+ * Publishers are woken when an {@link EventProcessor} signals that it has made progress, the lock is only
+ * taken on the signalling side when a publisher is actually waiting.
+ *
+ * <p>Gating sequences are advanced without a StoreLoad fence, so the signalling side fences before checking for a
+ * waiting publisher, pairing with the publisher flagging that it waits before it re-checks the gating sequences.
+ * Wake-ups are not missed and the bound on each wait only limits how long a publisher sleeps if a consumer stops
+ * signalling altogether.
+ *
+ * <p>This strategy can be used when CPU resource is more important than publisher latency.
+ */
+public final class BlockingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final long DEFAULT_MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Object mutex = new Object();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+    private final long maxWaitNanos;
+
+    /**
+     * Provides a blocking producer wait strategy that re-checks the gating sequences every millisecond
+     */
+    public BlockingProducerWaitStrategy()
+    {
+        this(DEFAULT_MAX_WAIT_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param maxWait the longest a publisher will wait before re-checking the gating sequences
+     * @param units   the unit in which maxWait is specified
+     */
+    public BlockingProducerWaitStrategy(final long maxWait, final TimeUnit units)
+    {
+        this.maxWaitNanos = units.toNanos(maxWait);
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Sequence gatingSequence)
+    {
+        long minSequence;
+
+        while (wrapPoint > (minSequence = gatingSequence.get()))
+        {
+            synchronized (mutex)
+            {
+                signalNeeded.getAndSet(true);
+
+                if (wrapPoint > gatingSequence.get())
+                {
+                    try
+                    {
+                        awaitNanos(mutex, maxWaitNanos);
+                    }
+                    catch (final InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        // the caller's gating sequence may have been advanced with only a release store
+        VarHandle.fullFence();
+        if (signalNeeded.get() && signalNeeded.getAndSet(false))
+        {
+            synchronized (mutex)
+            {
+                mutex.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BlockingProducerWaitStrategy{" +
+            "mutex=" + mutex +
+            ", signalNeeded=" + signalNeeded +
+            ", maxWaitNanos=" + maxWaitNanos +
+            '}';
+    }
+}
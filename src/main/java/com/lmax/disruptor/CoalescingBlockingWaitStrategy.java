@@ -0,0 +1,232 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking strategy that coalesces wake-ups, so a consumer blocked on a barrier is woken once enough events are
+ * pending to make a worthwhile batch, rather than once per publish.
+ *
+ * <p>A blocked {@link EventProcessor} is woken when <code>maxPendingEvents</code> events are available to it, or
+ * when <code>maxDelay</code> has passed since it started waiting, which is no later than the first publish it has
+ * not been woken for.  If that delay passes with nothing published the consumer is treated as idle and is woken by
+ * the next publish, so a quiet ring does not keep waking its consumer and a lone event is not held back.
+ *
+ * <p>This trades a bounded amount of latency for larger batches, and suits rings where throughput matters more
+ * than the latency of individual events.  Publishers only take the lock when a consumer is due to be woken, at other
+ * times {@link #signalAllWhenBlocking()} costs a fence and a few volatile reads.
+ */
+public final class CoalescingBlockingWaitStrategy implements WaitStrategy
+{
+    private static final SequenceBarrier[] NO_BARRIERS = new SequenceBarrier[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition processorNotifyCondition = lock.newCondition();
+    private final int maxPendingEvents;
+    private final long maxDelayNanos;
+
+    // written under the lock by waiters, read without it by publishers
+    private volatile Sequence wakeCursor;
+    private volatile long wakeSequence = Long.MAX_VALUE;
+    private volatile SequenceBarrier[] sleepingBarriers = NO_BARRIERS;
+
+    /**
+     * @param maxPendingEvents how many events must be available before a blocked consumer is woken.
+     * @param maxDelay         the longest a blocked consumer is left waiting once it has events available.
+     * @param units            time units of the delay.
+     */
+    public CoalescingBlockingWaitStrategy(final int maxPendingEvents, final long maxDelay, final TimeUnit units)
+    {
+        if (maxPendingEvents < 1)
+        {
+            throw new IllegalArgumentException("maxPendingEvents must not be less than 1");
+        }
+        if (maxDelay < 0)
+        {
+            throw new IllegalArgumentException("maxDelay must not be negative");
+        }
+
+        this.maxPendingEvents = maxPendingEvents;
+        this.maxDelayNanos = units.toNanos(maxDelay);
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursorSequence, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if (cursorSequence.get() < sequence)
+        {
+            lock.lock();
+            try
+            {
+                awaitPending(sequence, cursorSequence, barrier);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+            Thread.onSpinWait();
+        }
+
+        return availableSequence;
+    }
+
+    private void awaitPending(final long sequence, final Sequence cursorSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        final long deadline = System.nanoTime() + maxDelayNanos;
+        boolean idle = false;
+
+        while (true)
+        {
+            final long target = idle ? sequence : sequence + maxPendingEvents - 1;
+
+            // register before checking, a publish that read the old registration is then seen by the check
+            wakeCursor = cursorSequence;
+            wakeSequence = Math.min(wakeSequence, target);
+            addSleepingBarrier(barrier);
+            try
+            {
+                barrier.checkAlert();
+
+                final long availableSequence = cursorSequence.get();
+                if (availableSequence >= target)
+                {
+                    break;
+                }
+
+                if (idle)
+                {
+                    processorNotifyCondition.await();
+                }
+                else
+                {
+                    final long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos > 0)
+                    {
+                        processorNotifyCondition.awaitNanos(remainingNanos);
+                    }
+                    else if (availableSequence >= sequence)
+                    {
+                        break;
+                    }
+                    else
+                    {
+                        idle = true;
+                    }
+                }
+            }
+            finally
+            {
+                removeSleepingBarrier(barrier);
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        // the cursor may have been moved with only a release store, which could otherwise be reordered with these reads
+        VarHandle.fullFence();
+        if (!isWakeUpDue())
+        {
+            return;
+        }
+
+        lock.lock();
+        try
+        {
+            if (isWakeUpDue())
+            {
+                wakeSequence = Long.MAX_VALUE;
+                processorNotifyCondition.signalAll();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private boolean isWakeUpDue()
+    {
+        final Sequence cursor = wakeCursor;
+        if (null != cursor && cursor.get() >= wakeSequence)
+        {
+            return true;
+        }
+
+        for (final SequenceBarrier barrier : sleepingBarriers)
+        {
+            if (barrier.isAlerted())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void addSleepingBarrier(final SequenceBarrier barrier)
+    {
+        final SequenceBarrier[] current = sleepingBarriers;
+        final SequenceBarrier[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = barrier;
+        sleepingBarriers = updated;
+    }
+
+    private void removeSleepingBarrier(final SequenceBarrier barrier)
+    {
+        final SequenceBarrier[] current = sleepingBarriers;
+        for (int i = current.length - 1; i >= 0; i--)
+        {
+            if (current[i] == barrier)
+            {
+                final SequenceBarrier[] updated = new SequenceBarrier[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                sleepingBarriers = updated;
+                break;
+            }
+        }
+
+        if (0 == sleepingBarriers.length)
+        {
+            wakeSequence = Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CoalescingBlockingWaitStrategy{" +
+            "maxPendingEvents=" + maxPendingEvents +
+            ", maxDelayNanos=" + maxDelayNanos +
+            ", sleeping=" + sleepingBarriers.length +
+            '}';
+    }
+}
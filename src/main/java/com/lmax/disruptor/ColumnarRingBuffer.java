@@ -0,0 +1,614 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Ring buffer that stores events as columns: each declared field is its own padded primitive array, indexed
+ * by sequence, in place of an array of event objects.
+ *
+ * <p>Columns are created with {@link ColumnarRingBuffer#newLongColumn()} and friends before the ring buffer
+ * is used, the ring buffer itself only holds the sequencer.  Publishers claim a sequence and set each column for
+ * it before publishing, or set them from an {@link EventTranslator} passed to
+ * {@link ColumnarRingBuffer#publishEvent(Row, EventTranslator)}.  Consumers are given a {@link Row}, a flyweight
+ * that works out the index once per event and reads only the columns asked for, so a
+ * handler that reads two columns of a wide event touches only those two arrays.  A {@link Row} is also a
+ * {@link DataProvider}, so a standard {@link BatchEventProcessor} can be used by giving each one its own row:
+ *
+ * <pre><code>ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(ProducerType.SINGLE, 1024, new BlockingWaitStrategy());
+ * ColumnarRingBuffer.LongColumn price = ringBuffer.newLongColumn();
+ * ColumnarRingBuffer.IntColumn quantity = ringBuffer.newIntColumn();
+ * BatchEventProcessor&lt;ColumnarRingBuffer.Row&gt; processor = new BatchEventProcessor&lt;&gt;(
+ *     ringBuffer.newRow(), ringBuffer.newBarrier(), (row, sequence, endOfBatch) -&gt; total += row.get(price) * row.get(quantity));
+ *
+ * long sequence = ringBuffer.next();
+ * price.set(sequence, 101L);
+ * quantity.set(sequence, 20);
+ * ringBuffer.publish(sequence);</code></pre>
+ */
+public final class ColumnarRingBuffer implements Cursored, Sequenced
+{
+    // at least 128 bytes either side of every column, so columns do not share cache lines with other objects
+    private static final int PAD_BYTES = 128;
+
+    private final Sequencer sequencer;
+    private final int indexMask;
+
+    private ColumnarRingBuffer(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.indexMask = sequencer.getBufferSize() - 1;
+    }
+
+    /**
+     * Create a new columnar ring buffer, with no columns.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize   number of events held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new events to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static ColumnarRingBuffer create(final ProducerType producerType, final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return new ColumnarRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy));
+            case MULTI:
+                return new ColumnarRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy));
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Create a column of <code>long</code> values, sized and indexed for this ring buffer.  Columns must be created before
+     * events are published.
+     *
+     * @return the new column.
+     */
+    public LongColumn newLongColumn()
+    {
+        return new LongColumn(getBufferSize(), indexMask);
+    }
+
+    /**
+     * Create a column of <code>int</code> values, sized and indexed for this ring buffer.  Columns must be created before
+     * events are published.
+     *
+     * @return the new column.
+     */
+    public IntColumn newIntColumn()
+    {
+        return new IntColumn(getBufferSize(), indexMask);
+    }
+
+    /**
+     * Create a column of <code>double</code> values, sized and indexed for this ring buffer.  Columns must be created before
+     * events are published.
+     *
+     * @return the new column.
+     */
+    public DoubleColumn newDoubleColumn()
+    {
+        return new DoubleColumn(getBufferSize(), indexMask);
+    }
+
+    /**
+     * Create a column of fixed length byte arrays, sized and indexed for this ring buffer.  Columns must be
+     * created before events are published.
+     *
+     * @param length of each event's bytes.
+     * @return the new column.
+     * @throws IllegalArgumentException if length is less than 1.
+     */
+    public BytesColumn newBytesColumn(final int length)
+    {
+        if (length < 1)
+        {
+            throw new IllegalArgumentException("length must not be less than 1");
+        }
+
+        return new BytesColumn(getBufferSize(), indexMask, length);
+    }
+
+    /**
+     * Create a new flyweight over the columns of this ring buffer.  A row is moved from event to event, so each
+     * thread must use its own.
+     *
+     * @return a new row.
+     */
+    public Row newRow()
+    {
+        return new Row(indexMask);
+    }
+
+    /**
+     * Add the specified gating sequences to this instance of the ring buffer.  They will
+     * safely and atomically be added to the list of gating sequences.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which events are available to be
+     * read from the ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return sequencer.getBufferSize();
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    @Override
+    public long next()
+    {
+        return sequencer.next();
+    }
+
+    @Override
+    public long next(final int n)
+    {
+        return sequencer.next(n);
+    }
+
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return sequencer.tryNext();
+    }
+
+    @Override
+    public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        return sequencer.tryNext(n);
+    }
+
+    @Override
+    public void publish(final long sequence)
+    {
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public void publish(final long lo, final long hi)
+    {
+        sequencer.publish(lo, hi);
+    }
+
+    /**
+     * Claim the next sequence, move the row to it and publish it once the translator has set its columns.
+     * If the translator throws, the sequence is cancelled rather than published and the exception rethrown.
+     *
+     * @param row        used by the publishing thread to write the event, see {@link ColumnarRingBuffer#newRow()}.
+     * @param translator the user specified translation for the event.
+     */
+    public void publishEvent(final Row row, final EventTranslator<Row> translator)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(row, translator, sequence);
+    }
+
+    /**
+     * Attempt to publish an event, see {@link ColumnarRingBuffer#publishEvent(Row, EventTranslator)}.
+     *
+     * @param row        used by the publishing thread to write the event, see {@link ColumnarRingBuffer#newRow()}.
+     * @param translator the user specified translation for the event.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublishEvent(final Row row, final EventTranslator<Row> translator)
+    {
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        translateAndPublish(row, translator, sequence);
+        return true;
+    }
+
+    /**
+     * Publish the specified sequence as void, e.g. when its columns could not be set.  Event processors
+     * move past it without passing its row to their handler.
+     *
+     * @param sequence the sequence to cancel.
+     * @see Sequencer#cancel(long)
+     */
+    public void cancel(final long sequence)
+    {
+        sequencer.cancel(sequence);
+    }
+
+    /**
+     * Cancel the specified sequences, see {@link ColumnarRingBuffer#cancel(long)}.
+     *
+     * @param lo the lowest sequence number to be cancelled
+     * @param hi the highest sequence number to be cancelled
+     * @see Sequencer#cancel(long, long)
+     */
+    public void cancel(final long lo, final long hi)
+    {
+        sequencer.cancel(lo, hi);
+    }
+
+    /**
+     * Determine if a published sequence was cancelled.
+     *
+     * @param sequence the sequence to check
+     * @return true if the sequence was cancelled rather than published
+     * @see Sequencer#isCancelled(long)
+     */
+    public boolean isCancelled(final long sequence)
+    {
+        return sequencer.isCancelled(sequence);
+    }
+
+    private void translateAndPublish(final Row row, final EventTranslator<Row> translator, final long sequence)
+    {
+        try
+        {
+            translator.translateTo(row.get(sequence), sequence);
+        }
+        catch (final Throwable t)
+        {
+            sequencer.cancel(sequence);
+            throw t;
+        }
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ColumnarRingBuffer{" +
+            "sequencer=" + sequencer +
+            '}';
+    }
+
+    /**
+     * Flyweight over one event of a {@link ColumnarRingBuffer}.  The index into the columns is worked out
+     * once when the row is moved, by {@link Row#get(long)}, and reused for every column read or written.
+     */
+    public static final class Row implements DataProvider<Row>
+    {
+        private final int indexMask;
+        private long sequence;
+        private int index;
+
+        Row(final int indexMask)
+        {
+            this.indexMask = indexMask;
+        }
+
+        /**
+         * Move this row to the given sequence.
+         *
+         * @param sequence of the event.
+         * @return this row.
+         */
+        @Override
+        public Row get(final long sequence)
+        {
+            this.sequence = sequence;
+            this.index = (int) sequence & indexMask;
+            return this;
+        }
+
+        /**
+         * @return the sequence of the event this row is on.
+         */
+        public long getSequence()
+        {
+            return sequence;
+        }
+
+        /**
+         * @param column to read.
+         * @return the value of the column for this row's event.
+         */
+        public long get(final LongColumn column)
+        {
+            return column.values[LongColumn.PAD + index];
+        }
+
+        /**
+         * @param column to read.
+         * @return the value of the column for this row's event.
+         */
+        public int get(final IntColumn column)
+        {
+            return column.values[IntColumn.PAD + index];
+        }
+
+        /**
+         * @param column to read.
+         * @return the value of the column for this row's event.
+         */
+        public double get(final DoubleColumn column)
+        {
+            return column.values[DoubleColumn.PAD + index];
+        }
+
+        /**
+         * @param column to read.
+         * @return the offset of this row's bytes within {@link BytesColumn#array()}.
+         */
+        public int offset(final BytesColumn column)
+        {
+            return column.offsetOf(index);
+        }
+
+        /**
+         * @param column to write.
+         * @param value  for this row's event.
+         */
+        public void set(final LongColumn column, final long value)
+        {
+            column.values[LongColumn.PAD + index] = value;
+        }
+
+        /**
+         * @param column to write.
+         * @param value  for this row's event.
+         */
+        public void set(final IntColumn column, final int value)
+        {
+            column.values[IntColumn.PAD + index] = value;
+        }
+
+        /**
+         * @param column to write.
+         * @param value  for this row's event.
+         */
+        public void set(final DoubleColumn column, final double value)
+        {
+            column.values[DoubleColumn.PAD + index] = value;
+        }
+    }
+
+    /**
+     * A column of <code>long</code> values.
+     */
+    public static final class LongColumn
+    {
+        private static final int PAD = PAD_BYTES / Long.BYTES;
+
+        private final long[] values;
+        private final int indexMask;
+
+        LongColumn(final int bufferSize, final int indexMask)
+        {
+            this.values = new long[bufferSize + 2 * PAD];
+            this.indexMask = indexMask;
+        }
+
+        /**
+         * @param sequence of the event.
+         * @return the value for the event.
+         */
+        public long get(final long sequence)
+        {
+            return values[PAD + ((int) sequence & indexMask)];
+        }
+
+        /**
+         * @param sequence of the event.
+         * @param value    for the event.
+         */
+        public void set(final long sequence, final long value)
+        {
+            values[PAD + ((int) sequence & indexMask)] = value;
+        }
+    }
+
+    /**
+     * A column of <code>int</code> values.
+     */
+    public static final class IntColumn
+    {
+        private static final int PAD = PAD_BYTES / Integer.BYTES;
+
+        private final int[] values;
+        private final int indexMask;
+
+        IntColumn(final int bufferSize, final int indexMask)
+        {
+            this.values = new int[bufferSize + 2 * PAD];
+            this.indexMask = indexMask;
+        }
+
+        /**
+         * @param sequence of the event.
+         * @return the value for the event.
+         */
+        public int get(final long sequence)
+        {
+            return values[PAD + ((int) sequence & indexMask)];
+        }
+
+        /**
+         * @param sequence of the event.
+         * @param value    for the event.
+         */
+        public void set(final long sequence, final int value)
+        {
+            values[PAD + ((int) sequence & indexMask)] = value;
+        }
+    }
+
+    /**
+     * A column of <code>double</code> values.
+     */
+    public static final class DoubleColumn
+    {
+        private static final int PAD = PAD_BYTES / Double.BYTES;
+
+        private final double[] values;
+        private final int indexMask;
+
+        DoubleColumn(final int bufferSize, final int indexMask)
+        {
+            this.values = new double[bufferSize + 2 * PAD];
+            this.indexMask = indexMask;
+        }
+
+        /**
+         * @param sequence of the event.
+         * @return the value for the event.
+         */
+        public double get(final long sequence)
+        {
+            return values[PAD + ((int) sequence & indexMask)];
+        }
+
+        /**
+         * @param sequence of the event.
+         * @param value    for the event.
+         */
+        public void set(final long sequence, final double value)
+        {
+            values[PAD + ((int) sequence & indexMask)] = value;
+        }
+    }
+
+    /**
+     * A column of fixed length byte arrays, held back to back in one <code>byte[]</code>.
+     */
+    public static final class BytesColumn
+    {
+        private final byte[] values;
+        private final int length;
+        private final int indexMask;
+
+        BytesColumn(final int bufferSize, final int indexMask, final int length)
+        {
+            if ((long) bufferSize * length + 2 * PAD_BYTES > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("bufferSize * length must be less than " + (Integer.MAX_VALUE - 2 * PAD_BYTES));
+            }
+
+            this.values = new byte[bufferSize * length + 2 * PAD_BYTES];
+            this.length = length;
+            this.indexMask = indexMask;
+        }
+
+        /**
+         * @return the length of each event's bytes.
+         */
+        public int length()
+        {
+            return length;
+        }
+
+        /**
+         * Get the array holding the column, for reading or writing in place from {@link BytesColumn#offset(long)}.
+         *
+         * @return the column's array.
+         */
+        public byte[] array()
+        {
+            return values;
+        }
+
+        /**
+         * @param sequence of the event.
+         * @return the offset of the event's bytes within {@link BytesColumn#array()}.
+         */
+        public int offset(final long sequence)
+        {
+            return offsetOf((int) sequence & indexMask);
+        }
+
+        /**
+         * Copy bytes into the column for an event, the remainder of the event's bytes are left unchanged.
+         *
+         * @param sequence     of the event.
+         * @param source       array to copy from.
+         * @param sourceOffset of the first byte to copy.
+         * @param sourceLength number of bytes to copy, no more than {@link BytesColumn#length()}.
+         */
+        public void set(final long sequence, final byte[] source, final int sourceOffset, final int sourceLength)
+        {
+            if (sourceLength > length)
+            {
+                throw new IllegalArgumentException("sourceLength must not be greater than " + length);
+            }
+
+            System.arraycopy(source, sourceOffset, values, offset(sequence), sourceLength);
+        }
+
+        /**
+         * Copy an event's bytes out of the column.
+         *
+         * @param sequence          of the event.
+         * @param destination       array to copy to, with room for {@link BytesColumn#length()} bytes.
+         * @param destinationOffset of the first byte to copy to.
+         */
+        public void get(final long sequence, final byte[] destination, final int destinationOffset)
+        {
+            System.arraycopy(values, offset(sequence), destination, destinationOffset, length);
+        }
+
+        private int offsetOf(final int index)
+        {
+            return PAD_BYTES + index * length;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes keyed events to a {@link RingBuffer} so that consumers which have fallen behind only see the latest
+ * event for each key.
+ *
+ * <p>Each publish records its sequence as the latest for its key and cancels the key's previous sequence,
+ * see {@link RingBuffer#cancel(long)}.  Event processors and pollers that have not reached that sequence yet
+ * skip it, so a slow consumer spends its time on current values rather than stale ones, while consumers that
+ * keep up see every event.  Conflation is best effort: a consumer that has already read a superseded event
+ * before it was cancelled still processes it.
+ *
+ * <p>The ring buffer is used as normal by consumers, so this plugs into a {@link BatchEventProcessor} or the
+ * {@link com.lmax.disruptor.dsl.Disruptor} DSL, e.g. by wrapping {@link com.lmax.disruptor.dsl.Disruptor#getRingBuffer()}.
+ * Events must only be published to the ring buffer through this class.  The latest sequence is held for every
+ * key that has been published, so keys should be drawn from a bounded set such as instruments.
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ * @param <K> type of the key events are conflated by.
+ */
+public final class ConflatingRingBuffer<E, K>
+{
+    private final RingBuffer<E> ringBuffer;
+    private final AbstractSequencer sequencer;
+    private final Map<K, AtomicLong> latestSequences = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a conflating publisher for a ring buffer.
+     *
+     * @param ringBuffer to publish events to.
+     * @throws IllegalArgumentException if the ring buffer does not use one of the standard sequencers.
+     */
+    public ConflatingRingBuffer(final RingBuffer<E> ringBuffer)
+    {
+        if (!(ringBuffer.sequencer instanceof AbstractSequencer))
+        {
+            throw new IllegalArgumentException("Ring buffer must use a standard sequencer");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.sequencer = (AbstractSequencer) ringBuffer.sequencer;
+    }
+
+    /**
+     * @return the ring buffer events are published to.
+     */
+    public RingBuffer<E> getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Publishes a keyed event, superseding any event for the same key that consumers have not reached.
+     *
+     * @param key        the key to conflate the event by.
+     * @param translator The user specified translation for the event
+     */
+    public void publishEvent(final K key, final EventTranslator<E> translator)
+    {
+        final long sequence = ringBuffer.next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence);
+        }
+        catch (final Throwable t)
+        {
+            ringBuffer.cancel(sequence);
+            throw t;
+        }
+        conflateAndPublish(key, sequence);
+    }
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @param <A> Class of the user supplied argument
+     * @param key        the key to conflate the event by.
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @see ConflatingRingBuffer#publishEvent(Object, EventTranslator)
+     */
+    public <A> void publishEvent(final K key, final EventTranslatorOneArg<E, A> translator, final A arg0)
+    {
+        final long sequence = ringBuffer.next();
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence, arg0);
+        }
+        catch (final Throwable t)
+        {
+            ringBuffer.cancel(sequence);
+            throw t;
+        }
+        conflateAndPublish(key, sequence);
+    }
+
+    /**
+     * Attempts to publish a keyed event, superseding any event for the same key that consumers have not reached.
+     *
+     * @param key        the key to conflate the event by.
+     * @param translator The user specified translation for the event
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublishEvent(final K key, final EventTranslator<E> translator)
+    {
+        final long sequence = ringBuffer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence);
+        }
+        catch (final Throwable t)
+        {
+            ringBuffer.cancel(sequence);
+            throw t;
+        }
+        conflateAndPublish(key, sequence);
+        return true;
+    }
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @param <A> Class of the user supplied argument
+     * @param key        the key to conflate the event by.
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @return true if the value was published, false if there was insufficient capacity.
+     * @see ConflatingRingBuffer#tryPublishEvent(Object, EventTranslator)
+     */
+    public <A> boolean tryPublishEvent(final K key, final EventTranslatorOneArg<E, A> translator, final A arg0)
+    {
+        final long sequence = ringBuffer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        try
+        {
+            translator.translateTo(ringBuffer.get(sequence), sequence, arg0);
+        }
+        catch (final Throwable t)
+        {
+            ringBuffer.cancel(sequence);
+            throw t;
+        }
+        conflateAndPublish(key, sequence);
+        return true;
+    }
+
+    private void conflateAndPublish(final K key, final long sequence)
+    {
+        final AtomicLong latestSequence = latestSequences.computeIfAbsent(key, k -> new AtomicLong(Sequencer.INITIAL_CURSOR_VALUE));
+        final long previousSequence = latestSequence.getAndAccumulate(sequence, Math::max);
+        if (previousSequence > sequence)
+        {
+            // another publisher claimed later and got here first, so this event is already stale
+            sequencer.supersede(sequence);
+        }
+        else if (Sequencer.INITIAL_CURSOR_VALUE != previousSequence)
+        {
+            sequencer.supersede(previousSequence);
+        }
+
+        ringBuffer.publish(sequence);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConflatingRingBuffer{" +
+            "ringBuffer=" + ringBuffer +
+            ", keys=" + latestSequences.size() +
+            '}';
+    }
+}
@@ -14,6 +14,8 @@ public class EventPoller<T>
     private final Sequencer sequencer;
     private final Sequence sequence;
     private final Sequence gatingSequence;
+    // only set when the publisher laps slow consumers rather than waiting for them
+    private final AbstractSequencer overwritingSequencer;
 
     /**
      * A callback used to process events
@@ -73,6 +75,8 @@ public class EventPoller<T>
         this.sequencer = sequencer;
         this.sequence = sequence;
         this.gatingSequence = gatingSequence;
+        this.overwritingSequencer = sequencer instanceof AbstractSequencer && ((AbstractSequencer) sequencer).isOverwriting() ?
+            (AbstractSequencer) sequencer : null;
     }
 
     /**
@@ -82,7 +86,13 @@ public class EventPoller<T>
      * events are consumed or {@link Handler#onEvent(Object, long, boolean)} returns false. <br>
      * <br>
      * Note that it is possible for more events to become available while the current events
-     * are being processed. A further call to this method will process such events.
+     * are being processed. A further call to this method will process such events. <br>
+     * <br>
+     * Sequences cancelled by their publisher are skipped without being passed to the handler. <br>
+     * <br>
+     * If the publisher overwrites rather than waits and laps this poller, including while an event is being handled,
+     * the poller skips to the oldest event still held and reports the lost events if the handler implements
+     * {@link OverrunHandler}.
      *
      * @param eventHandler the handler used to consume events
      * @return the state of the event poller after the poll is attempted
@@ -90,7 +100,7 @@ public class EventPoller<T>
      */
     public PollState poll(final Handler<T> eventHandler) throws Exception
     {
-        final long currentSequence = sequence.get();
+        final long currentSequence = null == overwritingSequencer ? sequence.get() : skipLapped(eventHandler);
         long nextSequence = currentSequence + 1;
         final long availableSequence = sequencer.getHighestPublishedSequence(nextSequence, gatingSequence.get());
 
@@ -99,17 +109,32 @@ public class EventPoller<T>
             boolean processNextEvent;
             long processedSequence = currentSequence;
 
+            // cancelled sequences are skipped; each sequence is checked once, looking one ahead, so a sequence
+            // superseded after it was taken is still delivered and the end of batch flag always lands on a delivered event
+            final boolean hasCancelled = sequencer.hasCancelled(nextSequence, availableSequence);
+            if (hasCancelled)
+            {
+                nextSequence = nextUncancelledSequence(nextSequence, availableSequence);
+                processedSequence = nextSequence - 1;
+            }
+
             try
             {
-                do
+                processNextEvent = true;
+                while (nextSequence <= availableSequence && processNextEvent)
                 {
-                    final T event = dataProvider.get(nextSequence);
-                    processNextEvent = eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
-                    processedSequence = nextSequence;
-                    nextSequence++;
-
+                    final long followingSequence = hasCancelled ?
+                        nextUncancelledSequence(nextSequence + 1, availableSequence) : nextSequence + 1;
+                    processNextEvent = eventHandler.onEvent(
+                        dataProvider.get(nextSequence), nextSequence, followingSequence > availableSequence);
+                    processedSequence = followingSequence - 1;
+                    if (null != overwritingSequencer && overwritingSequencer.isOverwritten(nextSequence))
+                    {
+                        processedSequence = notifyOverrun(eventHandler, nextSequence) - 1;
+                        break;
+                    }
+                    nextSequence = followingSequence;
                 }
-                while (nextSequence <= availableSequence && processNextEvent);
             }
             finally
             {
@@ -128,6 +153,44 @@ public class EventPoller<T>
         }
     }
 
+    private long nextUncancelledSequence(final long fromSequence, final long availableSequence)
+    {
+        long sequence = fromSequence;
+        while (sequence <= availableSequence && sequencer.isCancelled(sequence))
+        {
+            sequence++;
+        }
+
+        return sequence;
+    }
+
+    private long skipLapped(final Handler<T> eventHandler) throws Exception
+    {
+        final long currentSequence = sequence.get();
+        if (currentSequence + 1 >= overwritingSequencer.getOldestAvailableSequence())
+        {
+            return currentSequence;
+        }
+
+        final long skippedSequence = notifyOverrun(eventHandler, currentSequence + 1) - 1;
+        sequence.set(skippedSequence);
+        return skippedSequence;
+    }
+
+    /**
+     * @return the oldest available sequence, where polling resumes.
+     */
+    private long notifyOverrun(final Handler<T> eventHandler, final long lostSequence) throws Exception
+    {
+        final long oldestAvailableSequence = overwritingSequencer.getOldestAvailableSequence();
+        if (eventHandler instanceof OverrunHandler)
+        {
+            ((OverrunHandler) eventHandler).onOverrun(lostSequence, oldestAvailableSequence - lostSequence);
+        }
+
+        return oldestAvailableSequence;
+    }
+
     /**
      * Creates an event poller. Most users will want {@link RingBuffer#newPoller(Sequence...)}
      * which will set up the poller automatically
@@ -0,0 +1,41 @@
+package com.lmax.disruptor;
+
+/**
+ * Batch size strategy that caps every batch at the same size.
+ */
+public final class FixedBatchSizeStrategy implements BatchSizeStrategy
+{
+    private final int maxBatchSize;
+
+    /**
+     * @param maxBatchSize the maximum number of events to handle before publishing progress
+     */
+    public FixedBatchSizeStrategy(final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public int nextBatchSize(final long availableEvents)
+    {
+        return maxBatchSize;
+    }
+
+    @Override
+    public void onBatchProcessed(final long batchSize)
+    {
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FixedBatchSizeStrategy{" +
+            "maxBatchSize=" + maxBatchSize +
+            '}';
+    }
+}
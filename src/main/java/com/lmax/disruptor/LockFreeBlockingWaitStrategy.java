@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Blocking strategy that parks each waiting {@link EventProcessor} with <code>LockSupport.park()</code> and keeps
+ * the parked threads on a lock-free stack, so publishers never take a lock.
+ *
+ * <p>When nobody is waiting, {@link #signalAllWhenBlocking()} costs a volatile read of the stack, with no fence and
+ * no write to shared state.  Otherwise the publisher takes the whole stack with a single atomic swap and unparks
+ * each thread on it.  Signals cannot be missed: a waiter pushes itself before re-checking the cursor, and the
+ * publisher's move of the cursor is ordered before its check of the stack, so either the waiter sees the new cursor
+ * or the publisher sees the waiter.
+ *
+ * <p>Unlike the other blocking strategies this leaves that StoreLoad ordering to the publisher rather than fencing on
+ * every signal, declaring it through {@link #requiresStoreLoadBeforeSignal()}.  A {@link MultiProducerSequencer}
+ * already moves the cursor with an atomic update when claiming, and a {@link SingleProducerSequencer} publishes with a
+ * volatile store when its wait strategy requires it.  Strategies wrapping this one must forward that requirement, and
+ * other publishers that move a cursor with only a release store must fence before signalling.
+ *
+ * <p>Like the {@link BlockingWaitStrategy} this can be used when throughput and low-latency are not as important as
+ * CPU resource, but without the cost of signalling on every publish.
+ */
+public final class LockFreeBlockingWaitStrategy implements WaitStrategy
+{
+    private static final VarHandle HEAD;
+
+    static
+    {
+        try
+        {
+            HEAD = MethodHandles.lookup().findVarHandle(LockFreeBlockingWaitStrategy.class, "head", Waiter.class);
+        }
+        catch (final Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // accessed via HEAD
+    private volatile Waiter head;
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursorSequence, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        if (cursorSequence.get() < sequence)
+        {
+            Waiter waiter = null;
+            while (cursorSequence.get() < sequence)
+            {
+                barrier.checkAlert();
+                if (Thread.interrupted())
+                {
+                    throw new InterruptedException();
+                }
+
+                // a popped waiter may still be read by the publisher waking it, so each push needs a new one.
+                // The cursor is checked again after pushing, before parking
+                if (null == waiter || waiter.signalled)
+                {
+                    waiter = new Waiter(Thread.currentThread());
+                    push(waiter);
+                    continue;
+                }
+
+                LockSupport.park(this);
+            }
+        }
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+            Thread.onSpinWait();
+        }
+
+        return availableSequence;
+    }
+
+    @Override
+    public boolean requiresStoreLoadBeforeSignal()
+    {
+        return true;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        if (null == head)
+        {
+            return;
+        }
+
+        Waiter waiter = (Waiter) HEAD.getAndSet(this, null);
+        while (null != waiter)
+        {
+            final Waiter next = waiter.next;
+            waiter.signalled = true;
+            LockSupport.unpark(waiter.thread);
+            waiter = next;
+        }
+    }
+
+    private void push(final Waiter waiter)
+    {
+        Waiter current;
+        do
+        {
+            current = head;
+            waiter.next = current;
+        }
+        while (!HEAD.compareAndSet(this, current, waiter));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LockFreeBlockingWaitStrategy{" +
+            "waiting=" + (null != head) +
+            '}';
+    }
+
+    private static final class Waiter
+    {
+        private final Thread thread;
+        private Waiter next;
+        private volatile boolean signalled = false;
+
+        Waiter(final Thread thread)
+        {
+            this.thread = thread;
+        }
+    }
+}
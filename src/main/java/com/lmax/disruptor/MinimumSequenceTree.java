@@ -0,0 +1,140 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Two level tree of lower bounds on a set of gating sequences, shared by the publishers of a sequencer.
+ *
+ * <p>Gating sequences only move forward, so any value once read from one remains a lower bound for it.
+ * The root bound is read in O(1), and when it is behind the sequence a publisher requires only the
+ * gating sequences whose own bound is also behind are read again, stopping at the first one that is
+ * still behind.  On a wide fan-out this touches the cache lines of the slow consumers rather than of
+ * every consumer.
+ */
+final class MinimumSequenceTree
+{
+    private static final VarHandle BOUNDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int LEAVES_PER_NODE = 8;
+
+    final Sequence[] sequences;
+    private final long[] leafBounds;
+    private final long[] nodeBounds;
+    private final Sequence rootBound;
+
+    MinimumSequenceTree(final Sequence[] sequences)
+    {
+        this.sequences = sequences;
+        this.leafBounds = new long[sequences.length];
+        this.nodeBounds = new long[(sequences.length + LEAVES_PER_NODE - 1) / LEAVES_PER_NODE];
+
+        long minimum = Long.MAX_VALUE;
+        for (int node = 0; node < nodeBounds.length; node++)
+        {
+            long nodeMinimum = Long.MAX_VALUE;
+            for (int leaf = node * LEAVES_PER_NODE, end = leafEnd(node); leaf < end; leaf++)
+            {
+                leafBounds[leaf] = sequences[leaf].get();
+                nodeMinimum = Math.min(nodeMinimum, leafBounds[leaf]);
+            }
+            nodeBounds[node] = nodeMinimum;
+            minimum = Math.min(minimum, nodeMinimum);
+        }
+        this.rootBound = new Sequence(minimum);
+    }
+
+    /**
+     * Get a lower bound on the minimum of the sequences, refreshing it if it is below the required sequence.
+     *
+     * @param requiredSequence the value the caller needs the minimum to have reached.
+     * @return a lower bound on the minimum, which is at least requiredSequence if every sequence has reached it.
+     * <code>Long.MAX_VALUE</code> if there are no sequences.
+     */
+    long minimum(final long requiredSequence)
+    {
+        final long root = rootBound.get();
+        if (root >= requiredSequence)
+        {
+            return root;
+        }
+
+        long minimum = Long.MAX_VALUE;
+        for (int node = 0; node < nodeBounds.length; node++)
+        {
+            long bound = (long) BOUNDS.getVolatile(nodeBounds, node);
+            if (bound < requiredSequence)
+            {
+                bound = refreshNode(node, requiredSequence);
+                if (bound < requiredSequence)
+                {
+                    // other nodes may be further behind, only the root is a bound for all of them
+                    return Math.min(root, bound);
+                }
+            }
+            minimum = Math.min(minimum, bound);
+        }
+
+        raise(rootBound, minimum);
+        return minimum;
+    }
+
+    private long refreshNode(final int node, final long requiredSequence)
+    {
+        long minimum = Long.MAX_VALUE;
+        for (int leaf = node * LEAVES_PER_NODE, end = leafEnd(node); leaf < end; leaf++)
+        {
+            long bound = (long) BOUNDS.getVolatile(leafBounds, leaf);
+            if (bound < requiredSequence)
+            {
+                bound = sequences[leaf].get();
+                raise(leafBounds, leaf, bound);
+                if (bound < requiredSequence)
+                {
+                    return bound;
+                }
+            }
+            minimum = Math.min(minimum, bound);
+        }
+
+        raise(nodeBounds, node, minimum);
+        return minimum;
+    }
+
+    private int leafEnd(final int node)
+    {
+        return Math.min((node + 1) * LEAVES_PER_NODE, sequences.length);
+    }
+
+    private static void raise(final long[] bounds, final int index, final long value)
+    {
+        long current = (long) BOUNDS.getVolatile(bounds, index);
+        while (value > current && !BOUNDS.compareAndSet(bounds, index, current, value))
+        {
+            current = (long) BOUNDS.getVolatile(bounds, index);
+        }
+    }
+
+    private static void raise(final Sequence bound, final long value)
+    {
+        long current = bound.get();
+        while (value > current && !bound.compareAndSet(current, value))
+        {
+            current = bound.get();
+        }
+    }
+}
@@ -20,7 +20,6 @@ import com.lmax.disruptor.util.Util;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.Arrays;
-import java.util.concurrent.locks.LockSupport;
 
 
 /**
@@ -51,7 +50,22 @@ public final class MultiProducerSequencer extends AbstractSequencer
      */
     public MultiProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on capacity.
+     */
+    public MultiProducerSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
         availableBuffer = new int[bufferSize];
         Arrays.fill(availableBuffer, -1);
 
@@ -65,17 +79,17 @@ public final class MultiProducerSequencer extends AbstractSequencer
     @Override
     public boolean hasAvailableCapacity(final int requiredCapacity)
     {
-        return hasAvailableCapacity(gatingSequences, requiredCapacity, cursor.get());
+        return hasAvailableCapacity(requiredCapacity, cursor.get());
     }
 
-    private boolean hasAvailableCapacity(final Sequence[] gatingSequences, final int requiredCapacity, final long cursorValue)
+    private boolean hasAvailableCapacity(final int requiredCapacity, final long cursorValue)
     {
         long wrapPoint = (cursorValue + requiredCapacity) - bufferSize;
         long cachedGatingSequence = gatingSequenceCache.get();
 
         if (wrapPoint > cachedGatingSequence || cachedGatingSequence > cursorValue)
         {
-            long minSequence = Util.getMinimumSequence(gatingSequences, cursorValue);
+            long minSequence = getMinimumGatingSequence(wrapPoint, cursorValue);
             gatingSequenceCache.set(minSequence);
 
             if (wrapPoint > minSequence)
@@ -124,10 +138,10 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
         if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current)
         {
-            long gatingSequence;
-            while (wrapPoint > (gatingSequence = Util.getMinimumSequence(gatingSequences, current)))
+            long gatingSequence = getMinimumGatingSequence(wrapPoint, current);
+            if (wrapPoint > gatingSequence)
             {
-                LockSupport.parkNanos(1L); // TODO, should we spin based on the wait strategy?
+                gatingSequence = Math.min(producerWaitStrategy.waitFor(wrapPoint, minimumGatingSequence), current);
             }
 
             gatingSequenceCache.set(gatingSequence);
@@ -150,6 +164,30 @@ public final class MultiProducerSequencer extends AbstractSequencer
      */
     @Override
     public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        final long next = tryNextOrNegative(n);
+        if (next < 0)
+        {
+            throw InsufficientCapacityException.INSTANCE;
+        }
+
+        return next;
+    }
+
+    /**
+     * @see Sequencer#tryNextOrNegative()
+     */
+    @Override
+    public long tryNextOrNegative()
+    {
+        return tryNextOrNegative(1);
+    }
+
+    /**
+     * @see Sequencer#tryNextOrNegative(int)
+     */
+    @Override
+    public long tryNextOrNegative(final int n)
     {
         if (n < 1)
         {
@@ -164,9 +202,9 @@ public final class MultiProducerSequencer extends AbstractSequencer
             current = cursor.get();
             next = current + n;
 
-            if (!hasAvailableCapacity(gatingSequences, n, current))
+            if (!hasAvailableCapacity(n, current))
             {
-                throw InsufficientCapacityException.INSTANCE;
+                return -1L;
             }
         }
         while (!cursor.compareAndSet(current, next));
@@ -289,6 +327,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
         return "MultiProducerSequencer{" +
                 "bufferSize=" + bufferSize +
                 ", waitStrategy=" + waitStrategy +
+                ", producerWaitStrategy=" + producerWaitStrategy +
                 ", cursor=" + cursor +
                 ", gatingSequences=" + Arrays.toString(gatingSequences) +
                 '}';
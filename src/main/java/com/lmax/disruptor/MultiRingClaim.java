@@ -0,0 +1,291 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Arrays;
+
+/**
+ * Claims one slot on each of a set of {@link RingBuffer}s so that an event can be fanned out to all of them or
+ * none of them.
+ *
+ * <p>Slots are claimed with {@link RingBuffer#tryNextOrNegative()} in the order the ring buffers were added, so a
+ * publisher never blocks on one ring buffer while holding slots on another.  If any claim fails, or the caller
+ * rolls back, the slots already claimed cannot be handed back as other publishers may have claimed beyond them.
+ * Instead they are cancelled, see {@link RingBuffer#cancel(long)}, or filled by the tombstone translator given
+ * for their ring buffer and published, in which case consumers should treat these events as no-ops.
+ *
+ * <p>An event is published to each ring buffer in turn once all of them have been filled, so consumers of
+ * different ring buffers may see it at slightly different times, but never see it on some and not others.
+ *
+ * <p>Instances hold the state of a single claim and must not be shared between publishing threads, but may be
+ * reused for subsequent claims.
+ */
+public final class MultiRingClaim
+{
+    private Participant<?>[] participants = new Participant<?>[0];
+    private boolean claimed = false;
+
+    /**
+     * Add a ring buffer to claim a slot on, whose slot is cancelled if the claim is rolled back.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param ringBuffer to claim a slot on.
+     * @return this claim
+     * @throws IllegalArgumentException if the ring buffer has already been added.
+     * @throws IllegalStateException if a claim is currently held.
+     */
+    public <E> MultiRingClaim add(final RingBuffer<E> ringBuffer)
+    {
+        return add(ringBuffer, null);
+    }
+
+    /**
+     * Add a ring buffer to claim a slot on, for consumers that do not skip cancelled sequences.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param ringBuffer          to claim a slot on.
+     * @param tombstoneTranslator marks a claimed slot as a no-op for consumers when the claim is rolled back.
+     * @return this claim
+     * @throws IllegalArgumentException if the ring buffer has already been added.
+     * @throws IllegalStateException if a claim is currently held.
+     */
+    public <E> MultiRingClaim add(final RingBuffer<E> ringBuffer, final EventTranslator<E> tombstoneTranslator)
+    {
+        checkNotClaimed();
+        if (-1 != indexOf(ringBuffer))
+        {
+            throw new IllegalArgumentException("Ring buffer has already been added");
+        }
+
+        participants = Arrays.copyOf(participants, participants.length + 1);
+        participants[participants.length - 1] = new Participant<>(ringBuffer, tombstoneTranslator);
+
+        return this;
+    }
+
+    /**
+     * Attempt to claim the next slot on every ring buffer, without blocking.  On success the slots must be
+     * filled and then either published with {@link MultiRingClaim#publish()} or rolled back with
+     * {@link MultiRingClaim#rollback()}.
+     *
+     * @return true if a slot was claimed on every ring buffer, false if any of them was full, in which case any
+     * slots that were claimed have already been rolled back.
+     * @throws IllegalStateException if a claim is already held.
+     */
+    public boolean tryClaim()
+    {
+        checkNotClaimed();
+        for (int i = 0; i < participants.length; i++)
+        {
+            if (!participants[i].tryClaim())
+            {
+                rollback(i);
+                return false;
+            }
+        }
+
+        claimed = true;
+        return true;
+    }
+
+    /**
+     * Get the sequence claimed on a ring buffer.
+     *
+     * @param ringBuffer one of the ring buffers added to this claim.
+     * @return the sequence claimed on that ring buffer.
+     * @throws IllegalStateException if no claim is held.
+     */
+    public long getSequence(final RingBuffer<?> ringBuffer)
+    {
+        checkClaimed();
+        final int index = indexOf(ringBuffer);
+        if (-1 == index)
+        {
+            throw new IllegalArgumentException("Ring buffer is not part of this claim");
+        }
+
+        return participants[index].sequence;
+    }
+
+    /**
+     * Get the event in the slot claimed on a ring buffer.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param ringBuffer one of the ring buffers added to this claim.
+     * @return the event to fill.
+     * @throws IllegalStateException if no claim is held.
+     */
+    public <E> E get(final RingBuffer<E> ringBuffer)
+    {
+        return ringBuffer.get(getSequence(ringBuffer));
+    }
+
+    /**
+     * Publish the claimed slots on every ring buffer.
+     *
+     * @throws IllegalStateException if no claim is held.
+     */
+    public void publish()
+    {
+        checkClaimed();
+        claimed = false;
+        for (final Participant<?> participant : participants)
+        {
+            participant.publish();
+        }
+    }
+
+    /**
+     * Cancel every claimed slot, or fill it with its tombstone and publish it.
+     *
+     * @throws IllegalStateException if no claim is held.
+     */
+    public void rollback()
+    {
+        checkClaimed();
+        claimed = false;
+        rollback(participants.length);
+    }
+
+    /**
+     * Claim a slot on every ring buffer, fill them with the translator and publish them.  If the translator
+     * throws, the claim is rolled back before the exception is rethrown.
+     *
+     * @param translator fills the claimed slots.
+     * @return true if the event was published to every ring buffer, false if any of them was full.
+     */
+    public boolean tryPublish(final Translator translator)
+    {
+        if (!tryClaim())
+        {
+            return false;
+        }
+
+        try
+        {
+            translator.translateTo(this);
+        }
+        catch (final Throwable t)
+        {
+            rollback();
+            throw t;
+        }
+
+        publish();
+        return true;
+    }
+
+    private void rollback(final int claimedCount)
+    {
+        for (int i = 0; i < claimedCount; i++)
+        {
+            participants[i].rollback();
+        }
+    }
+
+    private int indexOf(final RingBuffer<?> ringBuffer)
+    {
+        for (int i = 0; i < participants.length; i++)
+        {
+            if (participants[i].ringBuffer == ringBuffer)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void checkClaimed()
+    {
+        if (!claimed)
+        {
+            throw new IllegalStateException("No claim is held");
+        }
+    }
+
+    private void checkNotClaimed()
+    {
+        if (claimed)
+        {
+            throw new IllegalStateException("A claim is already held");
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MultiRingClaim{" +
+            "ringBuffers=" + participants.length +
+            ", claimed=" + claimed +
+            '}';
+    }
+
+    /**
+     * Fills the slots of a {@link MultiRingClaim}, typically through {@link MultiRingClaim#get(RingBuffer)}.
+     */
+    public interface Translator
+    {
+        /**
+         * Fill the claimed slots.
+         *
+         * @param claim holding a slot on each ring buffer.
+         */
+        void translateTo(MultiRingClaim claim);
+    }
+
+    private static final class Participant<E>
+    {
+        private final RingBuffer<E> ringBuffer;
+        private final EventTranslator<E> tombstoneTranslator;
+        private long sequence = Sequencer.INITIAL_CURSOR_VALUE;
+
+        Participant(final RingBuffer<E> ringBuffer, final EventTranslator<E> tombstoneTranslator)
+        {
+            this.ringBuffer = ringBuffer;
+            this.tombstoneTranslator = tombstoneTranslator;
+        }
+
+        boolean tryClaim()
+        {
+            sequence = ringBuffer.tryNextOrNegative();
+            return sequence >= 0;
+        }
+
+        void publish()
+        {
+            ringBuffer.publish(sequence);
+        }
+
+        void rollback()
+        {
+            if (null == tombstoneTranslator)
+            {
+                ringBuffer.cancel(sequence);
+                return;
+            }
+
+            try
+            {
+                tombstoneTranslator.translateTo(ringBuffer.get(sequence), sequence);
+            }
+            finally
+            {
+                ringBuffer.publish(sequence);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+
+/**
+ * {@link ResizePolicy} that doubles the buffer size when the ring buffer is full and halves it when less
+ * than a quarter of it is occupied, keeping it between a minimum and a maximum size.
+ */
+public final class OccupancyResizePolicy implements ResizePolicy
+{
+    private static final int SHRINK_OCCUPANCY_DIVISOR = 4;
+
+    private final int minBufferSize;
+    private final int maxBufferSize;
+
+    /**
+     * @param minBufferSize the smallest size to shrink to, must be a power of 2.
+     * @param maxBufferSize the largest size to grow to, must be a power of 2.
+     */
+    public OccupancyResizePolicy(final int minBufferSize, final int maxBufferSize)
+    {
+        if (Integer.bitCount(minBufferSize) != 1 || Integer.bitCount(maxBufferSize) != 1)
+        {
+            throw new IllegalArgumentException("minBufferSize and maxBufferSize must be a power of 2");
+        }
+        if (minBufferSize > maxBufferSize)
+        {
+            throw new IllegalArgumentException("minBufferSize must not be greater than maxBufferSize");
+        }
+
+        this.minBufferSize = minBufferSize;
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    @Override
+    public int bufferSizeFor(final int bufferSize, final long occupancy)
+    {
+        if (occupancy >= bufferSize && bufferSize < maxBufferSize)
+        {
+            return bufferSize << 1;
+        }
+        if (occupancy < bufferSize / SHRINK_OCCUPANCY_DIVISOR && bufferSize > minBufferSize)
+        {
+            return bufferSize >>> 1;
+        }
+
+        return bufferSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OccupancyResizePolicy{" +
+            "minBufferSize=" + minBufferSize +
+            ", maxBufferSize=" + maxBufferSize +
+            '}';
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implementations write data into a slot claimed from an {@link OffHeapRingBuffer}.
+ *
+ * @param <A> type first user specified argument to the translator.
+ * @see OffHeapEventTranslator
+ */
+public interface OffHeapEventTranslatorOneArg<A>
+{
+    /**
+     * Translate a data representation into the given slot, using the buffer's absolute put methods.
+     *
+     * @param buffer   the ring buffer's memory.
+     * @param offset   of the first byte of the slot within buffer.
+     * @param sequence that is assigned to the slot.
+     * @param arg0     The first user specified argument to the translator
+     */
+    void translateTo(ByteBuffer buffer, int offset, long sequence, A arg0);
+}
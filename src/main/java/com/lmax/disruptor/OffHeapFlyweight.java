@@ -0,0 +1,36 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable view over one slot of an {@link OffHeapRingBuffer}.  Implementations hold the buffer and offset
+ * they are given and read or write their fields with the buffer's absolute get and put methods, so moving the
+ * view to a new slot does not allocate.
+ *
+ * @see OffHeapRingBuffer#dataProvider(OffHeapFlyweight)
+ */
+public interface OffHeapFlyweight
+{
+    /**
+     * Point this flyweight at a slot.
+     *
+     * @param buffer the ring buffer's memory.
+     * @param offset of the first byte of the slot within buffer.
+     */
+    void wrap(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Ring buffer of fixed size slots held off the Java heap, in a direct or memory mapped {@link ByteBuffer}.
+ *
+ * <p>There is no array of entries for the garbage collector to scan and nothing is allocated per event.
+ * Publishers claim a slot and write it through the buffer's absolute put methods, either directly using
+ * {@link OffHeapRingBuffer#offset(long)} or with an {@link OffHeapEventTranslator}.  Consumers read slots
+ * through an {@link OffHeapFlyweight}: each consumer passes its own flyweight to
+ * {@link OffHeapRingBuffer#dataProvider(OffHeapFlyweight)} and hands the returned {@link DataProvider} to a
+ * {@link BatchEventProcessor} along with a barrier from {@link OffHeapRingBuffer#newBarrier(Sequence...)}.
+ */
+public final class OffHeapRingBuffer implements Cursored, Sequenced
+{
+    private final Sequencer sequencer;
+    private final ByteBuffer buffer;
+    private final int slotSize;
+    private final int indexMask;
+
+    private OffHeapRingBuffer(final Sequencer sequencer, final ByteBuffer buffer, final int slotSize)
+    {
+        if (slotSize < 1)
+        {
+            throw new IllegalArgumentException("slotSize must not be less than 1");
+        }
+        if (!buffer.isDirect())
+        {
+            throw new IllegalArgumentException("buffer must be direct or memory mapped");
+        }
+        final long requiredCapacity = (long) sequencer.getBufferSize() * slotSize;
+        if (buffer.capacity() < requiredCapacity)
+        {
+            throw new IllegalArgumentException("buffer capacity must be at least bufferSize * slotSize = " + requiredCapacity);
+        }
+
+        this.sequencer = sequencer;
+        this.buffer = buffer;
+        this.slotSize = slotSize;
+        this.indexMask = sequencer.getBufferSize() - 1;
+    }
+
+    /**
+     * Create a new off heap ring buffer, allocating a direct buffer in native byte order to hold its slots.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize   number of slots, must be a power of 2.
+     * @param slotSize     size of each slot in bytes.
+     * @param waitStrategy used to determine how to wait for new slots to become available.
+     * @return a constructed off heap ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or the slots do not fit in a single buffer.
+     */
+    public static OffHeapRingBuffer create(
+        final ProducerType producerType,
+        final int bufferSize,
+        final int slotSize,
+        final WaitStrategy waitStrategy)
+    {
+        if (slotSize < 1 || (long) bufferSize * slotSize > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("bufferSize * slotSize must be between 1 and " + Integer.MAX_VALUE);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize * slotSize).order(ByteOrder.nativeOrder());
+        return create(producerType, buffer, bufferSize, slotSize, waitStrategy);
+    }
+
+    /**
+     * Create a new off heap ring buffer over memory supplied by the caller, for example a
+     * {@link java.nio.MappedByteBuffer} mapped from a file.  Slots are laid out from index 0 of the buffer
+     * and are read and written in the buffer's byte order.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param buffer       direct or memory mapped buffer holding at least bufferSize * slotSize bytes.
+     * @param bufferSize   number of slots, must be a power of 2.
+     * @param slotSize     size of each slot in bytes.
+     * @param waitStrategy used to determine how to wait for new slots to become available.
+     * @return a constructed off heap ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or the buffer is not direct or too small.
+     */
+    public static OffHeapRingBuffer create(
+        final ProducerType producerType,
+        final ByteBuffer buffer,
+        final int bufferSize,
+        final int slotSize,
+        final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return new OffHeapRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy), buffer, slotSize);
+            case MULTI:
+                return new OffHeapRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy), buffer, slotSize);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Get the buffer the slots are held in.  Slots must only be accessed with its absolute get and put methods,
+     * as the buffer's position and limit are shared by every thread.
+     *
+     * @return the ring buffer's memory.
+     */
+    public ByteBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * @param sequence of a slot.
+     * @return the offset within {@link OffHeapRingBuffer#buffer()} of the slot's first byte.
+     */
+    public int offset(final long sequence)
+    {
+        return ((int) sequence & indexMask) * slotSize;
+    }
+
+    /**
+     * @return the size of each slot in bytes.
+     */
+    public int getSlotSize()
+    {
+        return slotSize;
+    }
+
+    /**
+     * Create a {@link DataProvider} that points the given flyweight at the requested slot and returns it.  The
+     * flyweight is reused for every call, so each consumer thread must be given its own.
+     *
+     * @param <F> type of the flyweight.
+     * @param flyweight view to move from slot to slot.
+     * @return a data provider for use by a single event processor.
+     */
+    public <F extends OffHeapFlyweight> DataProvider<F> dataProvider(final F flyweight)
+    {
+        return sequence ->
+        {
+            flyweight.wrap(buffer, offset(sequence));
+            return flyweight;
+        };
+    }
+
+    /**
+     * Claim the next slot, write it with the translator and publish it.
+     *
+     * @param translator writes the data into the slot.
+     */
+    public void publishEvent(final OffHeapEventTranslator translator)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(translator, sequence);
+    }
+
+    /**
+     * Attempt to claim the next slot, write it with the translator and publish it.  Returns false
+     * without waiting if there is no space.
+     *
+     * @param translator writes the data into the slot.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublishEvent(final OffHeapEventTranslator translator)
+    {
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence);
+        return true;
+    }
+
+    /**
+     * Claim the next slot, write it with the translator and publish it.
+     *
+     * @param <A> Class of the user supplied argument.
+     * @param translator writes the data into the slot.
+     * @param arg0       A user supplied argument.
+     */
+    public <A> void publishEvent(final OffHeapEventTranslatorOneArg<A> translator, final A arg0)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(translator, sequence, arg0);
+    }
+
+    /**
+     * Attempt to claim the next slot, write it with the translator and publish it.  Returns false
+     * without waiting if there is no space.
+     *
+     * @param <A> Class of the user supplied argument.
+     * @param translator writes the data into the slot.
+     * @param arg0       A user supplied argument.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public <A> boolean tryPublishEvent(final OffHeapEventTranslatorOneArg<A> translator, final A arg0)
+    {
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence, arg0);
+        return true;
+    }
+
+    /**
+     * Add the specified gating sequences, slots are only reused once these have passed them.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified gating sequence.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which slots are available to be
+     * read from the ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return sequencer.getBufferSize();
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    @Override
+    public long next()
+    {
+        return sequencer.next();
+    }
+
+    @Override
+    public long next(final int n)
+    {
+        return sequencer.next(n);
+    }
+
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return sequencer.tryNext();
+    }
+
+    @Override
+    public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        return sequencer.tryNext(n);
+    }
+
+    @Override
+    public void publish(final long sequence)
+    {
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public void publish(final long lo, final long hi)
+    {
+        sequencer.publish(lo, hi);
+    }
+
+    private void translateAndPublish(final OffHeapEventTranslator translator, final long sequence)
+    {
+        try
+        {
+            translator.translateTo(buffer, offset(sequence), sequence);
+        }
+        catch (final Throwable t)
+        {
+            sequencer.cancel(sequence);
+            throw t;
+        }
+        sequencer.publish(sequence);
+    }
+
+    private <A> void translateAndPublish(final OffHeapEventTranslatorOneArg<A> translator, final long sequence, final A arg0)
+    {
+        try
+        {
+            translator.translateTo(buffer, offset(sequence), sequence, arg0);
+        }
+        catch (final Throwable t)
+        {
+            sequencer.cancel(sequence);
+            throw t;
+        }
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OffHeapRingBuffer{" +
+            "slotSize=" + slotSize +
+            ", sequencer=" + sequencer +
+            '}';
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Thrown by a {@link SequenceBarrier} when the events a consumer is waiting for have been overwritten by a
+ * publisher that laps slow consumers.  Unchecked so that {@link SequenceBarrier#waitFor(long)} keeps its signature
+ * for consumers of ring buffers that never overwrite.
+ */
+@SuppressWarnings({"serial", "lgtm[java/non-sync-override]"})
+public final class OverrunException extends RuntimeException
+{
+    private final long sequence;
+    private final long oldestAvailableSequence;
+
+    /**
+     * @param sequence                the first sequence that was lost.
+     * @param oldestAvailableSequence the oldest sequence still held in the ring buffer.
+     */
+    public OverrunException(final long sequence, final long oldestAvailableSequence)
+    {
+        this.sequence = sequence;
+        this.oldestAvailableSequence = oldestAvailableSequence;
+    }
+
+    /**
+     * @return the first sequence that was lost.
+     */
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * @return the oldest sequence still held in the ring buffer, consumers should resume from here.
+     */
+    public long getOldestAvailableSequence()
+    {
+        return oldestAvailableSequence;
+    }
+
+    /**
+     * @return the number of events lost.
+     */
+    public long getLostCount()
+    {
+        return oldestAvailableSequence - sequence;
+    }
+
+    @Override
+    public Throwable fillInStackTrace()
+    {
+        return this;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * When a {@link BatchEventProcessor} is lapped by a publisher that does not wait for it, see
+ * {@link SingleProducerSequencer#SingleProducerSequencer(int, WaitStrategy, boolean)} and
+ * {@link RingBuffer#newNonGatingBarrier(Sequence...)}, and detects that its {@link EventHandler} implements this interface, it notifies that event handler of the events it skipped
+ * via `onOverrun` before resuming at the oldest event still held.
+ */
+public interface OverrunHandler
+{
+    /**
+     * Invoked when a {@link BatchEventProcessor}'s {@link SequenceBarrier} throws an {@link OverrunException}.
+     * @param sequence  - the first sequence that was lost.
+     * @param lostCount - the number of events lost, processing resumes at <code>sequence + lostCount</code>.
+     * @throws Exception if the implementation is unable to handle this overrun.
+     */
+    void onOverrun(long sequence, long lostCount) throws Exception;
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Claims waiting for capacity on a {@link Sequencer}, completed in FIFO order by whichever thread
+ * finds capacity available.  This is normally an event processor signalling its progress through a
+ * {@link ProcessingSequenceBarrier}, so no thread polls on behalf of the waiting publishers.
+ */
+final class PendingClaims
+{
+    private final Sequencer sequencer;
+    private final Queue<PendingClaim> claims = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean completing = new AtomicBoolean(false);
+
+    PendingClaims(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+    }
+
+    /**
+     * Claim n sequences, completing immediately if the capacity is available and nothing is already waiting.
+     *
+     * @param n number of slots to claim
+     * @return future completed with the highest sequence claimed
+     */
+    CompletableFuture<Long> claim(final int n)
+    {
+        if (n < 1 || n > sequencer.getBufferSize())
+        {
+            throw new IllegalArgumentException("n must be > 0 and <= bufferSize");
+        }
+
+        if (claims.isEmpty())
+        {
+            final long sequence = sequencer.tryNextOrNegative(n);
+            if (sequence >= 0)
+            {
+                return CompletableFuture.completedFuture(sequence);
+            }
+        }
+
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        claims.add(new PendingClaim(n, future));
+        // consumers may have moved on since the first attempt without seeing the claim, so check again ourselves
+        VarHandle.fullFence();
+        complete();
+
+        return future;
+    }
+
+    /**
+     * Called by consumers as they make progress, cheap when there are no pending claims.
+     */
+    void signal()
+    {
+        if (!claims.isEmpty())
+        {
+            complete();
+        }
+    }
+
+    /**
+     * Called by consumers before they wait for more events.  Gating sequences are not set with a full fence,
+     * so the consumer has to fence before checking for claims that may have raced with its last update, otherwise
+     * both sides can miss each other and, with no other publisher to move the consumer on, the claim is never
+     * completed.  This can not be skipped until a first claim is seen, as that first claim is just as likely to race.
+     */
+    void signalBeforeWaiting()
+    {
+        VarHandle.fullFence();
+        signal();
+    }
+
+    private void complete()
+    {
+        while (completing.compareAndSet(false, true))
+        {
+            try
+            {
+                PendingClaim claim;
+                long sequence;
+                while (null != (claim = claims.peek()) && (sequence = sequencer.tryNextOrNegative(claim.n)) >= 0)
+                {
+                    claims.poll();
+                    claim.future.complete(sequence);
+                }
+            }
+            finally
+            {
+                completing.set(false);
+            }
+
+            // a signal may have been dropped while we held the flag, only stop once nothing could be completed
+            VarHandle.fullFence();
+            final PendingClaim head = claims.peek();
+            if (null == head || !sequencer.hasAvailableCapacity(head.n))
+            {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PendingClaims{" +
+            "pending=" + claims.size() +
+            '}';
+    }
+
+    private static final class PendingClaim
+    {
+        private final int n;
+        private final CompletableFuture<Long> future;
+
+        PendingClaim(final int n, final CompletableFuture<Long> future)
+        {
+            this.n = n;
+            this.future = future;
+        }
+    }
+}
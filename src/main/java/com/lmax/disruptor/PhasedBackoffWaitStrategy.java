@@ -15,20 +15,26 @@
  */
 package com.lmax.disruptor;
 
+import com.lmax.disruptor.util.SpinWaitCalibration;
+
 import java.util.concurrent.TimeUnit;
 
 /**
  * Phased wait strategy for waiting {@link EventProcessor}s on a barrier.
  *
  * <p>This strategy can be used when throughput and low-latency are not as important as CPU resource.
- * Spins, then yields, then waits using the configured fallback WaitStrategy.
+ * Spins, then yields, then waits using the configured fallback WaitStrategy.  Strategies from
+ * {@link #calibrated(long, long, TimeUnit, WaitStrategy)} convert the spin timeout to a number of spins using
+ * {@link SpinWaitCalibration}, so spinning needs no clock reads.
  */
 public final class PhasedBackoffWaitStrategy implements WaitStrategy
 {
     private static final int SPIN_TRIES = 10000;
+    private static final int NOT_CALIBRATED = -1;
     private final long spinTimeoutNanos;
     private final long yieldTimeoutNanos;
     private final WaitStrategy fallbackStrategy;
+    private final int calibratedSpinTries;
 
     /**
      *
@@ -43,9 +49,41 @@ public final class PhasedBackoffWaitStrategy implements WaitStrategy
         final TimeUnit units,
         final WaitStrategy fallbackStrategy)
     {
-        this.spinTimeoutNanos = units.toNanos(spinTimeout);
-        this.yieldTimeoutNanos = spinTimeoutNanos + units.toNanos(yieldTimeout);
+        this(units.toNanos(spinTimeout), units.toNanos(spinTimeout) + units.toNanos(yieldTimeout), fallbackStrategy, NOT_CALIBRATED);
+    }
+
+    private PhasedBackoffWaitStrategy(
+        final long spinTimeoutNanos,
+        final long yieldTimeoutNanos,
+        final WaitStrategy fallbackStrategy,
+        final int calibratedSpinTries)
+    {
+        this.spinTimeoutNanos = spinTimeoutNanos;
+        this.yieldTimeoutNanos = yieldTimeoutNanos;
         this.fallbackStrategy = fallbackStrategy;
+        this.calibratedSpinTries = calibratedSpinTries;
+    }
+
+    /**
+     * Construct {@link PhasedBackoffWaitStrategy} that spins a number of times calibrated to the spin timeout with
+     * {@link SpinWaitCalibration}, pausing with <code>Thread.onSpinWait()</code> between spins, rather than reading
+     * the clock while it spins.
+     *
+     * @param spinTimeout The maximum time in to busy spin for.
+     * @param yieldTimeout The maximum time in to yield for, once spinning is done.
+     * @param units Time units used for the timeout values.
+     * @param fallbackStrategy After spinning + yielding, the strategy to fall back to
+     * @return The constructed wait strategy.
+     */
+    public static PhasedBackoffWaitStrategy calibrated(
+        final long spinTimeout,
+        final long yieldTimeout,
+        final TimeUnit units,
+        final WaitStrategy fallbackStrategy)
+    {
+        return new PhasedBackoffWaitStrategy(
+            units.toNanos(spinTimeout), units.toNanos(yieldTimeout),
+            fallbackStrategy, SpinWaitCalibration.spinsFor(units.toNanos(spinTimeout)));
     }
 
     /**
@@ -106,6 +144,11 @@ public final class PhasedBackoffWaitStrategy implements WaitStrategy
     public long waitFor(final long sequence, final Sequence cursor, final Sequence dependentSequence, final SequenceBarrier barrier)
         throws AlertException, InterruptedException, TimeoutException
     {
+        if (NOT_CALIBRATED != calibratedSpinTries)
+        {
+            return waitForCalibrated(sequence, cursor, dependentSequence, barrier);
+        }
+
         long availableSequence;
         long startTime = 0;
         int counter = SPIN_TRIES;
@@ -141,6 +184,39 @@ public final class PhasedBackoffWaitStrategy implements WaitStrategy
         while (true);
     }
 
+    private long waitForCalibrated(
+        final long sequence, final Sequence cursor, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException, TimeoutException
+    {
+        long availableSequence;
+        for (int counter = calibratedSpinTries; counter > 0; counter--)
+        {
+            if ((availableSequence = dependentSequence.get()) >= sequence)
+            {
+                return availableSequence;
+            }
+            Thread.onSpinWait();
+        }
+
+        final long yieldDeadline = System.nanoTime() + yieldTimeoutNanos;
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            if (System.nanoTime() - yieldDeadline > 0)
+            {
+                return fallbackStrategy.waitFor(sequence, cursor, dependentSequence, barrier);
+            }
+            Thread.yield();
+        }
+
+        return availableSequence;
+    }
+
+    @Override
+    public boolean requiresStoreLoadBeforeSignal()
+    {
+        return fallbackStrategy.requiresStoreLoadBeforeSignal();
+    }
+
     @Override
     public void signalAllWhenBlocking()
     {
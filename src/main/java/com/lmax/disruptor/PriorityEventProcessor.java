@@ -0,0 +1,517 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consumes the lanes of a {@link PriorityRingBuffer} on one thread, always taking the next batch from the
+ * highest priority lane with events available.
+ *
+ * <p>Batches are capped at <code>maxBatchSize</code> events, so an event published to a higher priority lane
+ * waits for at most that many lower priority events however deep their backlog.  To bound starvation, a lane
+ * with events available that has been passed over for <code>starvationLimit</code> batches in a row is served
+ * next whatever its priority.
+ *
+ * <p>The processor gates each lane on its progress through that lane.  The sequence passed to the
+ * {@link EventHandler} is the event's sequence within its lane.  If the {@link EventHandler} also implements
+ * {@link LifecycleAware} it will be notified just after the thread is started and just before the thread is shutdown.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class PriorityEventProcessor<T>
+    implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private ExceptionHandler<? super T> exceptionHandler;
+    private final PriorityRingBuffer<T> ringBuffer;
+    private final EventHandler<? super T> eventHandler;
+    private final int maxBatchSize;
+    private final int starvationLimit;
+    private final AbstractSequencer[] sequencers;
+    private final Sequence[] sequences;
+    private final long[] availableSequences;
+    private final int[] passedOver;
+    private final Sequence sequence;
+    private final PrioritySequenceBarrier sequenceBarrier;
+    private final TimeoutHandler timeoutHandler;
+    private final BatchStartAware batchStartAware;
+
+    /**
+     * Construct a processor over every lane of the ring buffer, adding its progress through each lane as
+     * a gating sequence of that lane.
+     *
+     * @param ringBuffer      the lanes to consume.
+     * @param eventHandler    is the delegate to which events are dispatched.
+     * @param maxBatchSize    the most events to take from a lane before checking higher priority lanes again.
+     * @param starvationLimit the most batches in a row a lane with events available may be passed over.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1 or starvationLimit is negative.
+     */
+    public PriorityEventProcessor(
+        final PriorityRingBuffer<T> ringBuffer,
+        final EventHandler<? super T> eventHandler,
+        final int maxBatchSize,
+        final int starvationLimit)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must not be less than 1");
+        }
+        if (starvationLimit < 0)
+        {
+            throw new IllegalArgumentException("starvationLimit must not be negative");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.eventHandler = eventHandler;
+        this.maxBatchSize = maxBatchSize;
+        this.starvationLimit = starvationLimit;
+
+        final int laneCount = ringBuffer.getLaneCount();
+        this.sequencers = new AbstractSequencer[laneCount];
+        this.sequences = new Sequence[laneCount];
+        this.availableSequences = new long[laneCount];
+        this.passedOver = new int[laneCount];
+        final Cursored[] processed = new Cursored[laneCount];
+        final Cursored[] published = new Cursored[laneCount];
+        for (int lane = 0; lane < laneCount; lane++)
+        {
+            sequencers[lane] = ringBuffer.getSequencer(lane);
+            sequences[lane] = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+            sequencers[lane].addGatingSequences(sequences[lane]);
+            processed[lane] = sequences[lane]::get;
+            published[lane] = sequencers[lane];
+        }
+
+        this.sequence = new TotalSequence(processed);
+        this.sequenceBarrier = new PrioritySequenceBarrier(ringBuffer.getWaitStrategy(), new TotalSequence(published));
+
+        batchStartAware =
+            (eventHandler instanceof BatchStartAware) ? (BatchStartAware) eventHandler : null;
+        timeoutHandler =
+            (eventHandler instanceof TimeoutHandler) ? (TimeoutHandler) eventHandler : null;
+    }
+
+    /**
+     * Get a read only view of the total number of events processed across all lanes, less one.
+     *
+     * @return the total processed sequence.
+     */
+    @Override
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Get the progress of this processor through a lane.
+     *
+     * @param priority of the lane.
+     * @return the sequence of the last event processed from the lane.
+     */
+    public Sequence getLaneSequence(final int priority)
+    {
+        return sequences[priority];
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+        sequenceBarrier.alert();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link PriorityEventProcessor}.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super T> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            sequenceBarrier.clearAlert();
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processEvents();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else
+        {
+            if (witnessValue == RUNNING)
+            {
+                throw new IllegalStateException("Thread is already running");
+            }
+            else
+            {
+                earlyExit();
+            }
+        }
+    }
+
+    private void processEvents()
+    {
+        T event = null;
+        int lane = 0;
+        long nextSequence = sequences[lane].get() + 1L;
+
+        while (true)
+        {
+            try
+            {
+                final int selectedLane = selectLane();
+                if (-1 == selectedLane)
+                {
+                    waitForEvents();
+                    continue;
+                }
+
+                lane = selectedLane;
+
+                final AbstractSequencer sequencer = sequencers[lane];
+                final RingBuffer<T> laneRingBuffer = ringBuffer.getLane(lane);
+                nextSequence = sequences[lane].get() + 1L;
+                // already capped at maxBatchSize events by selectLane
+                final long availableSequence = availableSequences[lane];
+
+                // the previous batch from this lane may have freed capacity
+                sequencer.signalConsumerProgress(false);
+                if (batchStartAware != null)
+                {
+                    batchStartAware.onBatchStart(availableSequence - nextSequence + 1);
+                }
+
+                if (!sequencer.hasCancelled(nextSequence, availableSequence))
+                {
+                    while (nextSequence <= availableSequence)
+                    {
+                        event = laneRingBuffer.get(nextSequence);
+                        eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
+                        nextSequence++;
+                    }
+                }
+                else
+                {
+                    nextSequence = nextUncancelledSequence(sequencer, nextSequence, availableSequence);
+                    while (nextSequence <= availableSequence)
+                    {
+                        final long followingSequence = nextUncancelledSequence(sequencer, nextSequence + 1, availableSequence);
+                        event = laneRingBuffer.get(nextSequence);
+                        eventHandler.onEvent(event, nextSequence, followingSequence > availableSequence);
+                        nextSequence = followingSequence;
+                    }
+                }
+
+                sequences[lane].set(availableSequence);
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout(sequence.get());
+            }
+            catch (final AlertException ex)
+            {
+                if (running.get() != RUNNING)
+                {
+                    break;
+                }
+            }
+            catch (final Throwable ex)
+            {
+                handleEventException(ex, nextSequence, event);
+                sequences[lane].set(nextSequence);
+            }
+        }
+    }
+
+    /**
+     * Find the lane to take the next batch from and record the events available on each lane.
+     *
+     * @return the lane, or -1 if no lane has events available.
+     */
+    private int selectLane()
+    {
+        int highest = -1;
+        int starving = -1;
+        for (int lane = 0; lane < sequencers.length; lane++)
+        {
+            final AbstractSequencer sequencer = sequencers[lane];
+            final long nextSequence = sequences[lane].get() + 1L;
+            // only one batch is taken, so multi producer lanes need not scan the rest of their backlog
+            final long availableSequence = sequencer.getHighestPublishedSequence(
+                nextSequence, Math.min(sequencer.getCursor(), nextSequence + maxBatchSize - 1));
+            availableSequences[lane] = availableSequence;
+
+            if (availableSequence < nextSequence)
+            {
+                passedOver[lane] = 0;
+            }
+            else
+            {
+                if (-1 == highest)
+                {
+                    highest = lane;
+                }
+                else if (-1 == starving && passedOver[lane] >= starvationLimit)
+                {
+                    starving = lane;
+                }
+                passedOver[lane]++;
+            }
+        }
+
+        final int selected = -1 == starving ? highest : starving;
+        if (-1 != selected)
+        {
+            passedOver[selected] = 0;
+        }
+
+        return selected;
+    }
+
+    private void waitForEvents() throws AlertException, InterruptedException, TimeoutException
+    {
+        for (final AbstractSequencer sequencer : sequencers)
+        {
+            sequencer.signalConsumerProgress(true);
+        }
+
+        sequenceBarrier.waitFor(sequence.get() + 1L);
+    }
+
+    /**
+     * Cancelled sequences are skipped. Each sequence is checked once, one ahead of delivery, so the end of batch flag
+     * always goes to a delivered event.
+     */
+    private static long nextUncancelledSequence(final Sequencer sequencer, final long fromSequence, final long availableSequence)
+    {
+        long sequence = fromSequence;
+        while (sequence <= availableSequence && sequencer.isCancelled(sequence))
+        {
+            sequence++;
+        }
+
+        return sequence;
+    }
+
+    private void earlyExit()
+    {
+        notifyStart();
+        notifyShutdown();
+    }
+
+    private void notifyTimeout(final long availableSequence)
+    {
+        try
+        {
+            if (timeoutHandler != null)
+            {
+                timeoutHandler.onTimeout(availableSequence);
+            }
+        }
+        catch (Throwable e)
+        {
+            handleEventException(e, availableSequence, null);
+        }
+    }
+
+    /**
+     * Notifies the EventHandler when this processor is starting up.
+     */
+    private void notifyStart()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) eventHandler).onStart();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnStartException(ex);
+            }
+        }
+    }
+
+    /**
+     * Notifies the EventHandler immediately prior to this processor shutting down.
+     */
+    private void notifyShutdown()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) eventHandler).onShutdown();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnShutdownException(ex);
+            }
+        }
+    }
+
+    private void handleEventException(final Throwable ex, final long sequence, final T event)
+    {
+        getExceptionHandler().handleEventException(ex, sequence, event);
+    }
+
+    private ExceptionHandler<? super T> getExceptionHandler()
+    {
+        ExceptionHandler<? super T> handler = exceptionHandler;
+        return handler == null ? ExceptionHandlers.defaultHandler() : handler;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PriorityEventProcessor{" +
+            "lanes=" + sequences.length +
+            ", maxBatchSize=" + maxBatchSize +
+            ", starvationLimit=" + starvationLimit +
+            ", sequence=" + sequence +
+            '}';
+    }
+
+    /**
+     * Read only view of the total of a set of cursors, counting each from its initial value of -1.
+     */
+    private static final class TotalSequence extends ReadOnlySequence
+    {
+        private final Cursored[] cursors;
+
+        TotalSequence(final Cursored[] cursors)
+        {
+            this.cursors = cursors;
+        }
+
+        @Override
+        public long get()
+        {
+            long total = 0;
+            for (final Cursored cursor : cursors)
+            {
+                total += cursor.getCursor() + 1;
+            }
+
+            return total - 1;
+        }
+    }
+
+    /**
+     * {@link SequenceBarrier} waiting on the total claimed across all lanes using their shared {@link WaitStrategy}.
+     */
+    private static final class PrioritySequenceBarrier implements SequenceBarrier
+    {
+        private final WaitStrategy waitStrategy;
+        private final Sequence claimedSequence;
+        private volatile boolean alerted = false;
+
+        PrioritySequenceBarrier(final WaitStrategy waitStrategy, final Sequence claimedSequence)
+        {
+            this.waitStrategy = waitStrategy;
+            this.claimedSequence = claimedSequence;
+        }
+
+        @Override
+        public long waitFor(final long sequence)
+            throws AlertException, InterruptedException, TimeoutException
+        {
+            checkAlert();
+            return waitStrategy.waitFor(sequence, claimedSequence, claimedSequence, this);
+        }
+
+        @Override
+        public long getCursor()
+        {
+            return claimedSequence.get();
+        }
+
+        @Override
+        public boolean isCancelled(final long sequence)
+        {
+            return false;
+        }
+
+        @Override
+        public void checkOverrun(final long sequence)
+        {
+        }
+
+        @Override
+        public boolean isAlerted()
+        {
+            return alerted;
+        }
+
+        @Override
+        public void alert()
+        {
+            alerted = true;
+            waitStrategy.signalAllWhenBlocking();
+        }
+
+        @Override
+        public void clearAlert()
+        {
+            alerted = false;
+        }
+
+        @Override
+        public void checkAlert() throws AlertException
+        {
+            if (alerted)
+            {
+                throw AlertException.INSTANCE;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * A set of {@link RingBuffer} lanes of decreasing priority, drained by a {@link PriorityEventProcessor}.
+ *
+ * <p>Each lane has its own sequencer, so urgent events published to a high priority lane never queue
+ * behind a backlog in a lower priority lane.  All lanes share one {@link WaitStrategy}, which lets a single
+ * consumer wait for an event on any of them.
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class PriorityRingBuffer<E>
+{
+    private final RingBuffer<E>[] lanes;
+    private final AbstractSequencer[] sequencers;
+    private final WaitStrategy waitStrategy;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private PriorityRingBuffer(
+        final ProducerType producerType,
+        final EventFactory<E> eventFactory,
+        final int laneCount,
+        final int laneBufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        if (laneCount < 1)
+        {
+            throw new IllegalArgumentException("laneCount must not be less than 1");
+        }
+
+        this.waitStrategy = waitStrategy;
+        this.lanes = new RingBuffer[laneCount];
+        this.sequencers = new AbstractSequencer[laneCount];
+        for (int i = 0; i < laneCount; i++)
+        {
+            sequencers[i] = createSequencer(producerType, laneBufferSize, waitStrategy);
+            lanes[i] = new RingBuffer<>(eventFactory, sequencers[i]);
+        }
+    }
+
+    private static AbstractSequencer createSequencer(
+        final ProducerType producerType,
+        final int bufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return new SingleProducerSequencer(bufferSize, waitStrategy);
+            case MULTI:
+                return new MultiProducerSequencer(bufferSize, waitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Create a new priority ring buffer.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param producerType   producer type of every lane.
+     * @param factory        used to create the events within each lane.
+     * @param laneCount      number of priority lanes.
+     * @param laneBufferSize number of elements to create within each lane.
+     * @param waitStrategy   used to determine how to wait for new elements to become available, shared by all lanes.
+     * @return a constructed priority ring buffer.
+     * @throws IllegalArgumentException if laneBufferSize is less than 1 or not a power of 2
+     */
+    public static <E> PriorityRingBuffer<E> create(
+        final ProducerType producerType,
+        final EventFactory<E> factory,
+        final int laneCount,
+        final int laneBufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        return new PriorityRingBuffer<>(producerType, factory, laneCount, laneBufferSize, waitStrategy);
+    }
+
+    /**
+     * Get the lane to publish events of a given priority to.
+     *
+     * @param priority of the lane, from 0, the highest, to {@link PriorityRingBuffer#getLaneCount()} - 1.
+     * @return the lane's ring buffer.
+     */
+    public RingBuffer<E> getLane(final int priority)
+    {
+        return lanes[priority];
+    }
+
+    /**
+     * @return the number of lanes.
+     */
+    public int getLaneCount()
+    {
+        return lanes.length;
+    }
+
+    AbstractSequencer getSequencer(final int priority)
+    {
+        return sequencers[priority];
+    }
+
+    WaitStrategy getWaitStrategy()
+    {
+        return waitStrategy;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PriorityRingBuffer{" +
+            "lanes=" + lanes.length +
+            ", waitStrategy=" + waitStrategy +
+            '}';
+    }
+}
@@ -23,6 +23,8 @@ package com.lmax.disruptor;
 final class ProcessingSequenceBarrier implements SequenceBarrier
 {
     private final WaitStrategy waitStrategy;
+    private final ProducerWaitStrategy producerWaitStrategy;
+    private final PendingClaims pendingClaims;
     /**
      * SequenceBarrier主要是设置消费依赖的。
      * 比如某个消费者必须等它依赖的消费者消费完某个消息之后才可以消费该消息。
@@ -36,15 +38,36 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
     private volatile boolean alerted = false;
     private final Sequence cursorSequence;
     private final Sequencer sequencer;
+    // only set when the publisher may lap this barrier's consumer rather than wait for it
+    private final AbstractSequencer lappingSequencer;
 
     ProcessingSequenceBarrier(
         final Sequencer sequencer,
         final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final PendingClaims pendingClaims,
         final Sequence cursorSequence,
         final Sequence[] dependentSequences)
+    {
+        this(sequencer, waitStrategy, producerWaitStrategy, pendingClaims, cursorSequence, dependentSequences,
+            sequencer instanceof AbstractSequencer && ((AbstractSequencer) sequencer).isOverwriting() ?
+                (AbstractSequencer) sequencer : null);
+    }
+
+    ProcessingSequenceBarrier(
+        final Sequencer sequencer,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final PendingClaims pendingClaims,
+        final Sequence cursorSequence,
+        final Sequence[] dependentSequences,
+        final AbstractSequencer lappingSequencer)
     {
         this.sequencer = sequencer;
+        this.lappingSequencer = lappingSequencer;
         this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy.requiresSignal() ? producerWaitStrategy : null;
+        this.pendingClaims = pendingClaims;
         this.cursorSequence = cursorSequence;
         if (0 == dependentSequences.length)
         {
@@ -68,8 +91,27 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
         throws AlertException, InterruptedException, TimeoutException
     {
         checkAlert();
+        // the caller has finished with everything before sequence, so its progress may have freed capacity
+        if (null != producerWaitStrategy)
+        {
+            producerWaitStrategy.signalAllWhenBlocking();
+        }
+        // async claims can start after the barrier is built, so they are always checked, with a fence only when
+        // nothing new has been published and the caller is about to wait
+        if (cursorSequence.get() < sequence)
+        {
+            pendingClaims.signalBeforeWaiting();
+        }
+        else
+        {
+            pendingClaims.signal();
+        }
         // waitStrategy派上用场了，这是我们在构造Disruptor的时候的入参（也是构造RingBuffer的入参）
         long availableSequence = waitStrategy.waitFor(sequence, cursorSequence, dependentSequence, this);
+        if (null != lappingSequencer)
+        {
+            checkLapped(sequence);
+        }
         // 理论上没有可能为true，因为当前每种waitStrategy内都保证了availableSequence一定大于等于sequence
         if (availableSequence < sequence)
         {
@@ -79,12 +121,48 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
         return sequencer.getHighestPublishedSequence(sequence, availableSequence);
     }
 
+    private void checkLapped(final long sequence)
+    {
+        final long oldestAvailableSequence = lappingSequencer.getOldestAvailableSequence();
+        if (sequence < oldestAvailableSequence)
+        {
+            throw new OverrunException(sequence, oldestAvailableSequence);
+        }
+    }
+
+    @Override
+    public boolean canBeLapped()
+    {
+        return null != lappingSequencer;
+    }
+
+    @Override
+    public void checkOverrun(final long sequence)
+    {
+        if (null != lappingSequencer && lappingSequencer.isOverwritten(sequence))
+        {
+            throw new OverrunException(sequence, lappingSequencer.getOldestAvailableSequence());
+        }
+    }
+
     @Override
     public long getCursor()
     {
         return dependentSequence.get();
     }
 
+    @Override
+    public boolean isCancelled(final long sequence)
+    {
+        return sequencer.isCancelled(sequence);
+    }
+
+    @Override
+    public boolean hasCancelled(final long lo, final long hi)
+    {
+        return sequencer.hasCancelled(lo, hi);
+    }
+
     @Override
     public boolean isAlerted()
     {
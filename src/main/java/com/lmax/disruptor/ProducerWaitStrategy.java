@@ -0,0 +1,51 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+
+/**
+ * Strategy employed by a {@link Sequencer} for making publishers wait for capacity when the ring buffer is full.
+ *
+ * <p>The {@link ProcessingSequenceBarrier}s handed out by the sequencer signal the strategy each time
+ * their {@link EventProcessor} comes back for more events, i.e. after it has advanced its {@link Sequence}.
+ */
+public interface ProducerWaitStrategy
+{
+    /**
+     * Wait for the slowest gating sequence to reach the given wrap point.
+     *
+     * @param wrapPoint      the value the gating sequence must reach before the claim can proceed.
+     * @param gatingSequence the minimum of the sequencer's gating sequences.
+     * @return the gating sequence value observed, which will be at least <code>wrapPoint</code>.
+     */
+    long waitFor(long wrapPoint, Sequence gatingSequence);
+
+    /**
+     * Implementations should signal the waiting publishers that a gating sequence has advanced.
+     */
+    void signalAllWhenBlocking();
+
+    /**
+     * Confirms if waiting publishers rely on {@link #signalAllWhenBlocking()}, so consumers of strategies that only
+     * poll the gating sequence can skip signalling altogether.
+     *
+     * @return false if {@link #signalAllWhenBlocking()} does nothing.
+     */
+    default boolean requiresSignal()
+    {
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * {@link Sequence} whose value is derived from other state, so can be waited on but never written.
+ * Subclasses only implement {@link Sequence#get()}.
+ */
+abstract class ReadOnlySequence extends Sequence
+{
+    @Override
+    public abstract long get();
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public final void set(final long value)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public final void setVolatile(final long value)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public final boolean compareAndSet(final long expectedValue, final long newValue)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public final long addAndGet(final long increment)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported.
+     */
+    @Override
+    public final long getAndAdd(final long increment)
+    {
+        throw new UnsupportedOperationException();
+    }
+}
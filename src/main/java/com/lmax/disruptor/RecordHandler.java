@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Callback interface to be implemented for processing records as they become available in a {@link RecordRingBuffer}.
+ *
+ * @see RecordProcessor
+ */
+public interface RecordHandler
+{
+    /**
+     * Called when a publisher has published a record to the {@link RecordRingBuffer}.  The payload is read in place,
+     * using the absolute get methods of the buffer, and must not be retained beyond the call.
+     *
+     * @param buffer     read only view of the ring buffer's memory.
+     * @param offset     of the first payload byte within the buffer.
+     * @param length     of the payload in bytes.
+     * @param sequence   of the record being processed.
+     * @param endOfBatch flag to indicate if this is the last record in a batch from the {@link RecordRingBuffer}
+     * @throws Exception if the handler wishes the exception to be handled further up the chain.
+     */
+    void onRecord(ByteBuffer buffer, int offset, int length, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Event processor for a {@link RecordRingBuffer}, handing each published record in place to a {@link RecordHandler}
+ * and skipping the padding records left where a claim would have wrapped.
+ *
+ * <p>If the {@link RecordHandler} also implements {@link LifecycleAware} it will be notified just after the thread
+ * is started and just before the thread is shutdown.  If it implements {@link TimeoutHandler} it will be notified
+ * when the {@link WaitStrategy} times out.
+ */
+public final class RecordProcessor implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private ExceptionHandler<? super ByteBuffer> exceptionHandler;
+    private final RecordRingBuffer recordRingBuffer;
+    private final ByteBuffer buffer;
+    private final SequenceBarrier sequenceBarrier;
+    private final RecordHandler recordHandler;
+    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final TimeoutHandler timeoutHandler;
+
+    /**
+     * Construct a {@link EventProcessor} that will automatically track the progress by updating its sequence when
+     * the {@link RecordHandler#onRecord(ByteBuffer, int, int, long, boolean)} method returns.
+     *
+     * @param recordRingBuffer to which records are published.
+     * @param sequenceBarrier  on which it is waiting.
+     * @param recordHandler    is the delegate to which records are dispatched.
+     */
+    public RecordProcessor(
+        final RecordRingBuffer recordRingBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final RecordHandler recordHandler)
+    {
+        this.recordRingBuffer = recordRingBuffer;
+        this.buffer = recordRingBuffer.buffer().asReadOnlyBuffer().order(recordRingBuffer.buffer().order());
+        this.sequenceBarrier = sequenceBarrier;
+        this.recordHandler = recordHandler;
+        this.timeoutHandler = (recordHandler instanceof TimeoutHandler) ? (TimeoutHandler) recordHandler : null;
+    }
+
+    @Override
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+        sequenceBarrier.alert();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link RecordProcessor}.
+     * The event passed to it is the read only buffer, positioned at the payload of the failed record.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super ByteBuffer> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            sequenceBarrier.clearAlert();
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processRecords();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else
+        {
+            if (witnessValue == RUNNING)
+            {
+                throw new IllegalStateException("Thread is already running");
+            }
+            else
+            {
+                notifyStart();
+                notifyShutdown();
+            }
+        }
+    }
+
+    private void processRecords()
+    {
+        long nextSequence = sequence.get() + 1L;
+
+        while (true)
+        {
+            try
+            {
+                final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                // the end of batch flag is decided one record ahead, so it lands on the last record delivered
+                // whether the batch ends in padding or in a record not yet fully available
+                long recordSequence = skipPadding(nextSequence, availableSequence);
+                while (isAvailable(recordSequence, availableSequence))
+                {
+                    final long followingSequence = skipPadding(endOfRecord(recordSequence) + 1, availableSequence);
+                    nextSequence = recordSequence;
+                    recordHandler.onRecord(
+                        buffer, recordRingBuffer.payloadOffset(recordSequence), recordRingBuffer.payloadLength(recordSequence),
+                        recordSequence, !isAvailable(followingSequence, availableSequence));
+                    recordSequence = followingSequence;
+                }
+                nextSequence = recordSequence;
+
+                sequence.set(nextSequence - 1);
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout(sequence.get());
+            }
+            catch (final AlertException ex)
+            {
+                if (running.get() != RUNNING)
+                {
+                    break;
+                }
+            }
+            catch (final Throwable ex)
+            {
+                final int recordLength = recordRingBuffer.recordLength(nextSequence);
+                handleEventException(ex, nextSequence, buffer.duplicate().position(recordRingBuffer.payloadOffset(nextSequence)));
+                nextSequence += recordLength / RecordRingBuffer.ALIGNMENT;
+                sequence.set(nextSequence - 1);
+            }
+        }
+    }
+
+    /**
+     * @return the sequence of the first record from the given one that is not padding, or is not yet fully available.
+     */
+    private long skipPadding(final long fromSequence, final long availableSequence)
+    {
+        long recordSequence = fromSequence;
+        while (isAvailable(recordSequence, availableSequence) &&
+            RecordRingBuffer.isPadding(recordRingBuffer.payloadLength(recordSequence)))
+        {
+            recordSequence = endOfRecord(recordSequence) + 1;
+        }
+
+        return recordSequence;
+    }
+
+    /**
+     * The words of a multi producer record become available one by one, so a record is only available once its last is.
+     */
+    private boolean isAvailable(final long recordSequence, final long availableSequence)
+    {
+        return recordSequence <= availableSequence && endOfRecord(recordSequence) <= availableSequence;
+    }
+
+    private long endOfRecord(final long recordSequence)
+    {
+        return recordSequence + recordRingBuffer.recordLength(recordSequence) / RecordRingBuffer.ALIGNMENT - 1;
+    }
+
+    private void notifyTimeout(final long availableSequence)
+    {
+        try
+        {
+            if (timeoutHandler != null)
+            {
+                timeoutHandler.onTimeout(availableSequence);
+            }
+        }
+        catch (Throwable e)
+        {
+            handleEventException(e, availableSequence, null);
+        }
+    }
+
+    private void notifyStart()
+    {
+        if (recordHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) recordHandler).onStart();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnStartException(ex);
+            }
+        }
+    }
+
+    private void notifyShutdown()
+    {
+        if (recordHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) recordHandler).onShutdown();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnShutdownException(ex);
+            }
+        }
+    }
+
+    private void handleEventException(final Throwable ex, final long sequence, final ByteBuffer event)
+    {
+        getExceptionHandler().handleEventException(ex, sequence, event);
+    }
+
+    private ExceptionHandler<? super ByteBuffer> getExceptionHandler()
+    {
+        ExceptionHandler<? super ByteBuffer> handler = exceptionHandler;
+        return handler == null ? ExceptionHandlers.defaultHandler() : handler;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Ring buffer of variable length byte records, held in a direct {@link ByteBuffer}.
+ *
+ * <p>Publishers claim the exact number of payload bytes they need.  Each record is prefixed with a header
+ * holding the record's length and is aligned to {@link RecordRingBuffer#ALIGNMENT} bytes.  A record never
+ * wraps around the end of the buffer: a claim that would is filled with padding records, which consumers
+ * skip, and made again from the start of the buffer.
+ *
+ * <p>Gating is done by a {@link Sequencer} over aligned words, so a record of <code>n</code> words moves
+ * the cursor on by <code>n</code>.  Consumers use a {@link RecordProcessor}, which waits on a
+ * {@link SequenceBarrier} from {@link RecordRingBuffer#newBarrier(Sequence...)} and hands each record
+ * to a {@link RecordHandler} in place.
+ */
+public final class RecordRingBuffer
+{
+    /**
+     * The alignment of records in bytes, and the unit of the underlying sequencer.
+     */
+    public static final int ALIGNMENT = 8;
+
+    /**
+     * The length of the header in front of each record's payload.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    private static final int PAYLOAD_LENGTH_OFFSET = 4;
+    private static final int PADDING = -1;
+
+    private final Sequencer sequencer;
+    private final ByteBuffer buffer;
+    private final int wordMask;
+    private final int maxPayloadLength;
+    private final ThreadLocal<ByteBuffer> perThreadBuffer = new ThreadLocal<>()
+    {
+        @Override
+        protected ByteBuffer initialValue()
+        {
+            return buffer.duplicate();
+        }
+    };
+
+    private RecordRingBuffer(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.wordMask = sequencer.getBufferSize() - 1;
+        this.buffer = ByteBuffer.allocateDirect(sequencer.getBufferSize() * ALIGNMENT).order(ByteOrder.nativeOrder());
+        // no larger than half the buffer, so a claim made again from the start of the buffer can not wrap
+        this.maxPayloadLength = buffer.capacity() / 2 - HEADER_LENGTH;
+    }
+
+    /**
+     * Create a new record ring buffer.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param capacity     of the buffer in bytes, must be a power of 2 and at least 4 * {@link RecordRingBuffer#ALIGNMENT}.
+     * @param waitStrategy used to determine how to wait for new records to become available.
+     * @return a constructed record ring buffer.
+     * @throws IllegalArgumentException if capacity is not a power of 2 or too small.
+     */
+    public static RecordRingBuffer create(final ProducerType producerType, final int capacity, final WaitStrategy waitStrategy)
+    {
+        if (Integer.bitCount(capacity) != 1 || capacity < 4 * ALIGNMENT)
+        {
+            throw new IllegalArgumentException("capacity must be a power of 2 and at least " + 4 * ALIGNMENT);
+        }
+
+        final int words = capacity / ALIGNMENT;
+        switch (producerType)
+        {
+            case SINGLE:
+                return new RecordRingBuffer(new SingleProducerSequencer(words, waitStrategy));
+            case MULTI:
+                return new RecordRingBuffer(new MultiProducerSequencer(words, waitStrategy));
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Claim a record for the given number of payload bytes, waiting for space if necessary.  The payload is
+     * written to {@link RecordRingBuffer#buffer()} starting at {@link RecordRingBuffer#payloadOffset(long)}, after
+     * which the record must be published with {@link RecordRingBuffer#publish(long)}.
+     *
+     * @param length of the payload in bytes.
+     * @return the sequence of the claimed record.
+     * @throws IllegalArgumentException if length is negative or larger than {@link RecordRingBuffer#maxPayloadLength()}.
+     */
+    public long claim(final int length)
+    {
+        final int words = wordsFor(length);
+        while (true)
+        {
+            final long hi = sequencer.next(words);
+            if (tryStartRecord(hi, words, length))
+            {
+                return hi - words + 1;
+            }
+        }
+    }
+
+    /**
+     * Claim a record for the given number of payload bytes if there is space, see {@link RecordRingBuffer#claim(int)}.
+     *
+     * @param length of the payload in bytes.
+     * @return the sequence of the claimed record.
+     * @throws InsufficientCapacityException if there is not enough space for the record.
+     * @throws IllegalArgumentException if length is negative or larger than {@link RecordRingBuffer#maxPayloadLength()}.
+     */
+    public long tryClaim(final int length) throws InsufficientCapacityException
+    {
+        final int words = wordsFor(length);
+        while (true)
+        {
+            final long hi = sequencer.tryNext(words);
+            if (tryStartRecord(hi, words, length))
+            {
+                return hi - words + 1;
+            }
+        }
+    }
+
+    /**
+     * Publish a claimed record, making it available to consumers.
+     *
+     * @param sequence of the record returned by the claim.
+     */
+    public void publish(final long sequence)
+    {
+        final int recordLength = buffer.getInt(offset(sequence));
+        sequencer.publish(sequence, sequence + recordLength / ALIGNMENT - 1);
+    }
+
+    /**
+     * Claim, copy in and publish a record.  If the copy fails the record is published as padding, which consumers
+     * skip, and the exception rethrown.
+     *
+     * @param source byte array holding the payload.
+     * @param offset of the payload in the array.
+     * @param length of the payload in bytes.
+     */
+    public void publish(final byte[] source, final int offset, final int length)
+    {
+        final long sequence = claim(length);
+        try
+        {
+            final ByteBuffer target = perThreadBuffer.get();
+            target.clear().position(payloadOffset(sequence));
+            target.put(source, offset, length);
+        }
+        catch (final Throwable t)
+        {
+            buffer.putInt(offset(sequence) + PAYLOAD_LENGTH_OFFSET, PADDING);
+            publish(sequence);
+            throw t;
+        }
+        publish(sequence);
+    }
+
+    /**
+     * Get the buffer the records are held in.  Publishers write their payload using its absolute put methods.
+     *
+     * @return the ring buffer's memory.
+     */
+    public ByteBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * @param sequence of a record.
+     * @return the offset within {@link RecordRingBuffer#buffer()} of the record's first payload byte.
+     */
+    public int payloadOffset(final long sequence)
+    {
+        return offset(sequence) + HEADER_LENGTH;
+    }
+
+    /**
+     * @return the largest payload that can be claimed, a little under half the capacity.
+     */
+    public int maxPayloadLength()
+    {
+        return maxPayloadLength;
+    }
+
+    /**
+     * @return the capacity of the buffer in bytes.
+     */
+    public int capacity()
+    {
+        return buffer.capacity();
+    }
+
+    /**
+     * Get the current cursor value of the underlying sequencer, in words.
+     *
+     * @return The current cursor value
+     */
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    /**
+     * Add the specified gating sequences to this instance of the record ring buffer.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this record ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by a {@link RecordProcessor} to track which records
+     * are available to be read from the record ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    int recordLength(final long sequence)
+    {
+        return buffer.getInt(offset(sequence));
+    }
+
+    int payloadLength(final long sequence)
+    {
+        return buffer.getInt(offset(sequence) + PAYLOAD_LENGTH_OFFSET);
+    }
+
+    static boolean isPadding(final int payloadLength)
+    {
+        return PADDING == payloadLength;
+    }
+
+    private int wordsFor(final int length)
+    {
+        if (length < 0 || length > maxPayloadLength)
+        {
+            throw new IllegalArgumentException("length must be between 0 and " + maxPayloadLength);
+        }
+
+        return (HEADER_LENGTH + length + ALIGNMENT - 1) / ALIGNMENT;
+    }
+
+    private boolean tryStartRecord(final long hi, final int words, final int length)
+    {
+        final long lo = hi - words + 1;
+        final int index = (int) lo & wordMask;
+        final int tailWords = wordMask + 1 - index;
+        if (words <= tailWords)
+        {
+            writeHeader(index, words, length);
+            return true;
+        }
+
+        // the record would wrap, so pad out both ends of the claim and claim again
+        writeHeader(index, tailWords, PADDING);
+        writeHeader(0, words - tailWords, PADDING);
+        sequencer.publish(lo, hi);
+        return false;
+    }
+
+    private void writeHeader(final int index, final int words, final int payloadLength)
+    {
+        final int offset = index * ALIGNMENT;
+        buffer.putInt(offset, words * ALIGNMENT);
+        buffer.putInt(offset + PAYLOAD_LENGTH_OFFSET, payloadLength);
+    }
+
+    private int offset(final long sequence)
+    {
+        return ((int) sequence & wordMask) * ALIGNMENT;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RecordRingBuffer{" +
+            "capacity=" + buffer.capacity() +
+            ", sequencer=" + sequencer +
+            '}';
+    }
+}
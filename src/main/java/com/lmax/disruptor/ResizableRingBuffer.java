@@ -0,0 +1,473 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer whose capacity can be grown or shrunk, in power of 2 steps, while publishers and
+ * {@link BatchEventProcessor}s keep running.
+ *
+ * <p>The events are held by a multi producer {@link RingBuffer} generation.  A resize seals the current
+ * generation, waits for every slot claimed from it to be published and passed by the gating sequences,
+ * then replaces it with a generation of the new size whose cursor carries on from the same sequence.
+ * Publishers that claim from a sealed generation after the resize took its cursor retry their claim
+ * in the new generation.  Consumers use this class as the {@link DataProvider} and a barrier from
+ * {@link ResizableRingBuffer#newBarrier(Sequence...)}, which follows the current generation.
+ *
+ * <p>A resize can be requested with {@link ResizableRingBuffer#resize(int)} or left to a {@link ResizePolicy},
+ * which is consulted whenever a publisher finds the ring buffer full and by
+ * {@link ResizableRingBuffer#applyResizePolicy()}.  A thread must not resize while holding a claimed but
+ * unpublished sequence, as the resize waits for it to be published.
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class ResizableRingBuffer<E> implements Cursored, EventSequencer<E>
+{
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final EventFactory<E> eventFactory;
+    private final WaitStrategy waitStrategy;
+    private final ProducerWaitStrategy producerWaitStrategy;
+    private final ResizePolicy resizePolicy;
+    private final Sequence cursorSequence = new CursorSequence();
+    private final Object resizeLock = new Object();
+    private Sequence[] gatingSequences = new Sequence[0];
+    private volatile Generation<E> generation;
+
+    private ResizableRingBuffer(
+        final EventFactory<E> eventFactory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final ResizePolicy resizePolicy)
+    {
+        this.eventFactory = eventFactory;
+        this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
+        this.resizePolicy = resizePolicy;
+        this.generation = new Generation<>(
+            RingBuffer.createMultiProducer(eventFactory, bufferSize, waitStrategy, producerWaitStrategy));
+    }
+
+    /**
+     * Create a new resizable ring buffer that is only resized through {@link ResizableRingBuffer#resize(int)}.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory      used to create the events within the ring buffer.
+     * @param bufferSize   initial number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> ResizableRingBuffer<E> create(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        return new ResizableRingBuffer<>(factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy(), null);
+    }
+
+    /**
+     * Create a new resizable ring buffer that is also resized as directed by the given policy.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory      used to create the events within the ring buffer.
+     * @param bufferSize   initial number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param resizePolicy used to decide the buffer size from the ring buffer's occupancy.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> ResizableRingBuffer<E> create(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ResizePolicy resizePolicy)
+    {
+        return new ResizableRingBuffer<>(factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy(), resizePolicy);
+    }
+
+    /**
+     * Change the buffer size.  Blocks until every sequence claimed before the resize has been published
+     * and passed by the gating sequences.
+     *
+     * @param newBufferSize the new number of elements, must be a power of 2.
+     * @return <code>true</code> if the buffer size was changed.
+     * @throws IllegalArgumentException if newBufferSize is less than 1 or not a power of 2
+     */
+    public boolean resize(final int newBufferSize)
+    {
+        synchronized (resizeLock)
+        {
+            final Generation<E> current = generation;
+            if (newBufferSize == current.ring.getBufferSize())
+            {
+                return false;
+            }
+
+            final RingBuffer<E> ring = RingBuffer.createMultiProducer(
+                eventFactory, newBufferSize, waitStrategy, producerWaitStrategy);
+
+            current.sealed = true;
+            final long sealedCursor = current.ring.getCursor();
+            current.sealedCursor = sealedCursor;
+            while (current.ring.getMinimumGatingSequence() < sealedCursor)
+            {
+                Thread.yield();
+            }
+
+            ring.sequencer.claim(sealedCursor);
+            ring.addGatingSequences(gatingSequences);
+            generation = new Generation<>(ring);
+
+            // release publishers waiting for capacity in the sealed generation so they retry in the new one
+            for (final Sequence sequence : gatingSequences)
+            {
+                current.ring.removeGatingSequence(sequence);
+            }
+            producerWaitStrategy.signalAllWhenBlocking();
+            waitStrategy.signalAllWhenBlocking();
+
+            return true;
+        }
+    }
+
+    /**
+     * Consult the {@link ResizePolicy} with the current occupancy and resize if it asks for a different
+     * buffer size.  Called when a publisher finds the ring buffer full, and may be called periodically,
+     * e.g. to shrink the ring buffer again once a burst has been consumed.
+     *
+     * @return <code>true</code> if the buffer size was changed.
+     */
+    public boolean applyResizePolicy()
+    {
+        if (null == resizePolicy)
+        {
+            return false;
+        }
+
+        synchronized (resizeLock)
+        {
+            final RingBuffer<E> ring = generation.ring;
+            final int bufferSize = ring.getBufferSize();
+            final int newBufferSize = resizePolicy.bufferSizeFor(bufferSize, bufferSize - ring.remainingCapacity());
+
+            return newBufferSize != bufferSize && resize(newBufferSize);
+        }
+    }
+
+    @Override
+    public E get(final long sequence)
+    {
+        return generation.ring.get(sequence);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return generation.ring.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return generation.ring.getBufferSize();
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return generation.ring.hasAvailableCapacity(requiredCapacity);
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        return generation.ring.remainingCapacity();
+    }
+
+    @Override
+    public long next()
+    {
+        return next(1);
+    }
+
+    @Override
+    public long next(final int n)
+    {
+        while (true)
+        {
+            final Generation<E> generation = this.generation;
+            if (!generation.sealed)
+            {
+                if (null != resizePolicy && !generation.ring.hasAvailableCapacity(n) && applyResizePolicy())
+                {
+                    continue;
+                }
+
+                final long sequence = generation.ring.next(n);
+                if (isClaimedBeforeSeal(generation, sequence))
+                {
+                    return sequence;
+                }
+            }
+
+            awaitNextGeneration(generation);
+        }
+    }
+
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return tryNext(1);
+    }
+
+    /**
+     * Attempt to claim the next n events, see {@link Sequenced#tryNext(int)}.  If the ring buffer
+     * is being resized this waits for the resize to complete.
+     *
+     * @param n the number of sequences to claim
+     * @return the claimed sequence value
+     * @throws InsufficientCapacityException thrown if there is no space available in the ring buffer.
+     */
+    @Override
+    public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        while (true)
+        {
+            final Generation<E> generation = this.generation;
+            if (!generation.sealed)
+            {
+                if (null != resizePolicy && !generation.ring.hasAvailableCapacity(n) && applyResizePolicy())
+                {
+                    continue;
+                }
+
+                final long sequence = generation.ring.tryNext(n);
+                if (isClaimedBeforeSeal(generation, sequence))
+                {
+                    return sequence;
+                }
+            }
+
+            awaitNextGeneration(generation);
+        }
+    }
+
+    @Override
+    public void publish(final long sequence)
+    {
+        generation.ring.publish(sequence);
+    }
+
+    @Override
+    public void publish(final long lo, final long hi)
+    {
+        generation.ring.publish(lo, hi);
+    }
+
+    /**
+     * Add the specified gating sequences to this instance, they are carried over to each new generation.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        synchronized (resizeLock)
+        {
+            generation.ring.addGatingSequences(gatingSequences);
+
+            final Sequence[] updatedSequences = Arrays.copyOf(
+                this.gatingSequences, this.gatingSequences.length + gatingSequences.length);
+            System.arraycopy(gatingSequences, 0, updatedSequences, this.gatingSequences.length, gatingSequences.length);
+            this.gatingSequences = updatedSequences;
+        }
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        synchronized (resizeLock)
+        {
+            gatingSequences = Arrays.stream(gatingSequences).filter(s -> s != sequence).toArray(Sequence[]::new);
+
+            return generation.ring.removeGatingSequence(sequence);
+        }
+    }
+
+    /**
+     * Create a new barrier that follows the ring buffer across resizes, to be used by an EventProcessor
+     * together with this ring buffer as its {@link DataProvider}.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return new ResizableSequenceBarrier(sequencesToTrack);
+    }
+
+    private static boolean isClaimedBeforeSeal(final Generation<?> generation, final long sequence)
+    {
+        if (!generation.sealed)
+        {
+            return true;
+        }
+
+        long sealedCursor;
+        while (UNSET == (sealedCursor = generation.sealedCursor))
+        {
+            Thread.onSpinWait();
+        }
+
+        return sequence <= sealedCursor;
+    }
+
+    private void awaitNextGeneration(final Generation<E> sealedGeneration)
+    {
+        while (generation == sealedGeneration)
+        {
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ResizableRingBuffer{" +
+            "generation=" + generation.ring +
+            ", resizePolicy=" + resizePolicy +
+            '}';
+    }
+
+    private static final class Generation<E>
+    {
+        private final RingBuffer<E> ring;
+        private volatile boolean sealed = false;
+        private volatile long sealedCursor = UNSET;
+
+        Generation(final RingBuffer<E> ring)
+        {
+            this.ring = ring;
+        }
+    }
+
+    /**
+     * Read only view of the cursor of the current generation, so a {@link WaitStrategy} waiting on
+     * it sees the cursor of the generation that replaces it.
+     */
+    private final class CursorSequence extends ReadOnlySequence
+    {
+        @Override
+        public long get()
+        {
+            return generation.ring.getCursor();
+        }
+    }
+
+    /**
+     * {@link SequenceBarrier} that waits on the cursor of whichever generation is current.
+     */
+    private final class ResizableSequenceBarrier implements SequenceBarrier
+    {
+        private final Sequence dependentSequence;
+        private final boolean signalProducerWaitStrategy;
+        private volatile boolean alerted = false;
+
+        ResizableSequenceBarrier(final Sequence[] dependentSequences)
+        {
+            this.signalProducerWaitStrategy = producerWaitStrategy.requiresSignal();
+            this.dependentSequence = 0 == dependentSequences.length ?
+                cursorSequence : new FixedSequenceGroup(dependentSequences);
+        }
+
+        @Override
+        public long waitFor(final long sequence)
+            throws AlertException, InterruptedException, TimeoutException
+        {
+            checkAlert();
+            if (signalProducerWaitStrategy)
+            {
+                producerWaitStrategy.signalAllWhenBlocking();
+            }
+
+            final long availableSequence = waitStrategy.waitFor(sequence, cursorSequence, dependentSequence, this);
+            if (availableSequence < sequence)
+            {
+                return availableSequence;
+            }
+
+            return generation.ring.sequencer.getHighestPublishedSequence(sequence, availableSequence);
+        }
+
+        @Override
+        public long getCursor()
+        {
+            return dependentSequence.get();
+        }
+
+        @Override
+        public boolean isCancelled(final long sequence)
+        {
+            return generation.ring.sequencer.isCancelled(sequence);
+        }
+
+        @Override
+        public boolean hasCancelled(final long lo, final long hi)
+        {
+            return generation.ring.sequencer.hasCancelled(lo, hi);
+        }
+
+        @Override
+        public void checkOverrun(final long sequence)
+        {
+        }
+
+        @Override
+        public boolean isAlerted()
+        {
+            return alerted;
+        }
+
+        @Override
+        public void alert()
+        {
+            alerted = true;
+            waitStrategy.signalAllWhenBlocking();
+        }
+
+        @Override
+        public void clearAlert()
+        {
+            alerted = false;
+        }
+
+        @Override
+        public void checkAlert() throws AlertException
+        {
+            if (alerted)
+            {
+                throw AlertException.INSTANCE;
+            }
+        }
+    }
+}
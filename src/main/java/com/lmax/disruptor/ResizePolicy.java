@@ -0,0 +1,33 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+
+/**
+ * Decides when a {@link ResizableRingBuffer} should change its capacity, based on how many published
+ * events are still waiting to be consumed.
+ */
+public interface ResizePolicy
+{
+    /**
+     * Get the buffer size the ring buffer should have for the given occupancy.
+     *
+     * @param bufferSize the current buffer size.
+     * @param occupancy  the number of slots claimed but not yet passed by every gating sequence.
+     * @return the new buffer size, which must be a power of 2, or <code>bufferSize</code> to leave it unchanged.
+     */
+    int bufferSizeFor(int bufferSize, long occupancy);
+}
@@ -18,6 +18,8 @@ package com.lmax.disruptor;
 
 import com.lmax.disruptor.dsl.ProducerType;
 
+import java.util.concurrent.CompletableFuture;
+
 abstract class RingBufferPad
 {
     protected byte
@@ -140,6 +142,29 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return new RingBuffer<>(factory, sequencer);
     }
 
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategies.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory              used to create the events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see MultiProducerSequencer
+     */
+    public static <E> RingBuffer<E> createMultiProducer(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        MultiProducerSequencer sequencer = new MultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+
+        return new RingBuffer<>(factory, sequencer);
+    }
+
     /**
      * Create a new multiple producer RingBuffer using the default wait strategy  {@link BlockingWaitStrategy}.
      *
@@ -176,6 +201,52 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return new RingBuffer<>(factory, sequencer);
     }
 
+    /**
+     * Create a new single producer RingBuffer with the specified wait strategies.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory              used to create the events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how the publisher waits for capacity when the ring buffer is full.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see SingleProducerSequencer
+     */
+    public static <E> RingBuffer<E> createSingleProducer(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+
+        return new RingBuffer<>(factory, sequencer);
+    }
+
+    /**
+     * Create a new single producer RingBuffer whose publisher never waits for consumers, overwriting events they
+     * have not processed instead.  A lapped {@link BatchEventProcessor} skips ahead and reports the lost events to
+     * an {@link OverrunHandler}.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory      used to create the events within the ring buffer.
+     * @param bufferSize   number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     * @see SingleProducerSequencer#SingleProducerSequencer(int, WaitStrategy, boolean)
+     */
+    public static <E> RingBuffer<E> createSingleProducerOverwriting(
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, true);
+
+        return new RingBuffer<>(factory, sequencer);
+    }
+
     /**
      * Create a new single producer RingBuffer using the default wait strategy  {@link BlockingWaitStrategy}.
      *
@@ -221,6 +292,36 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         }
     }
 
+    /**
+     * Create a new Ring Buffer with the specified producer type (SINGLE or MULTI) and wait strategies.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param producerType         producer type to use {@link ProducerType}.
+     * @param factory              used to create events within the ring buffer.
+     * @param bufferSize           number of elements to create within the ring buffer.
+     * @param waitStrategy         used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> create(
+        final ProducerType producerType,
+        final EventFactory<E> factory,
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return createSingleProducer(factory, bufferSize, waitStrategy, producerWaitStrategy);
+            case MULTI:
+                return createMultiProducer(factory, bufferSize, waitStrategy, producerWaitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
     /**
      * <p>Get the event for a given sequence in the RingBuffer.</p>
      *
@@ -320,6 +421,103 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return sequencer.tryNext(n);
     }
 
+    /**
+     * The same functionality as {@link RingBuffer#tryNext()}, but returns -1 rather than throwing
+     * an {@link InsufficientCapacityException} if the ring buffer is full.  Prefer this on hot paths
+     * where a full ring buffer is expected, e.g. when shedding load.
+     *
+     * @return The next sequence to publish to, or -1 if the necessary space in the ring buffer is not available
+     * @see Sequencer#tryNextOrNegative()
+     */
+    public long tryNextOrNegative()
+    {
+        return sequencer.tryNextOrNegative();
+    }
+
+    /**
+     * The same functionality as {@link RingBuffer#tryNextOrNegative()}, but allows the caller to attempt
+     * to claim the next n sequences.
+     *
+     * @param n number of slots to claim
+     * @return sequence number of the highest slot claimed, or -1 if the necessary space in the ring buffer is not available
+     * @see Sequencer#tryNextOrNegative(int)
+     */
+    public long tryNextOrNegative(final int n)
+    {
+        return sequencer.tryNextOrNegative(n);
+    }
+
+    /**
+     * <p>Claim the next sequence for the ring buffer without blocking.  If the ring buffer is full the
+     * returned future is completed by the consumer that frees the slot, rather than by polling.  Callers
+     * must publish the sequence once the future completes.  E.g.</p>
+     * <pre>
+     * ringBuffer.claimAsync().thenAccept(sequence -&gt; {
+     *     try {
+     *         Event e = ringBuffer.get(sequence);
+     *         // Do some work with the event.
+     *     } finally {
+     *         ringBuffer.publish(sequence);
+     *     }
+     * });
+     * </pre>
+     *
+     * @return future completed with the claimed sequence
+     * @see Sequencer#claimAsync(int)
+     */
+    public CompletableFuture<Long> claimAsync()
+    {
+        return sequencer.claimAsync(1);
+    }
+
+    /**
+     * The same functionality as {@link RingBuffer#claimAsync()}, but allows the caller to claim
+     * the next n sequences.
+     *
+     * @param n number of slots to claim
+     * @return future completed with the sequence number of the highest slot claimed
+     * @see Sequencer#claimAsync(int)
+     */
+    public CompletableFuture<Long> claimAsync(final int n)
+    {
+        return sequencer.claimAsync(n);
+    }
+
+    /**
+     * Publish an event once capacity is available without blocking the caller.  The translator is run
+     * by whichever thread completes the claim, which may be a consumer thread.
+     *
+     * @param translator The user specified translation for the event
+     * @return future completed with the published sequence, or exceptionally if the translator failed
+     * @see RingBuffer#claimAsync()
+     */
+    public CompletableFuture<Long> publishEventAsync(final EventTranslator<E> translator)
+    {
+        return sequencer.claimAsync(1).thenApply(sequence ->
+        {
+            translateAndPublish(translator, sequence);
+            return sequence;
+        });
+    }
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @param <A> Class of the user supplied argument
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @return future completed with the published sequence, or exceptionally if the translator failed
+     * @see RingBuffer#publishEventAsync(EventTranslator)
+     */
+    public <A> CompletableFuture<Long> publishEventAsync(final EventTranslatorOneArg<E, A> translator, final A arg0)
+    {
+        return sequencer.claimAsync(1).thenApply(sequence ->
+        {
+            translateAndPublish(translator, sequence, arg0);
+            return sequence;
+        });
+    }
+
     /**
      * Resets the cursor to a specific value.  This can be applied at any time, but it is worth noting
      * that it can cause a data race and should only be used in controlled circumstances.  E.g. during
@@ -423,6 +621,20 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return sequencer.newBarrier(sequencesToTrack);
     }
 
+    /**
+     * Create a new SequenceBarrier for an EventProcessor that is not added as a gating sequence, so publishers
+     * never wait for it and may lap it.  A {@link BatchEventProcessor} using it skips the events it has lost and
+     * reports them to an {@link OverrunHandler}.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences and detect being lapped.
+     * @see Sequencer#newNonGatingBarrier(Sequence...)
+     */
+    public SequenceBarrier newNonGatingBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newNonGatingBarrier(sequencesToTrack);
+    }
+
     /**
      * Creates an event poller for this ring buffer gated on the supplied sequences.
      *
@@ -496,16 +708,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     @Override
     public boolean tryPublishEvent(final EventTranslator<E> translator)
     {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
         {
             return false;
         }
+
+        translateAndPublish(translator, sequence);
+        return true;
     }
 
     /**
@@ -526,16 +736,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     @Override
     public <A> boolean tryPublishEvent(final EventTranslatorOneArg<E, A> translator, final A arg0)
     {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, arg0);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
         {
             return false;
         }
+
+        translateAndPublish(translator, sequence, arg0);
+        return true;
     }
 
     /**
@@ -556,16 +764,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     @Override
     public <A, B> boolean tryPublishEvent(final EventTranslatorTwoArg<E, A, B> translator, final A arg0, final B arg1)
     {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, arg0, arg1);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
         {
             return false;
         }
+
+        translateAndPublish(translator, sequence, arg0, arg1);
+        return true;
     }
 
     /**
@@ -587,16 +793,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     @Override
     public <A, B, C> boolean tryPublishEvent(final EventTranslatorThreeArg<E, A, B, C> translator, final A arg0, final B arg1, final C arg2)
     {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, arg0, arg1, arg2);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
         {
             return false;
         }
+
+        translateAndPublish(translator, sequence, arg0, arg1, arg2);
+        return true;
     }
 
     /**
@@ -615,16 +819,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     @Override
     public boolean tryPublishEvent(final EventTranslatorVararg<E> translator, final Object... args)
     {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, args);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
         {
             return false;
         }
+
+        translateAndPublish(translator, sequence, args);
+        return true;
     }
 
 
@@ -664,16 +866,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     public boolean tryPublishEvents(final EventTranslator<E>[] translators, final int batchStartsAt, final int batchSize)
     {
         checkBounds(translators, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translators, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long finalSequence = sequencer.tryNextOrNegative(batchSize);
+        if (finalSequence < 0)
         {
             return false;
         }
+
+        translateAndPublishBatch(translators, batchStartsAt, batchSize, finalSequence);
+        return true;
     }
 
     /**
@@ -717,16 +917,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
             final EventTranslatorOneArg<E, A> translator, final int batchStartsAt, final int batchSize, final A[] arg0)
     {
         checkBounds(arg0, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long finalSequence = sequencer.tryNextOrNegative(batchSize);
+        if (finalSequence < 0)
         {
             return false;
         }
+
+        translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+        return true;
     }
 
     /**
@@ -771,16 +969,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final EventTranslatorTwoArg<E, A, B> translator, final int batchStartsAt, final int batchSize, final A[] arg0, final B[] arg1)
     {
         checkBounds(arg0, arg1, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long finalSequence = sequencer.tryNextOrNegative(batchSize);
+        if (finalSequence < 0)
         {
             return false;
         }
+
+        translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+        return true;
     }
 
     /**
@@ -826,16 +1022,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final EventTranslatorThreeArg<E, A, B, C> translator, final int batchStartsAt, final int batchSize, final A[] arg0, final B[] arg1, final C[] arg2)
     {
         checkBounds(arg0, arg1, arg2, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, arg0, arg1, arg2, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long finalSequence = sequencer.tryNextOrNegative(batchSize);
+        if (finalSequence < 0)
         {
             return false;
         }
+
+        translateAndPublishBatch(translator, arg0, arg1, arg2, batchStartsAt, batchSize, finalSequence);
+        return true;
     }
 
     /**
@@ -875,16 +1069,14 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final EventTranslatorVararg<E> translator, final int batchStartsAt, final int batchSize, final Object[]... args)
     {
         checkBounds(args, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, batchStartsAt, batchSize, finalSequence, args);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
+        final long finalSequence = sequencer.tryNextOrNegative(batchSize);
+        if (finalSequence < 0)
         {
             return false;
         }
+
+        translateAndPublishBatch(translator, batchStartsAt, batchSize, finalSequence, args);
+        return true;
     }
 
     /**
@@ -913,6 +1105,43 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         sequencer.publish(lo, hi);
     }
 
+    /**
+     * Publish the specified sequence as void, e.g. when its event could not be filled.  Event processors
+     * and pollers move past it without passing its event to their handler.  The publishEvent and
+     * tryPublishEvent methods cancel rather than publish a slot whose translator throws.
+     *
+     * @param sequence the sequence to cancel.
+     * @see Sequencer#cancel(long)
+     */
+    public void cancel(final long sequence)
+    {
+        sequencer.cancel(sequence);
+    }
+
+    /**
+     * Cancel the specified sequences, see {@link RingBuffer#cancel(long)}.
+     *
+     * @param lo the lowest sequence number to be cancelled
+     * @param hi the highest sequence number to be cancelled
+     * @see Sequencer#cancel(long, long)
+     */
+    public void cancel(final long lo, final long hi)
+    {
+        sequencer.cancel(lo, hi);
+    }
+
+    /**
+     * Determine if a published sequence was cancelled.
+     *
+     * @param sequence the sequence to check
+     * @return true if the sequence was cancelled rather than published
+     * @see Sequencer#isCancelled(long)
+     */
+    public boolean isCancelled(final long sequence)
+    {
+        return sequencer.isCancelled(sequence);
+    }
+
     /**
      * Get the remaining capacity for this ringBuffer.
      *
@@ -986,10 +1215,12 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         {
             translator.translateTo(get(sequence), sequence);
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(sequence);
+            sequencer.cancel(sequence);
+            throw t;
         }
+        sequencer.publish(sequence);
     }
 
     private <A> void translateAndPublish(final EventTranslatorOneArg<E, A> translator, final long sequence, final A arg0)
@@ -998,10 +1229,12 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         {
             translator.translateTo(get(sequence), sequence, arg0);
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(sequence);
+            sequencer.cancel(sequence);
+            throw t;
         }
+        sequencer.publish(sequence);
     }
 
     private <A, B> void translateAndPublish(final EventTranslatorTwoArg<E, A, B> translator, final long sequence, final A arg0, final B arg1)
@@ -1010,10 +1243,12 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         {
             translator.translateTo(get(sequence), sequence, arg0, arg1);
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(sequence);
+            sequencer.cancel(sequence);
+            throw t;
         }
+        sequencer.publish(sequence);
     }
 
     private <A, B, C> void translateAndPublish(
@@ -1025,11 +1260,13 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
             //获取当前可写入位置的ValHolder，然后设置值 ，再发布ready
             translator.translateTo(get(sequence), sequence, arg0, arg1, arg2);
         }
-        finally
+        catch (final Throwable t)
         {
-            //发布sequence的位置已经ready,然后可以让consumer消费了
-            sequencer.publish(sequence);
+            sequencer.cancel(sequence);
+            throw t;
         }
+        //发布sequence的位置已经ready,然后可以让consumer消费了
+        sequencer.publish(sequence);
     }
 
     private void translateAndPublish(final EventTranslatorVararg<E> translator, final long sequence, final Object... args)
@@ -1038,10 +1275,12 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         {
             translator.translateTo(get(sequence), sequence, args);
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(sequence);
+            sequencer.cancel(sequence);
+            throw t;
         }
+        sequencer.publish(sequence);
     }
 
     private void translateAndPublishBatch(
@@ -1049,20 +1288,23 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final int batchSize, final long finalSequence)
     {
         final long initialSequence = finalSequence - (batchSize - 1);
+        long sequence = initialSequence;
         try
         {
-            long sequence = initialSequence;
             final int batchEndsAt = batchStartsAt + batchSize;
             for (int i = batchStartsAt; i < batchEndsAt; i++)
             {
                 final EventTranslator<E> translator = translators[i];
-                translator.translateTo(get(sequence), sequence++);
+                translator.translateTo(get(sequence), sequence);
+                sequence++;
             }
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(initialSequence, finalSequence);
+            publishTranslatedAndCancelRest(initialSequence, sequence, finalSequence);
+            throw t;
         }
+        sequencer.publish(initialSequence, finalSequence);
     }
 
     private <A> void translateAndPublishBatch(
@@ -1070,19 +1312,22 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final int batchStartsAt, final int batchSize, final long finalSequence)
     {
         final long initialSequence = finalSequence - (batchSize - 1);
+        long sequence = initialSequence;
         try
         {
-            long sequence = initialSequence;
             final int batchEndsAt = batchStartsAt + batchSize;
             for (int i = batchStartsAt; i < batchEndsAt; i++)
             {
-                translator.translateTo(get(sequence), sequence++, arg0[i]);
+                translator.translateTo(get(sequence), sequence, arg0[i]);
+                sequence++;
             }
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(initialSequence, finalSequence);
+            publishTranslatedAndCancelRest(initialSequence, sequence, finalSequence);
+            throw t;
         }
+        sequencer.publish(initialSequence, finalSequence);
     }
 
     private <A, B> void translateAndPublishBatch(
@@ -1091,19 +1336,22 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final long finalSequence)
     {
         final long initialSequence = finalSequence - (batchSize - 1);
+        long sequence = initialSequence;
         try
         {
-            long sequence = initialSequence;
             final int batchEndsAt = batchStartsAt + batchSize;
             for (int i = batchStartsAt; i < batchEndsAt; i++)
             {
-                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i]);
+                translator.translateTo(get(sequence), sequence, arg0[i], arg1[i]);
+                sequence++;
             }
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(initialSequence, finalSequence);
+            publishTranslatedAndCancelRest(initialSequence, sequence, finalSequence);
+            throw t;
         }
+        sequencer.publish(initialSequence, finalSequence);
     }
 
     private <A, B, C> void translateAndPublishBatch(
@@ -1112,19 +1360,22 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final int batchSize, final long finalSequence)
     {
         final long initialSequence = finalSequence - (batchSize - 1);
+        long sequence = initialSequence;
         try
         {
-            long sequence = initialSequence;
             final int batchEndsAt = batchStartsAt + batchSize;
             for (int i = batchStartsAt; i < batchEndsAt; i++)
             {
-                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i], arg2[i]);
+                translator.translateTo(get(sequence), sequence, arg0[i], arg1[i], arg2[i]);
+                sequence++;
             }
         }
-        finally
+        catch (final Throwable t)
         {
-            sequencer.publish(initialSequence, finalSequence);
+            publishTranslatedAndCancelRest(initialSequence, sequence, finalSequence);
+            throw t;
         }
+        sequencer.publish(initialSequence, finalSequence);
     }
 
     private void translateAndPublishBatch(
@@ -1132,19 +1383,31 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         final int batchSize, final long finalSequence, final Object[][] args)
     {
         final long initialSequence = finalSequence - (batchSize - 1);
+        long sequence = initialSequence;
         try
         {
-            long sequence = initialSequence;
             final int batchEndsAt = batchStartsAt + batchSize;
             for (int i = batchStartsAt; i < batchEndsAt; i++)
             {
-                translator.translateTo(get(sequence), sequence++, args[i]);
+                translator.translateTo(get(sequence), sequence, args[i]);
+                sequence++;
             }
         }
-        finally
+        catch (final Throwable t)
+        {
+            publishTranslatedAndCancelRest(initialSequence, sequence, finalSequence);
+            throw t;
+        }
+        sequencer.publish(initialSequence, finalSequence);
+    }
+
+    private void publishTranslatedAndCancelRest(final long initialSequence, final long failedSequence, final long finalSequence)
+    {
+        if (failedSequence > initialSequence)
         {
-            sequencer.publish(initialSequence, finalSequence);
+            sequencer.publish(initialSequence, failedSequence - 1);
         }
+        sequencer.cancel(failedSequence, finalSequence);
     }
 
     @Override
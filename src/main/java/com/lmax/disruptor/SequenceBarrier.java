@@ -40,6 +40,63 @@ public interface SequenceBarrier
      */
     long getCursor();
 
+    /**
+     * Confirms if an available sequence was cancelled by its publisher, in which case its event should be skipped.
+     *
+     * @param sequence of the buffer to check, must be no greater than the value last returned by {@link SequenceBarrier#waitFor(long)}
+     * @return true if the sequence was cancelled
+     * @see Sequencer#cancel(long)
+     */
+    default boolean isCancelled(final long sequence)
+    {
+        return false;
+    }
+
+    /**
+     * Confirms if any available sequence in a range was cancelled, so consumers only check each sequence with
+     * {@link SequenceBarrier#isCancelled(long)} for batches that need it.
+     *
+     * @param lo first sequence to check
+     * @param hi last sequence to check, must be no greater than the value last returned by {@link SequenceBarrier#waitFor(long)}
+     * @return true if any sequence in the range may have been cancelled
+     */
+    default boolean hasCancelled(final long lo, final long hi)
+    {
+        for (long sequence = lo; sequence <= hi; sequence++)
+        {
+            if (isCancelled(sequence))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Confirms if the publisher may lap this barrier's consumer rather than wait for it.  This does not change over
+     * the life of the barrier, so consumers can decide once whether each event they read needs
+     * {@link SequenceBarrier#checkOverrun(long)}.
+     *
+     * @return true if events read through this barrier may be overwritten while they are being read
+     */
+    default boolean canBeLapped()
+    {
+        return false;
+    }
+
+    /**
+     * Check the event for a sequence the caller has just read was not overwritten while it was being read, and throw
+     * an {@link OverrunException} if it was.  Only barriers for which {@link SequenceBarrier#canBeLapped()} is true
+     * can throw.
+     *
+     * @param sequence of the event that was read, must be no greater than the value last returned by {@link SequenceBarrier#waitFor(long)}
+     * @throws OverrunException if the event may have been overwritten, in which case what was read must be discarded.
+     */
+    default void checkOverrun(final long sequence)
+    {
+    }
+
     /**
      * The current alert status for the barrier.
      *
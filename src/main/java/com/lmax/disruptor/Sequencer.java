@@ -15,6 +15,8 @@
  */
 package com.lmax.disruptor;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Coordinates claiming sequences for access to a data structure while tracking dependent {@link Sequence}s
  *
@@ -43,6 +45,114 @@ public interface Sequencer extends Cursored, Sequenced
      */
     boolean isAvailable(long sequence);
 
+    /**
+     * The same functionality as {@link Sequenced#tryNext()}, but reports a full ring buffer through the
+     * return value rather than by throwing, keeping the exceptional path off the publisher's hot path.
+     *
+     * <p>The default implementation calls {@link Sequenced#tryNext(int)}, implementations should override it to
+     * avoid the exception.
+     *
+     * @return the claimed sequence value, or -1 if there is no space available in the ring buffer.
+     */
+    default long tryNextOrNegative()
+    {
+        return tryNextOrNegative(1);
+    }
+
+    /**
+     * The same functionality as {@link Sequenced#tryNext(int)}, but reports a full ring buffer through the
+     * return value rather than by throwing.
+     *
+     * @param n the number of sequences to claim
+     * @return the highest claimed sequence value, or -1 if there is no space available in the ring buffer.
+     */
+    default long tryNextOrNegative(final int n)
+    {
+        try
+        {
+            return tryNext(n);
+        }
+        catch (final InsufficientCapacityException e)
+        {
+            return -1L;
+        }
+    }
+
+    /**
+     * Publish a claimed sequence as void rather than as an event.  Event processors and pollers move past
+     * a cancelled sequence without passing its event to their handler, so it can be used in place of
+     * {@link Sequenced#publish(long)} when the event could not be filled.
+     *
+     * <p>The default implementation publishes the sequence, for sequencers that do not support cancellation.
+     *
+     * @param sequence the sequence to cancel.
+     */
+    default void cancel(final long sequence)
+    {
+        publish(sequence);
+    }
+
+    /**
+     * Batch cancel sequences, see {@link Sequencer#cancel(long)}.
+     *
+     * @param lo first sequence number to cancel
+     * @param hi last sequence number to cancel
+     */
+    default void cancel(final long lo, final long hi)
+    {
+        publish(lo, hi);
+    }
+
+    /**
+     * Confirms if a published sequence was cancelled, only valid once the sequence has been published and
+     * until the slot has been claimed again.
+     *
+     * @param sequence of the buffer to check
+     * @return true if the sequence was published through {@link Sequencer#cancel(long)}
+     */
+    default boolean isCancelled(final long sequence)
+    {
+        return false;
+    }
+
+    /**
+     * Confirms if any published sequence in a range was cancelled, allowing consumers to check once per batch.
+     *
+     * @param lo first sequence to check
+     * @param hi last sequence to check
+     * @return true if {@link Sequencer#isCancelled(long)} may be true for any sequence in the range
+     */
+    default boolean hasCancelled(final long lo, final long hi)
+    {
+        for (long sequence = lo; sequence <= hi; sequence++)
+        {
+            if (isCancelled(sequence))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Claim the next n sequences without blocking the caller.  If the capacity is not available the
+     * returned future is completed once consumers have made enough progress, on the consumer thread
+     * that freed the capacity.  Waiting claims are completed in the order they were made.
+     *
+     * <p>With a single producer the future takes the place of the producer thread, so no other claim may
+     * be made on this sequencer until it has completed.</p>
+     *
+     * @param n number of slots to claim
+     * @return future completed with the highest sequence claimed
+     * @throws IllegalArgumentException if n is less than 1 or greater than the buffer size
+     * @throws UnsupportedOperationException if the sequencer does not support async claims, the default
+     */
+    default CompletableFuture<Long> claimAsync(final int n)
+    {
+        throw new UnsupportedOperationException("claimAsync is not supported by " + getClass().getName());
+    }
+
     /**
      * Add the specified gating sequences to this instance of the Disruptor.  They will
      * safely and atomically added to the list of gating sequences.
@@ -69,6 +179,24 @@ public interface Sequencer extends Cursored, Sequenced
      */
     SequenceBarrier newBarrier(Sequence... sequencesToTrack);
 
+    /**
+     * Create a new SequenceBarrier for an EventProcessor whose sequence is not added as a gating sequence, so may be
+     * lapped by publishers.  The barrier throws an {@link OverrunException} from {@link SequenceBarrier#waitFor(long)}
+     * once the events it is waiting for have been overwritten, and from {@link SequenceBarrier#checkOverrun(long)}
+     * if an event was overwritten while being read.
+     *
+     * <p>Should be created before publishing starts, as single producer sequencers only track claims from then on.
+     *
+     * @param sequencesToTrack All of the sequences that the newly constructed barrier will wait on.
+     * @return A sequence barrier that will track the specified sequences and detect being lapped.
+     * @throws UnsupportedOperationException if the sequencer does not support non-gating barriers, the default
+     * @see SequenceBarrier
+     */
+    default SequenceBarrier newNonGatingBarrier(final Sequence... sequencesToTrack)
+    {
+        throw new UnsupportedOperationException("newNonGatingBarrier is not supported by " + getClass().getName());
+    }
+
     /**
      * Get the minimum sequence value from all of the gating sequences
      * added to this ringBuffer.
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.Util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A set of single producer {@link RingBuffer} lanes presented to consumers as one merged ring.
+ *
+ * <p>Each publishing thread (or stripe of threads that coordinate externally) is given its own lane from
+ * {@link ShardedRingBuffer#getLane(int)}, so claiming a slot never contends on a shared cursor.  Consumers use
+ * this class as the {@link DataProvider} and a barrier from {@link ShardedRingBuffer#newBarrier(Sequence...)},
+ * which allows a standard {@link BatchEventProcessor} to be used unchanged.
+ *
+ * <p>Published lane events are assigned merged sequences lazily by whichever consumer thread finds the merged
+ * cursor behind the lanes.  Events from the same lane are delivered in the order they were published, there
+ * is no ordering between lanes.  Lane slots are released back to their publisher once all gating sequences
+ * added via {@link ShardedRingBuffer#addGatingSequences(Sequence...)} have passed them.
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class ShardedRingBuffer<E> implements Cursored, DataProvider<E>
+{
+    private final RingBuffer<E>[] lanes;
+    private final AbstractSequencer[] laneSequencers;
+    private final Sequence[] laneGatingSequences;
+    private final WaitStrategy waitStrategy;
+    private final SequenceGroup gatingSequences = new SequenceGroup();
+    private final Sequence mergedCursor = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final Sequence publishedCursor = new PublishedSequence();
+    private final AtomicBoolean merging = new AtomicBoolean(false);
+
+    // merged sequence -> (lane, lane sequence), only written while holding the merging flag
+    private final int indexMask;
+    private final int[] mergedLanes;
+    private final long[] mergedLaneSequences;
+    private final long[] laneNextSequences;
+    private final long[] laneReleasedSequences;
+    private long releasedSequence = Sequencer.INITIAL_CURSOR_VALUE;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ShardedRingBuffer(
+        final EventFactory<E> eventFactory,
+        final int laneCount,
+        final int laneBufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        if (laneCount < 1)
+        {
+            throw new IllegalArgumentException("laneCount must not be less than 1");
+        }
+
+        this.waitStrategy = waitStrategy;
+        this.lanes = new RingBuffer[laneCount];
+        this.laneSequencers = new AbstractSequencer[laneCount];
+        this.laneGatingSequences = new Sequence[laneCount];
+        this.laneNextSequences = new long[laneCount];
+        this.laneReleasedSequences = new long[laneCount];
+
+        for (int i = 0; i < laneCount; i++)
+        {
+            lanes[i] = RingBuffer.createSingleProducer(eventFactory, laneBufferSize, waitStrategy);
+            laneSequencers[i] = (AbstractSequencer) lanes[i].sequencer;
+            laneGatingSequences[i] = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+            lanes[i].addGatingSequences(laneGatingSequences[i]);
+            laneNextSequences[i] = Sequencer.INITIAL_CURSOR_VALUE + 1;
+            laneReleasedSequences[i] = Sequencer.INITIAL_CURSOR_VALUE;
+        }
+
+        // Every unreleased merged sequence occupies an unreleased lane slot, so this can never wrap onto a live entry
+        final int indexSize = Util.ceilingNextPowerOfTwo(laneCount) * laneBufferSize;
+        this.indexMask = indexSize - 1;
+        this.mergedLanes = new int[indexSize];
+        this.mergedLaneSequences = new long[indexSize];
+    }
+
+    /**
+     * Create a new sharded ring buffer with a single producer lane per publisher.
+     *
+     * @param <E> Class of the event stored in the ring buffer.
+     * @param factory        used to create the events within each lane.
+     * @param laneCount      number of lanes, typically one per publishing thread.
+     * @param laneBufferSize number of elements to create within each lane.
+     * @param waitStrategy   used to determine how to wait for new elements to become available, shared by all lanes.
+     * @return a constructed sharded ring buffer.
+     * @throws IllegalArgumentException if laneBufferSize is less than 1 or not a power of 2
+     */
+    public static <E> ShardedRingBuffer<E> create(
+        final EventFactory<E> factory,
+        final int laneCount,
+        final int laneBufferSize,
+        final WaitStrategy waitStrategy)
+    {
+        return new ShardedRingBuffer<>(factory, laneCount, laneBufferSize, waitStrategy);
+    }
+
+    /**
+     * Get the lane to publish to.  Each lane is a single producer ring buffer, so must only be
+     * published to by one thread at a time.
+     *
+     * @param lane index of the lane, from 0 to {@link ShardedRingBuffer#getLaneCount()} - 1.
+     * @return the lane's ring buffer.
+     */
+    public RingBuffer<E> getLane(final int lane)
+    {
+        return lanes[lane];
+    }
+
+    /**
+     * @return the number of lanes.
+     */
+    public int getLaneCount()
+    {
+        return lanes.length;
+    }
+
+    /**
+     * Get the event for a given merged sequence.  Only valid for sequences returned by a barrier
+     * from {@link ShardedRingBuffer#newBarrier(Sequence...)}.
+     *
+     * @param sequence merged sequence of the event
+     * @return the event for the given sequence
+     */
+    @Override
+    public E get(final long sequence)
+    {
+        final int index = (int) sequence & indexMask;
+        return lanes[mergedLanes[index]].get(mergedLaneSequences[index]);
+    }
+
+    /**
+     * Get the highest merged sequence, events up to and including it can be read.
+     *
+     * @return the merged cursor.
+     */
+    @Override
+    public long getCursor()
+    {
+        return mergedCursor.get();
+    }
+
+    /**
+     * Add the specified gating sequences, lane slots are only released to publishers once these have passed them.
+     *
+     * @param gatingSequences The merged sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        for (final Sequence sequence : gatingSequences)
+        {
+            this.gatingSequences.addWhileRunning(this, sequence);
+        }
+    }
+
+    /**
+     * Remove the specified gating sequence.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return gatingSequences.remove(sequence);
+    }
+
+    /**
+     * Create a new barrier over the merged lanes, to be used by an EventProcessor together with this
+     * ring buffer as its {@link DataProvider}.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return new ShardedSequenceBarrier(sequencesToTrack);
+    }
+
+    /**
+     * Release consumed lane slots and assign merged sequences to newly published lane events.
+     *
+     * @return false if another thread was already merging.
+     */
+    private boolean tryMerge()
+    {
+        if (!merging.compareAndSet(false, true))
+        {
+            return false;
+        }
+
+        try
+        {
+            release();
+
+            long merged = mergedCursor.get();
+            for (int lane = 0; lane < lanes.length; lane++)
+            {
+                final long laneAvailable = lanes[lane].getCursor();
+                for (long laneSequence = laneNextSequences[lane]; laneSequence <= laneAvailable; laneSequence++)
+                {
+                    final int index = (int) ++merged & indexMask;
+                    mergedLanes[index] = lane;
+                    mergedLaneSequences[index] = laneSequence;
+                }
+                laneNextSequences[lane] = Math.max(laneNextSequences[lane], laneAvailable + 1);
+            }
+            mergedCursor.set(merged);
+        }
+        finally
+        {
+            merging.set(false);
+        }
+
+        return true;
+    }
+
+    private void release()
+    {
+        final long consumed = Math.min(gatingSequences.get(), mergedCursor.get());
+        if (consumed <= releasedSequence)
+        {
+            return;
+        }
+
+        for (long sequence = releasedSequence + 1; sequence <= consumed; sequence++)
+        {
+            final int index = (int) sequence & indexMask;
+            laneReleasedSequences[mergedLanes[index]] = mergedLaneSequences[index];
+        }
+        for (int lane = 0; lane < lanes.length; lane++)
+        {
+            laneGatingSequences[lane].set(laneReleasedSequences[lane]);
+        }
+        releasedSequence = consumed;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ShardedRingBuffer{" +
+            "lanes=" + lanes.length +
+            ", mergedCursor=" + mergedCursor +
+            ", publishedCursor=" + publishedCursor +
+            ", gatingSequences=" + gatingSequences +
+            '}';
+    }
+
+    /**
+     * Read only view of the total number of events published to all lanes, less one.  Once every published
+     * event has been merged this is equal to the merged cursor, so can be waited on by a {@link WaitStrategy}.
+     */
+    private final class PublishedSequence extends ReadOnlySequence
+    {
+        @Override
+        public long get()
+        {
+            long published = 0;
+            for (final RingBuffer<E> lane : lanes)
+            {
+                published += lane.getCursor() + 1;
+            }
+
+            return published - 1;
+        }
+    }
+
+    /**
+     * {@link SequenceBarrier} over the merged lanes.  Waits on the total published across lanes using the shared
+     * {@link WaitStrategy}, then makes sure those events have been merged before returning.
+     */
+    private final class ShardedSequenceBarrier implements SequenceBarrier
+    {
+        private final Sequence dependentSequence;
+        private volatile boolean alerted = false;
+
+        ShardedSequenceBarrier(final Sequence[] dependentSequences)
+        {
+            this.dependentSequence = 0 == dependentSequences.length ?
+                publishedCursor : new FixedSequenceGroup(dependentSequences);
+        }
+
+        @Override
+        public long waitFor(final long sequence)
+            throws AlertException, InterruptedException, TimeoutException
+        {
+            checkAlert();
+            // the caller has finished with everything before sequence, so lane slots may be released. Must not
+            // leave this to a concurrent merge, it may have read the gating sequences before the caller moved on,
+            // unless events already merged can be returned and the release left to the caller's next wait
+            while (!tryMerge())
+            {
+                final long readySequence = Math.min(mergedCursor.get(), dependentSequence.get());
+                if (readySequence >= sequence)
+                {
+                    return readySequence;
+                }
+                Thread.onSpinWait();
+            }
+
+            final long availableSequence = waitStrategy.waitFor(sequence, publishedCursor, dependentSequence, this);
+            if (availableSequence < sequence)
+            {
+                return availableSequence;
+            }
+
+            long mergedSequence;
+            while ((mergedSequence = mergedCursor.get()) < sequence)
+            {
+                checkAlert();
+                if (!tryMerge())
+                {
+                    Thread.onSpinWait();
+                }
+            }
+
+            return Math.min(availableSequence, mergedSequence);
+        }
+
+        @Override
+        public long getCursor()
+        {
+            return dependentSequence == publishedCursor ? mergedCursor.get() : dependentSequence.get();
+        }
+
+        @Override
+        public boolean isCancelled(final long sequence)
+        {
+            final int index = (int) sequence & indexMask;
+            return lanes[mergedLanes[index]].isCancelled(mergedLaneSequences[index]);
+        }
+
+        @Override
+        public boolean hasCancelled(final long lo, final long hi)
+        {
+            for (final AbstractSequencer laneSequencer : laneSequencers)
+            {
+                if (laneSequencer.hasCancellations())
+                {
+                    return SequenceBarrier.super.hasCancelled(lo, hi);
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public void checkOverrun(final long sequence)
+        {
+        }
+
+        @Override
+        public boolean isAlerted()
+        {
+            return alerted;
+        }
+
+        @Override
+        public void alert()
+        {
+            alerted = true;
+            waitStrategy.signalAllWhenBlocking();
+        }
+
+        @Override
+        public void clearAlert()
+        {
+            alerted = false;
+        }
+
+        @Override
+        public void checkAlert() throws AlertException
+        {
+            if (alerted)
+            {
+                throw AlertException.INSTANCE;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait strategy that parks {@link EventProcessor}s and has one shared thread spin on their behalf, unparking each
+ * consumer once its dependent sequence reaches the sequence it is waiting for or its barrier is alerted.
+ *
+ * <p>Intended to be shared by many ring buffers in the same process, each consumer then costs a park and an unpark
+ * per wait rather than a dedicated core, while only the spinning thread burns CPU.  Publishers never signal, so
+ * {@link #signalAllWhenBlocking()} is free.  To pin the spinning thread to a core, supply a {@link ThreadFactory}
+ * that sets its affinity.
+ *
+ * <p>The spinning thread is started on the first wait that has to block and runs until {@link #halt()}.  Once halted,
+ * consumers fall back to polling every {@link #HALTED_POLL_NANOS} nanoseconds.
+ */
+public final class SharedSpinnerWaitStrategy implements WaitStrategy
+{
+    /**
+     * How long consumers sleep between checks for new events once the strategy has been halted.
+     */
+    public static final long HALTED_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ThreadFactory threadFactory;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Waiter> threadWaiter = ThreadLocal.withInitial(Waiter::new);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private volatile boolean running = true;
+
+    /**
+     * Create a strategy whose spinning thread is a daemon thread.
+     */
+    public SharedSpinnerWaitStrategy()
+    {
+        this(DaemonThreadFactory.INSTANCE);
+    }
+
+    /**
+     * @param threadFactory used to create the spinning thread.
+     */
+    public SharedSpinnerWaitStrategy(final ThreadFactory threadFactory)
+    {
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursor, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException
+    {
+        long availableSequence;
+        if ((availableSequence = dependentSequence.get()) >= sequence)
+        {
+            return availableSequence;
+        }
+
+        startSpinner();
+
+        final Waiter waiter = threadWaiter.get();
+        waiter.sequence = sequence;
+        waiter.dependentSequence = dependentSequence;
+        waiter.barrier = barrier;
+        waiters.add(waiter);
+        try
+        {
+            while (true)
+            {
+                // the spinner only looks at fields written before waiting, and keeps looking until it sees us ready
+                waiter.waiting = true;
+                if ((availableSequence = dependentSequence.get()) >= sequence)
+                {
+                    return availableSequence;
+                }
+                barrier.checkAlert();
+
+                if (running)
+                {
+                    LockSupport.park(this);
+                }
+                else
+                {
+                    LockSupport.parkNanos(this, HALTED_POLL_NANOS);
+                }
+            }
+        }
+        finally
+        {
+            waiter.waiting = false;
+            waiters.remove(waiter);
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+
+    /**
+     * Stop the spinning thread, it is not restarted.  Consumers still waiting are woken and carry on by polling.
+     */
+    public void halt()
+    {
+        started.set(true);
+        running = false;
+        for (final Waiter waiter : waiters)
+        {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    /**
+     * @return the number of consumers currently parked, or about to park, on this strategy.
+     */
+    public int getWaiterCount()
+    {
+        return waiters.size();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SharedSpinnerWaitStrategy{" +
+            "running=" + running +
+            ", waiters=" + waiters.size() +
+            '}';
+    }
+
+    private void startSpinner()
+    {
+        if (!started.get() && started.compareAndSet(false, true))
+        {
+            threadFactory.newThread(this::spin).start();
+        }
+    }
+
+    private void spin()
+    {
+        while (running)
+        {
+            for (final Waiter waiter : waiters)
+            {
+                if (waiter.waiting && waiter.isReady())
+                {
+                    waiter.waiting = false;
+                    LockSupport.unpark(waiter.thread);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * A consumer thread's registration, reused for every wait by that thread.
+     */
+    private static final class Waiter
+    {
+        private final Thread thread = Thread.currentThread();
+        private long sequence;
+        private Sequence dependentSequence;
+        private SequenceBarrier barrier;
+        private volatile boolean waiting = false;
+
+        boolean isReady()
+        {
+            return dependentSequence.get() >= sequence || barrier.isAlerted();
+        }
+    }
+}
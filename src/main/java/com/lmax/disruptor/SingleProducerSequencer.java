@@ -17,8 +17,9 @@ package com.lmax.disruptor;
 
 import com.lmax.disruptor.util.Util;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Arrays;
-import java.util.concurrent.locks.LockSupport;
 
 abstract class SingleProducerSequencerPad extends AbstractSequencer
 {
@@ -31,17 +32,36 @@ abstract class SingleProducerSequencerPad extends AbstractSequencer
             p60, p61, p62, p63, p64, p65, p66, p67,
             p70, p71, p72, p73, p74, p75, p76, p77;
 
-    SingleProducerSequencerPad(final int bufferSize, final WaitStrategy waitStrategy)
+    SingleProducerSequencerPad(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, producerWaitStrategy);
     }
 }
 
 abstract class SingleProducerSequencerFields extends SingleProducerSequencerPad
 {
-    SingleProducerSequencerFields(final int bufferSize, final WaitStrategy waitStrategy)
+    SingleProducerSequencerFields(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy,
+        final boolean overwrite)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, producerWaitStrategy);
+        this.overwrite = overwrite;
+        this.volatilePublish = waitStrategy.requiresStoreLoadBeforeSignal();
+        this.trackClaims = overwrite;
+        if (overwrite)
+        {
+            this.versions = new long[bufferSize];
+            Arrays.fill(versions, Sequencer.INITIAL_CURSOR_VALUE);
+        }
+        else
+        {
+            this.versions = null;
+        }
     }
 
     /**
@@ -49,6 +69,21 @@ abstract class SingleProducerSequencerFields extends SingleProducerSequencerPad
      */
     long nextValue = Sequence.INITIAL_VALUE;
     long cachedValue = Sequence.INITIAL_VALUE;
+    final boolean overwrite;
+    /**
+     * Only set for wait strategies that rely on the publisher to order the cursor move before checking for waiters
+     */
+    final boolean volatilePublish;
+    /**
+     * Only maintained when overwriting or tracking claims, so lapped consumers can tell which slots are being rewritten.
+     * Set by the thread creating a non-gating barrier and read by the publisher once per claim.
+     */
+    volatile boolean trackClaims;
+    final Sequence claimedSequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    /**
+     * Only maintained when overwriting, the sequence last published to each slot or a marker while it is rewritten
+     */
+    final long[] versions;
 }
 
 /**
@@ -57,11 +92,21 @@ abstract class SingleProducerSequencerFields extends SingleProducerSequencerPad
  *
  * <p>* Note on {@link Sequencer#getCursor()}:  With this sequencer the cursor value is updated after the call
  * to {@link Sequencer#publish(long)} is made.
+ *
+ * <p>When constructed to overwrite, the publisher never waits for the gating sequences and laps consumers that
+ * fall more than a buffer behind instead.  Consumers using a barrier from {@link Sequencer#newBarrier(Sequence...)}
+ * detect this, a {@link BatchEventProcessor} skips to the oldest event still held and tells an
+ * {@link OverrunHandler} how many events were lost.  Each slot also carries the sequence last published to it,
+ * which is cleared when the slot is claimed again, so a consumer can tell whether an event was rewritten while
+ * it was being read, see {@link SequenceBarrier#checkOverrun(long)}.
  * <p>
  * 单生产者Sequencer
  */
 public final class SingleProducerSequencer extends SingleProducerSequencerFields
 {
+    private static final VarHandle VERSION_ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long CLAIMED_VERSION = Long.MIN_VALUE;
+
     protected byte
             p10, p11, p12, p13, p14, p15, p16, p17,
             p20, p21, p22, p23, p24, p25, p26, p27,
@@ -79,7 +124,85 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
      */
     public SingleProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize           the size of the buffer that this will sequence over.
+     * @param waitStrategy         for those waiting on sequences.
+     * @param producerWaitStrategy for the publisher waiting on capacity.
+     */
+    public SingleProducerSequencer(
+        final int bufferSize,
+        final WaitStrategy waitStrategy,
+        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy, false);
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategy and buffer size that optionally overwrites events
+     * consumers have not processed rather than wait for them.
+     *
+     * @param bufferSize   the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param overwrite    true to never wait for the gating sequences, lapping slow consumers.
+     */
+    public SingleProducerSequencer(final int bufferSize, final WaitStrategy waitStrategy, final boolean overwrite)
+    {
+        super(bufferSize, waitStrategy, new SleepingProducerWaitStrategy(), overwrite);
+    }
+
+    /**
+     * @return true if the publisher overwrites events rather than waiting for consumers.
+     */
+    @Override
+    boolean isOverwriting()
+    {
+        return overwrite;
+    }
+
+    /**
+     * When overwriting the slots of claimed sequences are being rewritten before they are published, so the
+     * oldest intact event is a buffer behind the highest claim rather than the cursor.
+     */
+    @Override
+    long getOldestAvailableSequence()
+    {
+        return claimedSequence.get() - bufferSize + 1;
+    }
+
+    /**
+     * Only the publishing thread writes the claim once this has been called.  When called while publishing is under
+     * way, a claim the publisher is already making when the flag is set is not tracked, so a lap by that one claim can
+     * go undetected; every later claim is.  Create non-gating barriers before publishing starts where that matters.
+     */
+    @Override
+    void trackClaims()
+    {
+        if (!trackClaims)
+        {
+            claimedSequence.set(nextValue);
+            trackClaims = true;
+        }
+    }
+
+    /**
+     * The reader side of a seqlock: the fence keeps the caller's reads of the event before the version check,
+     * as {@link java.util.concurrent.locks.StampedLock#validate(long)} does.
+     */
+    @Override
+    boolean isOverwritten(final long sequence)
+    {
+        if (!overwrite)
+        {
+            return super.isOverwritten(sequence);
+        }
+
+        VarHandle.acquireFence();
+        return (long) VERSION_ARRAY.getAcquire(versions, (int) sequence & (bufferSize - 1)) != sequence;
     }
 
     /**
@@ -93,6 +216,11 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
 
     private boolean hasAvailableCapacity(final int requiredCapacity, final boolean doStore)
     {
+        if (overwrite)
+        {
+            return true;
+        }
+
         long nextValue = this.nextValue;
 
         long wrapPoint = (nextValue + requiredCapacity) - bufferSize;
@@ -105,7 +233,7 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
                 cursor.setVolatile(nextValue);  // StoreLoad fence
             }
 
-            long minSequence = Util.getMinimumSequence(gatingSequences, nextValue);
+            long minSequence = getMinimumGatingSequence(wrapPoint, nextValue);
             this.cachedValue = minSequence;
 
             if (wrapPoint > minSequence)
@@ -167,28 +295,70 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
          *      不过该代码已经标注为@Deprecated，按照作者的意思，后续是要删掉的。那么在此处分析的时候，我们就将当它恒为false。
          *
          * */
-        if (wrapPoint > cachedGatingSequence || cachedGatingSequence > nextValue)
+        if (overwrite)
+        {
+            // never waits, the claim is made visible before the slots are rewritten so lapped consumers can tell,
+            // the release stores and store fence in clearVersions order it before the event writes
+            claimedSequence.set(nextSequence);
+            clearVersions(nextValue + 1, nextSequence);
+        }
+        else if (wrapPoint > cachedGatingSequence || cachedGatingSequence > nextValue)
         {
             //插入一个StoreLoad屏障，防止是因为内存可见性导致的消费者消费不了数据（应该极少存在这样的情况吧）
             cursor.setVolatile(nextValue);  // StoreLoad fence
 
-            long minSequence;
-            //实时计算一下最慢消费进度Util.getMinimumSequence(gatingSequences, nextValue)
-            //如果真的套圈了，那么就一直死循环直到RingBuffer上有空间可以申请
-            while (wrapPoint > (minSequence = Util.getMinimumSequence(gatingSequences, nextValue)))
+            //实时计算一下最慢消费进度getMinimumGatingSequence(wrapPoint, nextValue)
+            long minSequence = getMinimumGatingSequence(wrapPoint, nextValue);
+            //如果真的套圈了，那么就交给producerWaitStrategy等待，直到RingBuffer上有空间可以申请
+            if (wrapPoint > minSequence)
             {
-                // 生产者如果没有空间写数据了，只能无限park
-                LockSupport.parkNanos(1L); // TODO: Use waitStrategy to spin?
+                minSequence = Math.min(producerWaitStrategy.waitFor(wrapPoint, minimumGatingSequence), nextValue);
             }
             //更新【最慢消费进度缓存】
             this.cachedValue = minSequence;
         }
 
         this.nextValue = nextSequence;
+        if (!overwrite && trackClaims)
+        {
+            publishClaim(nextSequence);
+        }
 
         return nextSequence;
     }
 
+    /**
+     * The writer side of a seqlock, as {@link SingleProducerSequencer#clearVersions(long, long)} is: only the event
+     * writes that follow need ordering after the claim, so a store fence does rather than a full one.
+     */
+    private void publishClaim(final long sequence)
+    {
+        claimedSequence.set(sequence);
+        VarHandle.storeStoreFence();
+    }
+
+    /**
+     * The writer side of a seqlock: a reader that sees any of the event writes that follow also sees the version
+     * cleared, and through it the claimed sequence.
+     */
+    private void clearVersions(final long lo, final long hi)
+    {
+        for (long sequence = lo; sequence <= hi; sequence++)
+        {
+            VERSION_ARRAY.setRelease(versions, (int) sequence & (bufferSize - 1), CLAIMED_VERSION);
+        }
+        VarHandle.storeStoreFence();
+    }
+
+    private void stampVersions(final long hi)
+    {
+        final long lo = Math.max(cursor.get() + 1, hi - bufferSize + 1);
+        for (long sequence = lo; sequence <= hi; sequence++)
+        {
+            VERSION_ARRAY.setRelease(versions, (int) sequence & (bufferSize - 1), sequence);
+        }
+    }
+
     /**
      * @see Sequencer#tryNext()
      */
@@ -203,18 +373,51 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
      */
     @Override
     public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        final long nextSequence = tryNextOrNegative(n);
+        if (nextSequence < 0)
+        {
+            throw InsufficientCapacityException.INSTANCE;
+        }
+
+        return nextSequence;
+    }
+
+    /**
+     * @see Sequencer#tryNextOrNegative()
+     */
+    @Override
+    public long tryNextOrNegative()
+    {
+        return tryNextOrNegative(1);
+    }
+
+    /**
+     * @see Sequencer#tryNextOrNegative(int)
+     */
+    @Override
+    public long tryNextOrNegative(final int n)
     {
         if (n < 1)
         {
             throw new IllegalArgumentException("n must be > 0");
         }
 
+        if (overwrite)
+        {
+            return next(n);
+        }
+
         if (!hasAvailableCapacity(n, true))
         {
-            throw InsufficientCapacityException.INSTANCE;
+            return -1L;
         }
 
         long nextSequence = this.nextValue += n;
+        if (trackClaims)
+        {
+            publishClaim(nextSequence);
+        }
 
         return nextSequence;
     }
@@ -225,6 +428,11 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
     @Override
     public long remainingCapacity()
     {
+        if (overwrite)
+        {
+            return getBufferSize();
+        }
+
         long nextValue = this.nextValue;
 
         long consumed = Util.getMinimumSequence(gatingSequences, nextValue);
@@ -239,6 +447,7 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
     public void claim(final long sequence)
     {
         this.nextValue = sequence;
+        claimedSequence.set(sequence);
     }
 
     /**
@@ -253,7 +462,18 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
          * 所以我们在使用过程中需要依次申请，依次发布，不能直接上来就publish(100)，
          * 这样会导致消费者会认为100以前的序号也都就绪了。另外，由于我们现在看的是单生产者模式，也不需要考虑并发场景
          */
-        cursor.set(sequence);
+        if (overwrite)
+        {
+            stampVersions(sequence);
+        }
+        if (volatilePublish)
+        {
+            cursor.setVolatile(sequence);
+        }
+        else
+        {
+            cursor.set(sequence);
+        }
         //通知阻塞的消费者进行消费
         waitStrategy.signalAllWhenBlocking();
     }
@@ -289,6 +509,8 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
         return "SingleProducerSequencer{" +
                 "bufferSize=" + bufferSize +
                 ", waitStrategy=" + waitStrategy +
+                ", producerWaitStrategy=" + producerWaitStrategy +
+                ", overwrite=" + overwrite +
                 ", cursor=" + cursor +
                 ", gatingSequences=" + Arrays.toString(gatingSequences) +
                 '}';
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * {@link EventFactory} for events whose data is held in one <code>long[]</code> slab rather than in their own fields.
+ *
+ * <p>Each event is a small flyweight bound to a fixed run of words in the slab.  The {@link RingBuffer} fills its
+ * entries in index order, so the data of consecutive sequences sits side by side in the slab, and as the slab is a
+ * single object the garbage collector can not scatter it.  Only the flyweights themselves can be moved apart,
+ * which a handler that keeps to the event's accessors pays for with one extra read of the flyweight's slab offset.
+ *
+ * <p>Each event's run of words is padded to a whole number of cache lines.  The JVM does not align array elements
+ * to cache lines, so an event's first and last line may still be shared with the edges of its neighbours.
+ *
+ * <pre><code>SlabEventFactory&lt;Trade&gt; factory = SlabEventFactory.create(1024, Trade.WORDS, Trade::new);
+ * RingBuffer&lt;Trade&gt; ringBuffer = RingBuffer.createSingleProducer(factory, 1024);</code></pre>
+ *
+ * @param <E> the flyweight type.
+ */
+public final class SlabEventFactory<E> implements EventFactory<E>
+{
+    private static final int CACHE_LINE_WORDS = 64 / Long.BYTES;
+
+    private final long[] slab;
+    private final int bufferSize;
+    private final int stride;
+    private final FlyweightFactory<E> flyweightFactory;
+    private int nextSlot;
+
+    private SlabEventFactory(final int bufferSize, final int wordsPerEvent, final FlyweightFactory<E> flyweightFactory)
+    {
+        if (bufferSize < 1 || wordsPerEvent < 1)
+        {
+            throw new IllegalArgumentException("bufferSize and wordsPerEvent must not be less than 1");
+        }
+
+        final long stride = (wordsPerEvent + CACHE_LINE_WORDS - 1L) / CACHE_LINE_WORDS * CACHE_LINE_WORDS;
+        if (stride * bufferSize > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException("bufferSize * wordsPerEvent is too large for a single slab");
+        }
+
+        this.bufferSize = bufferSize;
+        this.stride = (int) stride;
+        this.slab = new long[this.stride * bufferSize];
+        this.flyweightFactory = flyweightFactory;
+    }
+
+    /**
+     * Create a factory for a ring buffer of the given size, which must be the size the ring buffer is created with.
+     *
+     * @param <E> the flyweight type.
+     * @param bufferSize       number of events the slab holds.
+     * @param wordsPerEvent    number of <code>long</code> words of data in each event.
+     * @param flyweightFactory creates the flyweight bound to each event's words.
+     * @return the factory.
+     * @throws IllegalArgumentException if bufferSize or wordsPerEvent is less than 1, or the slab would be too large.
+     */
+    public static <E> SlabEventFactory<E> create(
+        final int bufferSize,
+        final int wordsPerEvent,
+        final FlyweightFactory<E> flyweightFactory)
+    {
+        return new SlabEventFactory<>(bufferSize, wordsPerEvent, flyweightFactory);
+    }
+
+    /**
+     * Bind a flyweight to the next unused run of words in the slab.
+     *
+     * @return the flyweight.
+     * @throws IllegalStateException if more events are asked for than the slab holds.
+     */
+    @Override
+    public E newInstance()
+    {
+        if (nextSlot == bufferSize)
+        {
+            throw new IllegalStateException("All " + bufferSize + " events of the slab have been created");
+        }
+
+        return flyweightFactory.newInstance(slab, nextSlot++ * stride);
+    }
+
+    /**
+     * @return the number of words between the start of one event and the next, at least wordsPerEvent.
+     */
+    public int stride()
+    {
+        return stride;
+    }
+
+    /**
+     * Creates the flyweight for one event's run of words.
+     *
+     * @param <E> the flyweight type.
+     */
+    public interface FlyweightFactory<E>
+    {
+        /**
+         * @param slab   the array holding every event's data.
+         * @param offset of the event's first word within the slab.
+         * @return a flyweight reading and writing its data at <code>slab[offset]</code> onwards.
+         */
+        E newInstance(long[] slab, int offset);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sleeping strategy that parks the publishing thread for a fixed number of nanoseconds
+ * (<code>LockSupport.parkNanos(n)</code>) between checks of the gating sequences.
+ *
+ * <p>This is the default {@link ProducerWaitStrategy} and, with the default sleep time, matches the
+ * historic behaviour of the sequencers.
+ */
+public final class SleepingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final long DEFAULT_SLEEP = 1;
+
+    private final long sleepTimeNs;
+
+    /**
+     * Provides a sleeping producer wait strategy with the default sleep time
+     */
+    public SleepingProducerWaitStrategy()
+    {
+        this(DEFAULT_SLEEP);
+    }
+
+    /**
+     * @param sleepTimeNs How long the strategy should sleep, in nanoseconds
+     */
+    public SleepingProducerWaitStrategy(final long sleepTimeNs)
+    {
+        this.sleepTimeNs = sleepTimeNs;
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Sequence gatingSequence)
+    {
+        long minSequence;
+
+        while (wrapPoint > (minSequence = gatingSequence.get()))
+        {
+            LockSupport.parkNanos(sleepTimeNs);
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+
+    @Override
+    public boolean requiresSignal()
+    {
+        return false;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SleepingProducerWaitStrategy{" +
+            "sleepTimeNs=" + sleepTimeNs +
+            '}';
+    }
+}
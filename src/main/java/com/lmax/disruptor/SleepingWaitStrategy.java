@@ -15,6 +15,9 @@
  */
 package com.lmax.disruptor;
 
+import com.lmax.disruptor.util.SpinWaitCalibration;
+
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
 /**
@@ -36,6 +39,7 @@ public final class SleepingWaitStrategy implements WaitStrategy
 
     private final int retries;
     private final long sleepTimeNs;
+    private final boolean pauseWhileSpinning;
 
     /**
      * Provides a sleeping wait strategy with the default retry and sleep settings
@@ -58,9 +62,27 @@ public final class SleepingWaitStrategy implements WaitStrategy
      * @param sleepTimeNs How long the strategy should sleep, in nanoseconds
      */
     public SleepingWaitStrategy(final int retries, final long sleepTimeNs)
+    {
+        this(retries, sleepTimeNs, false);
+    }
+
+    /**
+     * @param spinTimeout How long the strategy should spin before yielding, converted to a number of spins
+     *                    using {@link SpinWaitCalibration}, pausing with <code>Thread.onSpinWait()</code> between spins
+     * @param sleepTime How long the strategy should sleep, after spinning then yielding 100 times
+     * @param units Time units of the spin timeout and sleep time
+     */
+    public SleepingWaitStrategy(final long spinTimeout, final long sleepTime, final TimeUnit units)
+    {
+        this((int) Math.min(Integer.MAX_VALUE, (long) SpinWaitCalibration.spinsFor(units.toNanos(spinTimeout)) + SPIN_THRESHOLD),
+            units.toNanos(sleepTime), true);
+    }
+
+    private SleepingWaitStrategy(final int retries, final long sleepTimeNs, final boolean pauseWhileSpinning)
     {
         this.retries = retries;
         this.sleepTimeNs = sleepTimeNs;
+        this.pauseWhileSpinning = pauseWhileSpinning;
     }
 
     @Override
@@ -91,6 +113,10 @@ public final class SleepingWaitStrategy implements WaitStrategy
 
         if (counter > SPIN_THRESHOLD)
         {
+            if (pauseWhileSpinning)
+            {
+                Thread.onSpinWait();
+            }
             return counter - 1;
         }
         else if (counter > 0)
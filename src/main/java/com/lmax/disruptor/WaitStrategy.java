@@ -45,4 +45,16 @@ public interface WaitStrategy
      * Implementations should signal the waiting {@link EventProcessor}s that the cursor has advanced.
      */
     void signalAllWhenBlocking();
+
+    /**
+     * Confirms if publishers must order the move of their cursor before {@link #signalAllWhenBlocking()} with a
+     * StoreLoad fence, e.g. by moving it with a volatile store, because the strategy does not fence when signalling.
+     * Strategies that wrap another must forward this from the one they wrap.
+     *
+     * @return true if waiters can miss a cursor moved with only a release store.
+     */
+    default boolean requiresStoreLoadBeforeSignal()
+    {
+        return false;
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+
+/**
+ * Yielding strategy that uses a Thread.yield() for publishers waiting on a full ring buffer
+ * after an initially spinning.
+ *
+ * <p>This strategy will use 100% CPU, but will more readily give up the CPU than a busy spin strategy if other threads
+ * require CPU resource.
+ */
+public final class YieldingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(final long wrapPoint, final Sequence gatingSequence)
+    {
+        long minSequence;
+        int counter = SPIN_TRIES;
+
+        while (wrapPoint > (minSequence = gatingSequence.get()))
+        {
+            if (0 == counter)
+            {
+                Thread.yield();
+            }
+            else
+            {
+                --counter;
+                Thread.onSpinWait();
+            }
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+
+    @Override
+    public boolean requiresSignal()
+    {
+        return false;
+    }
+}
@@ -15,6 +15,9 @@
  */
 package com.lmax.disruptor;
 
+import com.lmax.disruptor.util.SpinWaitCalibration;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Yielding strategy that uses a Thread.yield() for {@link com.lmax.disruptor.EventProcessor}s waiting on a barrier
@@ -27,13 +30,36 @@ public final class YieldingWaitStrategy implements WaitStrategy
 {
     private static final int SPIN_TRIES = 100;
 
+    private final int spinTries;
+    private final boolean pauseWhileSpinning;
+
+    /**
+     * Provides a yielding wait strategy that spins 100 times before yielding
+     */
+    public YieldingWaitStrategy()
+    {
+        this.spinTries = SPIN_TRIES;
+        this.pauseWhileSpinning = false;
+    }
+
+    /**
+     * @param spinTimeout How long the strategy should spin before yielding, converted to a number of spins
+     *                    using {@link SpinWaitCalibration}, pausing with <code>Thread.onSpinWait()</code> between spins
+     * @param units Time units of the spin timeout
+     */
+    public YieldingWaitStrategy(final long spinTimeout, final TimeUnit units)
+    {
+        this.spinTries = SpinWaitCalibration.spinsFor(units.toNanos(spinTimeout));
+        this.pauseWhileSpinning = true;
+    }
+
     @Override
     public long waitFor(
         final long sequence, final Sequence cursor, final Sequence dependentSequence, final SequenceBarrier barrier)
         throws AlertException, InterruptedException
     {
         long availableSequence;
-        int counter = SPIN_TRIES;
+        int counter = spinTries;
 
         while ((availableSequence = dependentSequence.get()) < sequence)
         {
@@ -59,6 +85,10 @@ public final class YieldingWaitStrategy implements WaitStrategy
         }
         else
         {
+            if (pauseWhileSpinning)
+            {
+                Thread.onSpinWait();
+            }
             return counter - 1;
         }
 
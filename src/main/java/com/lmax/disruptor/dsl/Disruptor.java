@@ -24,6 +24,7 @@ import com.lmax.disruptor.EventTranslatorOneArg;
 import com.lmax.disruptor.EventTranslatorThreeArg;
 import com.lmax.disruptor.EventTranslatorTwoArg;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.ProducerWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
@@ -97,6 +98,29 @@ public class Disruptor<T>
                 threadFactory);
     }
 
+    /**
+     * Create a new Disruptor.
+     *
+     * @param eventFactory         the factory to create events in the ring buffer.
+     * @param ringBufferSize       the size of the ring buffer, must be power of 2.
+     * @param threadFactory        a {@link ThreadFactory} to create threads for processors.
+     * @param producerType         the claim strategy to use for the ring buffer.
+     * @param waitStrategy         the wait strategy to use for the ring buffer.
+     * @param producerWaitStrategy the strategy publishers use to wait for capacity when the ring buffer is full.
+     */
+    public Disruptor(
+            final EventFactory<T> eventFactory,
+            final int ringBufferSize,
+            final ThreadFactory threadFactory,
+            final ProducerType producerType,
+            final WaitStrategy waitStrategy,
+            final ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(
+                RingBuffer.create(producerType, eventFactory, ringBufferSize, waitStrategy, producerWaitStrategy),
+                threadFactory);
+    }
+
     /**
      * Private constructor helper
      */
@@ -128,6 +152,43 @@ public class Disruptor<T>
         return createEventProcessors(new Sequence[0], handlers);
     }
 
+    /**
+     * <p>Set up event handlers that receive every event published but never hold up publishers, e.g. for
+     * monitoring or auditing alongside the handlers the ring buffer waits for.  Each handler runs on its own
+     * {@link BatchEventProcessor} whose sequence is not added as a gating sequence.</p>
+     *
+     * <p>A handler that falls more than a ring buffer behind is lapped: it skips to the oldest event still held,
+     * and is told how many events it lost if it implements {@link com.lmax.disruptor.OverrunHandler}.  An event
+     * overwritten while being handled is reported the same way, so what was read from it must be discarded.</p>
+     *
+     * <p>These handlers can not be used as dependencies, and {@link #shutdown()} does not wait for them to drain.</p>
+     *
+     * @param handlers the event handlers that will process events without gating publishers.
+     */
+    @SuppressWarnings("varargs")
+    @SafeVarargs
+    public final void handleEventsWithoutGating(final EventHandler<? super T>... handlers)
+    {
+        checkNotStarted();
+
+        final Sequence[] processorSequences = new Sequence[handlers.length];
+        final SequenceBarrier barrier = ringBuffer.newNonGatingBarrier();
+        for (int i = 0; i < handlers.length; i++)
+        {
+            final BatchEventProcessor<T> batchEventProcessor =
+                    new BatchEventProcessor<>(ringBuffer, barrier, handlers[i]);
+            if (exceptionHandler != null)
+            {
+                batchEventProcessor.setExceptionHandler(exceptionHandler);
+            }
+            consumerRepository.add(batchEventProcessor, handlers[i], barrier);
+            processorSequences[i] = batchEventProcessor.getSequence();
+        }
+
+        // not end of chain, so a lagging handler never holds up shutdown
+        consumerRepository.unMarkEventProcessorsAsEndOfChain(processorSequences);
+    }
+
     /**
      * <p>Set up custom event processors to handle events from the ring buffer. The Disruptor will
      * automatically start these processors when {@link #start()} is called.</p>
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.EventProcessor;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.primitive.AbstractPrimitiveBatchEventProcessor;
+import com.lmax.disruptor.primitive.AbstractPrimitiveRingBuffer;
+import com.lmax.disruptor.util.Util;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@link Disruptor} DSL for a ring buffer of primitive values, such as a
+ * {@link com.lmax.disruptor.primitive.LongRingBuffer}.
+ *
+ * <pre>
+ * <code>LongRingBuffer ringBuffer = LongRingBuffer.createMultiProducer(1024, new BlockingWaitStrategy());
+ * PrimitiveDisruptor&lt;Long, LongEventHandler&gt; disruptor = new PrimitiveDisruptor&lt;&gt;(ringBuffer, threadFactory);
+ * disruptor.handleEventsWith(handler1).then(handler2);
+ * disruptor.start();
+ * ringBuffer.publishEvent(1234L);</code>
+ * </pre>
+ *
+ * @param <V> the boxed type of the values, used only when reporting an exception.
+ * @param <H> the type of handler values are dispatched to.
+ */
+public class PrimitiveDisruptor<V, H>
+{
+    private final AbstractPrimitiveRingBuffer<V, H> ringBuffer;
+    private final ThreadFactory threadFactory;
+    private final ConsumerRepository<V> consumerRepository = new ConsumerRepository<>();
+    private final Map<H, Sequence> sequenceByHandler = new IdentityHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private ExceptionHandler<? super V> exceptionHandler;
+
+    /**
+     * Create a new Disruptor around a ring buffer of primitive values.
+     *
+     * @param ringBuffer    the ring buffer values are published to.
+     * @param threadFactory a {@link ThreadFactory} to create threads for processors.
+     */
+    public PrimitiveDisruptor(final AbstractPrimitiveRingBuffer<V, H> ringBuffer, final ThreadFactory threadFactory)
+    {
+        this.ringBuffer = ringBuffer;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * <p>Set up handlers to handle values from the ring buffer. These handlers will process values
+     * as soon as they become available, in parallel.</p>
+     *
+     * <p>This method can be used as the start of a chain. For example if the handler <code>A</code> must
+     * process values before handler <code>B</code>:</p>
+     * <pre><code>dw.handleEventsWith(A).then(B);</code></pre>
+     *
+     * @param handlers the handlers that will process values.
+     * @return a {@link PrimitiveEventHandlerGroup} that can be used to chain dependencies.
+     */
+    @SuppressWarnings("varargs")
+    @SafeVarargs
+    public final PrimitiveEventHandlerGroup<V, H> handleEventsWith(final H... handlers)
+    {
+        return createEventProcessors(new Sequence[0], handlers);
+    }
+
+    /**
+     * Set up custom event processors to handle values from the ring buffer. The Disruptor will
+     * automatically start these processors when {@link #start()} is called.
+     *
+     * @param processors the event processors that will process values.
+     * @return a {@link PrimitiveEventHandlerGroup} that can be used to chain dependencies.
+     */
+    public PrimitiveEventHandlerGroup<V, H> handleEventsWith(final EventProcessor... processors)
+    {
+        for (final EventProcessor processor : processors)
+        {
+            consumerRepository.add(processor);
+        }
+
+        final Sequence[] sequences = Util.getSequencesFor(processors);
+        ringBuffer.addGatingSequences(sequences);
+
+        return new PrimitiveEventHandlerGroup<>(this, sequences);
+    }
+
+    /**
+     * <p>Specify an exception handler to be used for any future handlers.</p>
+     *
+     * <p>Note that only handlers set up after calling this method will use the exception handler.</p>
+     *
+     * @param exceptionHandler the exception handler to use for any future event processors.
+     */
+    public void handleExceptionsWith(final ExceptionHandler<? super V> exceptionHandler)
+    {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Create a group of handlers to be used as a dependency.
+     *
+     * @param handlers the handlers, previously set up with {@link #handleEventsWith(Object[])},
+     *                 that will form the barrier for subsequent handlers or processors.
+     * @return a {@link PrimitiveEventHandlerGroup} that can be used to setup a dependency barrier over the specified handlers.
+     * @throws IllegalArgumentException if any of the handlers are not processing values.
+     */
+    @SafeVarargs
+    public final PrimitiveEventHandlerGroup<V, H> after(final H... handlers)
+    {
+        final Sequence[] sequences = new Sequence[handlers.length];
+        for (int i = 0; i < handlers.length; i++)
+        {
+            sequences[i] = getSequenceFor(handlers[i]);
+        }
+
+        return new PrimitiveEventHandlerGroup<>(this, sequences);
+    }
+
+    /**
+     * <p>Starts the event processors and returns the fully configured ring buffer.</p>
+     *
+     * <p>This method must only be called once after all event processors have been added.</p>
+     *
+     * @return the configured ring buffer.
+     */
+    public AbstractPrimitiveRingBuffer<V, H> start()
+    {
+        if (!started.compareAndSet(false, true))
+        {
+            throw new IllegalStateException("Disruptor.start() must only be called once.");
+        }
+
+        for (final ConsumerInfo consumerInfo : consumerRepository)
+        {
+            consumerInfo.start(threadFactory);
+        }
+
+        return ringBuffer;
+    }
+
+    /**
+     * Calls {@link com.lmax.disruptor.EventProcessor#halt()} on all of the event processors created via this disruptor.
+     */
+    public void halt()
+    {
+        for (final ConsumerInfo consumerInfo : consumerRepository)
+        {
+            consumerInfo.halt();
+        }
+    }
+
+    /**
+     * <p>Waits until all values currently in the disruptor have been processed by all event processors
+     * and then halts the processors.  It is critical that publishing to the ring buffer has stopped
+     * before calling this method, otherwise it may never return.</p>
+     */
+    public void shutdown()
+    {
+        try
+        {
+            shutdown(-1, TimeUnit.MILLISECONDS);
+        }
+        catch (final TimeoutException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits until all values currently in the disruptor have been processed by all event processors
+     * and then halts the processors.
+     *
+     * @param timeout  the amount of time to wait for all values to be processed. <code>-1</code> will give an infinite timeout
+     * @param timeUnit the unit the timeOut is specified in
+     * @throws TimeoutException if a timeout occurs before shutdown completes.
+     */
+    public void shutdown(final long timeout, final TimeUnit timeUnit) throws TimeoutException
+    {
+        final long timeOutAt = System.currentTimeMillis() + timeUnit.toMillis(timeout);
+        while (consumerRepository.hasBacklog(ringBuffer.getCursor(), false))
+        {
+            if (timeout >= 0 && System.currentTimeMillis() > timeOutAt)
+            {
+                throw TimeoutException.INSTANCE;
+            }
+            // Busy spin
+        }
+        halt();
+    }
+
+    /**
+     * @return the ring buffer used by this Disruptor.
+     */
+    public AbstractPrimitiveRingBuffer<V, H> getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Gets the sequence value for the specified handler.
+     *
+     * @param handler to get the sequence for.
+     * @return the handler's sequence
+     * @throws IllegalArgumentException if the handler is not processing values.
+     */
+    public long getSequenceValueFor(final H handler)
+    {
+        return getSequenceFor(handler).get();
+    }
+
+    /**
+     * Checks if disruptor has been started
+     *
+     * @return true when start has been called on this instance; otherwise false
+     */
+    public boolean hasStarted()
+    {
+        return started.get();
+    }
+
+    PrimitiveEventHandlerGroup<V, H> createEventProcessors(final Sequence[] barrierSequences, final H[] handlers)
+    {
+        if (started.get())
+        {
+            throw new IllegalStateException("All event handlers must be added before calling starts.");
+        }
+
+        final Sequence[] processorSequences = new Sequence[handlers.length];
+        final SequenceBarrier barrier = ringBuffer.newBarrier(barrierSequences);
+
+        for (int i = 0; i < handlers.length; i++)
+        {
+            final AbstractPrimitiveBatchEventProcessor<V> processor = ringBuffer.createEventProcessor(barrier, handlers[i]);
+            if (exceptionHandler != null)
+            {
+                processor.setExceptionHandler(exceptionHandler);
+            }
+
+            consumerRepository.add(processor);
+            sequenceByHandler.put(handlers[i], processor.getSequence());
+            processorSequences[i] = processor.getSequence();
+        }
+
+        if (processorSequences.length > 0)
+        {
+            ringBuffer.addGatingSequences(processorSequences);
+            for (final Sequence barrierSequence : barrierSequences)
+            {
+                ringBuffer.removeGatingSequence(barrierSequence);
+            }
+            consumerRepository.unMarkEventProcessorsAsEndOfChain(barrierSequences);
+        }
+
+        return new PrimitiveEventHandlerGroup<>(this, processorSequences);
+    }
+
+    private Sequence getSequenceFor(final H handler)
+    {
+        final Sequence sequence = sequenceByHandler.get(handler);
+        if (sequence == null)
+        {
+            throw new IllegalArgumentException("The event handler " + handler + " is not processing events.");
+        }
+
+        return sequence;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PrimitiveDisruptor{" +
+                "ringBuffer=" + ringBuffer +
+                ", started=" + started +
+                ", threadFactory=" + threadFactory +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.Sequence;
+
+import java.util.Arrays;
+
+/**
+ * A group of handlers of primitive values set up via the {@link PrimitiveDisruptor}.
+ *
+ * @param <V> the boxed type of the values, used only when reporting an exception.
+ * @param <H> the type of handler values are dispatched to.
+ */
+public class PrimitiveEventHandlerGroup<V, H>
+{
+    private final PrimitiveDisruptor<V, H> disruptor;
+    private final Sequence[] sequences;
+
+    PrimitiveEventHandlerGroup(final PrimitiveDisruptor<V, H> disruptor, final Sequence[] sequences)
+    {
+        this.disruptor = disruptor;
+        this.sequences = Arrays.copyOf(sequences, sequences.length);
+    }
+
+    /**
+     * Create a new group that combines the handlers in this group with <code>otherHandlerGroup</code>.
+     *
+     * @param otherHandlerGroup the handler group to combine.
+     * @return a new group combining the existing and new handlers into a single dependency group.
+     */
+    public PrimitiveEventHandlerGroup<V, H> and(final PrimitiveEventHandlerGroup<V, H> otherHandlerGroup)
+    {
+        final Sequence[] combinedSequences = new Sequence[this.sequences.length + otherHandlerGroup.sequences.length];
+        System.arraycopy(this.sequences, 0, combinedSequences, 0, this.sequences.length);
+        System.arraycopy(
+            otherHandlerGroup.sequences, 0,
+            combinedSequences, this.sequences.length, otherHandlerGroup.sequences.length);
+        return new PrimitiveEventHandlerGroup<>(disruptor, combinedSequences);
+    }
+
+    /**
+     * <p>Set up handlers to consume values from the ring buffer. These handlers will only process values
+     * after every handler in this group has processed the value.</p>
+     *
+     * <p>This method is generally used as part of a chain. For example if the handler <code>A</code> must
+     * process values before handler <code>B</code>:</p>
+     * <pre><code>dw.handleEventsWith(A).then(B);</code></pre>
+     *
+     * @param handlers the handlers that will process values.
+     * @return a {@link PrimitiveEventHandlerGroup} that can be used to set up a handler barrier over the created processors.
+     */
+    @SafeVarargs
+    public final PrimitiveEventHandlerGroup<V, H> then(final H... handlers)
+    {
+        return handleEventsWith(handlers);
+    }
+
+    /**
+     * Set up handlers that will only process values after every handler in this group has processed the value.
+     *
+     * @param handlers the handlers that will process values.
+     * @return a {@link PrimitiveEventHandlerGroup} that can be used to set up a handler barrier over the created processors.
+     */
+    @SuppressWarnings("varargs")
+    @SafeVarargs
+    public final PrimitiveEventHandlerGroup<V, H> handleEventsWith(final H... handlers)
+    {
+        return disruptor.createEventProcessors(sequences, handlers);
+    }
+
+    /**
+     * Create a dependency barrier for the processors in this group.
+     * This allows custom event processors to have dependencies on handlers created by the disruptor.
+     *
+     * @return a {@link SequenceBarrier} including all the processors in this group.
+     */
+    public SequenceBarrier asSequenceBarrier()
+    {
+        return disruptor.getRingBuffer().newBarrier(sequences);
+    }
+}
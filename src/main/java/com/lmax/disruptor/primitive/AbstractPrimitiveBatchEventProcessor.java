@@ -0,0 +1,217 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+import com.lmax.disruptor.BatchStartAware;
+import com.lmax.disruptor.EventProcessor;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.ExceptionHandlers;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.Sequencer;
+import com.lmax.disruptor.TimeoutHandler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lifecycle shared by the batch event processors of primitive values, the batch loop itself is left to each
+ * subclass so the call to its handler stays monomorphic.
+ *
+ * <p>If the handler also implements {@link LifecycleAware} it will be notified just after the thread
+ * is started and just before the thread is shutdown.  If it implements {@link TimeoutHandler} or
+ * {@link BatchStartAware} it will be notified of timeouts and of the size of each batch.
+ *
+ * @param <V> the boxed type of the values, used only when reporting an exception.
+ */
+public abstract class AbstractPrimitiveBatchEventProcessor<V> implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private ExceptionHandler<? super V> exceptionHandler;
+    private final Object eventHandler;
+    private final TimeoutHandler timeoutHandler;
+    final BatchStartAware batchStartAware;
+    final SequenceBarrier sequenceBarrier;
+    final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+
+    AbstractPrimitiveBatchEventProcessor(final SequenceBarrier sequenceBarrier, final Object eventHandler)
+    {
+        this.sequenceBarrier = sequenceBarrier;
+        this.eventHandler = eventHandler;
+        this.batchStartAware = (eventHandler instanceof BatchStartAware) ? (BatchStartAware) eventHandler : null;
+        this.timeoutHandler = (eventHandler instanceof TimeoutHandler) ? (TimeoutHandler) eventHandler : null;
+    }
+
+    @Override
+    public Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+        sequenceBarrier.alert();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the processor.
+     * The event passed to it is the boxed value that failed.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super V> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        int witnessValue = running.compareAndExchange(IDLE, RUNNING);
+        if (witnessValue == IDLE)
+        {
+            sequenceBarrier.clearAlert();
+            notifyStart();
+            try
+            {
+                if (running.get() == RUNNING)
+                {
+                    processEvents();
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else
+        {
+            if (witnessValue == RUNNING)
+            {
+                throw new IllegalStateException("Thread is already running");
+            }
+            else
+            {
+                notifyStart();
+                notifyShutdown();
+            }
+        }
+    }
+
+    /**
+     * Process values until halted.
+     */
+    abstract void processEvents();
+
+    final boolean isHalted()
+    {
+        return running.get() != RUNNING;
+    }
+
+    /**
+     * Cancelled sequences are skipped. Each sequence is checked once, one ahead of delivery, so the end of batch flag
+     * always goes to a delivered event.
+     */
+    final long nextUncancelledSequence(final long fromSequence, final long availableSequence)
+    {
+        long sequence = fromSequence;
+        while (sequence <= availableSequence && sequenceBarrier.isCancelled(sequence))
+        {
+            sequence++;
+        }
+
+        return sequence;
+    }
+
+    final void notifyTimeout(final long availableSequence)
+    {
+        try
+        {
+            if (timeoutHandler != null)
+            {
+                timeoutHandler.onTimeout(availableSequence);
+            }
+        }
+        catch (Throwable e)
+        {
+            handleEventException(e, availableSequence, null);
+        }
+    }
+
+    final void handleEventException(final Throwable ex, final long sequence, final V value)
+    {
+        getExceptionHandler().handleEventException(ex, sequence, value);
+    }
+
+    private void notifyStart()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) eventHandler).onStart();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnStartException(ex);
+            }
+        }
+    }
+
+    private void notifyShutdown()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) eventHandler).onShutdown();
+            }
+            catch (final Throwable ex)
+            {
+                getExceptionHandler().handleOnShutdownException(ex);
+            }
+        }
+    }
+
+    private ExceptionHandler<? super V> getExceptionHandler()
+    {
+        ExceptionHandler<? super V> handler = exceptionHandler;
+        return handler == null ? ExceptionHandlers.defaultHandler() : handler;
+    }
+}
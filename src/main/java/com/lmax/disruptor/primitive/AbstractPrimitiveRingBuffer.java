@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+import com.lmax.disruptor.Cursored;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.MultiProducerSequencer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.Sequenced;
+import com.lmax.disruptor.Sequencer;
+import com.lmax.disruptor.SingleProducerSequencer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Sequencing shared by the ring buffers of primitive values.  Subclasses hold their values in a primitive
+ * array, so there is no event object to dereference and nothing is boxed on the way from publisher to handler.
+ *
+ * @param <V> the boxed type of the values, used only when reporting an exception.
+ * @param <H> the type of handler values are dispatched to.
+ */
+public abstract class AbstractPrimitiveRingBuffer<V, H> implements Cursored, Sequenced
+{
+    protected final Sequencer sequencer;
+    protected final int indexMask;
+
+    AbstractPrimitiveRingBuffer(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.indexMask = sequencer.getBufferSize() - 1;
+    }
+
+    static Sequencer createSequencer(final ProducerType producerType, final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return new SingleProducerSequencer(bufferSize, waitStrategy);
+            case MULTI:
+                return new MultiProducerSequencer(bufferSize, waitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Create a batch event processor that hands the values of this ring buffer to the given handler.
+     *
+     * @param sequenceBarrier on which it is waiting.
+     * @param eventHandler    is the delegate to which values are dispatched.
+     * @return a new event processor, whose sequence must be added as a gating sequence.
+     */
+    public abstract AbstractPrimitiveBatchEventProcessor<V> createEventProcessor(SequenceBarrier sequenceBarrier, H eventHandler);
+
+    /**
+     * Add the specified gating sequences to this instance of the ring buffer.  They will
+     * safely and atomically be added to the list of gating sequences.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <code>true</code> if this sequence was found, <code>false</code> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which values are available to be
+     * read from the ring buffer given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return sequencer.getBufferSize();
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    @Override
+    public long next()
+    {
+        return sequencer.next();
+    }
+
+    @Override
+    public long next(final int n)
+    {
+        return sequencer.next(n);
+    }
+
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return sequencer.tryNext();
+    }
+
+    @Override
+    public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        return sequencer.tryNext(n);
+    }
+
+    @Override
+    public void publish(final long sequence)
+    {
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public void publish(final long lo, final long hi)
+    {
+        sequencer.publish(lo, hi);
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "{" +
+            "sequencer=" + sequencer +
+            '}';
+    }
+}
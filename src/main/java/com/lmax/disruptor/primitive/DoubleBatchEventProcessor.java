@@ -0,0 +1,107 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.EventProcessor;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+
+/**
+ * Convenience class for handling the batching semantics of consuming values from a {@link DoubleRingBuffer}
+ * and delegating the available values to a {@link DoubleEventHandler}, the <code>double</code> counterpart of
+ * {@link BatchEventProcessor}.
+ */
+public final class DoubleBatchEventProcessor extends AbstractPrimitiveBatchEventProcessor<Double>
+{
+    private final DoubleRingBuffer ringBuffer;
+    private final DoubleEventHandler eventHandler;
+
+    /**
+     * Construct a {@link EventProcessor} that will automatically track the progress by updating its sequence when
+     * the {@link DoubleEventHandler#onEvent(double, long, boolean)} method returns.
+     *
+     * @param ringBuffer      to which values are published.
+     * @param sequenceBarrier on which it is waiting.
+     * @param eventHandler    is the delegate to which values are dispatched.
+     */
+    public DoubleBatchEventProcessor(
+        final DoubleRingBuffer ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final DoubleEventHandler eventHandler)
+    {
+        super(sequenceBarrier, eventHandler);
+        this.ringBuffer = ringBuffer;
+        this.eventHandler = eventHandler;
+    }
+
+    @Override
+    void processEvents()
+    {
+        long nextSequence = sequence.get() + 1L;
+
+        while (true)
+        {
+            try
+            {
+                final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                if (batchStartAware != null && availableSequence >= nextSequence)
+                {
+                    batchStartAware.onBatchStart(availableSequence - nextSequence + 1);
+                }
+
+                if (!sequenceBarrier.hasCancelled(nextSequence, availableSequence))
+                {
+                    while (nextSequence <= availableSequence)
+                    {
+                        eventHandler.onEvent(ringBuffer.get(nextSequence), nextSequence, nextSequence == availableSequence);
+                        nextSequence++;
+                    }
+                }
+                else
+                {
+                    nextSequence = nextUncancelledSequence(nextSequence, availableSequence);
+                    while (nextSequence <= availableSequence)
+                    {
+                        final long followingSequence = nextUncancelledSequence(nextSequence + 1, availableSequence);
+                        eventHandler.onEvent(ringBuffer.get(nextSequence), nextSequence, followingSequence > availableSequence);
+                        nextSequence = followingSequence;
+                    }
+                }
+
+                sequence.set(availableSequence);
+            }
+            catch (final TimeoutException e)
+            {
+                notifyTimeout(sequence.get());
+            }
+            catch (final AlertException ex)
+            {
+                if (isHalted())
+                {
+                    break;
+                }
+            }
+            catch (final Throwable ex)
+            {
+                handleEventException(ex, nextSequence, ringBuffer.get(nextSequence));
+                sequence.set(nextSequence);
+                nextSequence++;
+            }
+        }
+    }
+}
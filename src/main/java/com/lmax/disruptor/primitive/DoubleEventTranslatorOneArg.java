@@ -0,0 +1,34 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+/**
+ * Implementations produce the <code>double</code> value to publish to a {@link DoubleRingBuffer} from a user supplied argument.
+ *
+ * @param <A> type first user specified argument to the translator.
+ * @see DoubleEventTranslator
+ */
+public interface DoubleEventTranslatorOneArg<A>
+{
+    /**
+     * Produce the value to be stored at the given sequence.
+     *
+     * @param sequence that is assigned to the value.
+     * @param arg0     The first user specified argument to the translator
+     * @return the value to publish.
+     */
+    double translateTo(long sequence, A arg0);
+}
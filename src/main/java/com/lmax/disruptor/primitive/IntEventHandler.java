@@ -0,0 +1,37 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * Callback interface to be implemented for processing values from a {@link IntRingBuffer}, the
+ * <code>int</code> counterpart of {@link EventHandler}.
+ *
+ * @see IntBatchEventProcessor
+ */
+public interface IntEventHandler
+{
+    /**
+     * Called when a publisher has published a value to the {@link IntRingBuffer}.
+     *
+     * @param value      published to the {@link IntRingBuffer}
+     * @param sequence   of the value being processed
+     * @param endOfBatch flag to indicate if this is the last value in a batch from the {@link IntRingBuffer}
+     * @throws Exception if the handler wants the exception handled further up the chain.
+     */
+    void onEvent(int value, long sequence, boolean endOfBatch) throws Exception;
+}
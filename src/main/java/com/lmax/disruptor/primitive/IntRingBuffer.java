@@ -0,0 +1,233 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.Sequencer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Ring buffer of <code>int</code> values held in a <code>int[]</code>, the primitive counterpart of a
+ * {@link RingBuffer} of single value events.  Values are read straight out of the array by a
+ * {@link IntBatchEventProcessor}, so there is no event object to dereference.
+ */
+public final class IntRingBuffer extends AbstractPrimitiveRingBuffer<Integer, IntEventHandler>
+{
+    // 4 byte values, so 128 bytes either side to keep other objects off the values' cache lines
+    private static final int BUFFER_PAD = 32;
+
+    private final int[] entries;
+
+    private IntRingBuffer(final Sequencer sequencer)
+    {
+        super(sequencer);
+        this.entries = new int[sequencer.getBufferSize() + 2 * BUFFER_PAD];
+    }
+
+    /**
+     * Create a new ring buffer with the specified producer type.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize   number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static IntRingBuffer create(final ProducerType producerType, final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return new IntRingBuffer(createSequencer(producerType, bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new single producer ring buffer.
+     *
+     * @param bufferSize   number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static IntRingBuffer createSingleProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return create(ProducerType.SINGLE, bufferSize, waitStrategy);
+    }
+
+    /**
+     * Create a new multiple producer ring buffer.
+     *
+     * @param bufferSize   number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static IntRingBuffer createMultiProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return create(ProducerType.MULTI, bufferSize, waitStrategy);
+    }
+
+    /**
+     * Get the value for a given sequence.
+     *
+     * @param sequence for the value
+     * @return the value at the given sequence
+     */
+    public int get(final long sequence)
+    {
+        return entries[BUFFER_PAD + ((int) sequence & indexMask)];
+    }
+
+    /**
+     * Set the value for a sequence claimed with {@link IntRingBuffer#next()}, before publishing it.
+     *
+     * @param sequence claimed for the value
+     * @param value    to store
+     */
+    public void set(final long sequence, final int value)
+    {
+        entries[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+    }
+
+    /**
+     * Claim the next sequence, store the value and publish it.
+     *
+     * @param value to publish.
+     */
+    public void publishEvent(final int value)
+    {
+        final long sequence = sequencer.next();
+        set(sequence, value);
+        sequencer.publish(sequence);
+    }
+
+    /**
+     * Attempt to claim the next sequence, store the value and publish it.  Returns false
+     * without waiting if there is no space.
+     *
+     * @param value to publish.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublishEvent(final int value)
+    {
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        set(sequence, value);
+        sequencer.publish(sequence);
+        return true;
+    }
+
+    /**
+     * Claim the next sequence, store the value produced by the translator and publish it.
+     *
+     * @param translator produces the value.
+     */
+    public void publishEvent(final IntEventTranslator translator)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(translator, sequence);
+    }
+
+    /**
+     * Attempt to claim the next sequence, store the value produced by the translator and publish it.
+     * Returns false without waiting if there is no space.
+     *
+     * @param translator produces the value.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublishEvent(final IntEventTranslator translator)
+    {
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence);
+        return true;
+    }
+
+    /**
+     * Claim the next sequence, store the value produced by the translator and publish it.
+     *
+     * @param <A> Class of the user supplied argument.
+     * @param translator produces the value.
+     * @param arg0       A user supplied argument.
+     */
+    public <A> void publishEvent(final IntEventTranslatorOneArg<A> translator, final A arg0)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(translator, sequence, arg0);
+    }
+
+    /**
+     * Attempt to claim the next sequence, store the value produced by the translator and publish it.
+     * Returns false without waiting if there is no space.
+     *
+     * @param <A> Class of the user supplied argument.
+     * @param translator produces the value.
+     * @param arg0       A user supplied argument.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public <A> boolean tryPublishEvent(final IntEventTranslatorOneArg<A> translator, final A arg0)
+    {
+        final long sequence = sequencer.tryNextOrNegative();
+        if (sequence < 0)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence, arg0);
+        return true;
+    }
+
+    @Override
+    public IntBatchEventProcessor createEventProcessor(final SequenceBarrier sequenceBarrier, final IntEventHandler eventHandler)
+    {
+        return new IntBatchEventProcessor(this, sequenceBarrier, eventHandler);
+    }
+
+    private void translateAndPublish(final IntEventTranslator translator, final long sequence)
+    {
+        try
+        {
+            set(sequence, translator.translateTo(sequence));
+        }
+        catch (final Throwable t)
+        {
+            sequencer.cancel(sequence);
+            throw t;
+        }
+        sequencer.publish(sequence);
+    }
+
+    private <A> void translateAndPublish(final IntEventTranslatorOneArg<A> translator, final long sequence, final A arg0)
+    {
+        try
+        {
+            set(sequence, translator.translateTo(sequence, arg0));
+        }
+        catch (final Throwable t)
+        {
+            sequencer.cancel(sequence);
+            throw t;
+        }
+        sequencer.publish(sequence);
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Ring buffers of primitive <code>long</code>, <code>int</code> and <code>double</code> values.
+ *
+ * <p>Each value is held directly in a primitive array rather than in an event object, so a handler is
+ * given the value itself, without a pointer chase or boxing.
+ * <pre>{@code
+ *  LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(1024, new BlockingWaitStrategy());
+ *  PrimitiveDisruptor<Long, LongEventHandler> disruptor = new PrimitiveDisruptor<>(ringBuffer, DaemonThreadFactory.INSTANCE);
+ *  disruptor.handleEventsWith((value, sequence, endOfBatch) -> System.out.println("Price: " + value));
+ *  disruptor.start();
+ *  ringBuffer.publishEvent(1234L);
+ * }</pre>
+ */
+package com.lmax.disruptor.primitive;
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.util;
+
+import com.lmax.disruptor.Sequence;
+
+/**
+ * Measures, once per JVM, how long one iteration of a spin wait loop takes on this host, so spin budgets can be
+ * given as a time rather than a count.
+ *
+ * <p>A spin wait iteration is a volatile read and a <code>Thread.onSpinWait()</code>, which on x86 is a PAUSE
+ * instruction.  The cost of PAUSE varies roughly tenfold between CPU generations, so a fixed count of spins means
+ * very different wall clock waits on different hosts.  Calibration runs the first time it is needed, taking a few
+ * milliseconds, and keeps the fastest of several timed rounds as the least disturbed by the scheduler.
+ */
+public final class SpinWaitCalibration
+{
+    private static final int WARM_UP_ITERATIONS = 100_000;
+    private static final int ROUND_ITERATIONS = 20_000;
+    private static final int ROUNDS = 5;
+    private static final long PICOS_PER_NANO = 1000;
+
+    private SpinWaitCalibration()
+    {
+    }
+
+    /**
+     * @return the measured time of one spin wait iteration, in picoseconds, at least 1.
+     */
+    public static long spinWaitPicos()
+    {
+        return Calibrated.SPIN_WAIT_PICOS;
+    }
+
+    /**
+     * Convert a spin budget to the number of spin wait iterations that take that long on this host.
+     *
+     * @param nanos the time to spin for, in nanoseconds.
+     * @return the number of iterations, 0 for budgets that are not positive and at most <code>Integer.MAX_VALUE</code>.
+     */
+    public static int spinsFor(final long nanos)
+    {
+        return spinsFor(nanos, spinWaitPicos());
+    }
+
+    static int spinsFor(final long nanos, final long spinWaitPicos)
+    {
+        if (nanos <= 0)
+        {
+            return 0;
+        }
+
+        final long picos = nanos > Long.MAX_VALUE / PICOS_PER_NANO ? Long.MAX_VALUE : nanos * PICOS_PER_NANO;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, picos / spinWaitPicos));
+    }
+
+    static long calibrate()
+    {
+        final Sequence sequence = new Sequence();
+        spin(sequence, WARM_UP_ITERATIONS);
+
+        long fastestRoundNanos = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            final long start = System.nanoTime();
+            spin(sequence, ROUND_ITERATIONS);
+            fastestRoundNanos = Math.min(fastestRoundNanos, System.nanoTime() - start);
+        }
+
+        return Math.max(1, fastestRoundNanos * PICOS_PER_NANO / ROUND_ITERATIONS);
+    }
+
+    private static void spin(final Sequence sequence, final int iterations)
+    {
+        // the same shape as a wait strategy's spin loop, checking a sequence that never reaches the target
+        for (int i = 0; i < iterations && sequence.get() < 0; i++)
+        {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Lazy holder, so only strategies that use calibrated budgets pay for calibration.
+     */
+    private static final class Calibrated
+    {
+        private static final long SPIN_WAIT_PICOS = calibrate();
+    }
+}
@@ -1,5 +1,6 @@
 module com.lmax.disruptor {
     exports com.lmax.disruptor;
     exports com.lmax.disruptor.dsl;
+    exports com.lmax.disruptor.primitive;
     exports com.lmax.disruptor.util;
 }
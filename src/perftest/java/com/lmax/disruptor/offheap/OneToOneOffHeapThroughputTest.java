@@ -3,20 +3,17 @@ package com.lmax.disruptor.offheap;
 import com.lmax.disruptor.AbstractPerfTestDisruptor;
 import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.BatchStartAware;
-import com.lmax.disruptor.DataProvider;
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.OffHeapEventTranslatorOneArg;
+import com.lmax.disruptor.OffHeapFlyweight;
+import com.lmax.disruptor.OffHeapRingBuffer;
 import com.lmax.disruptor.PerfTestContext;
-import com.lmax.disruptor.Sequence;
-import com.lmax.disruptor.SequenceBarrier;
-import com.lmax.disruptor.Sequencer;
-import com.lmax.disruptor.SingleProducerSequencer;
-import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 import com.lmax.disruptor.util.PaddedLong;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -30,23 +27,25 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
     private static final long ITERATIONS = 1000 * 1000 * 10L;
 
     private final Executor executor = Executors.newFixedThreadPool(1, DaemonThreadFactory.INSTANCE);
-    private final WaitStrategy waitStrategy = new YieldingWaitStrategy();
     private final OffHeapRingBuffer buffer =
-        new OffHeapRingBuffer(new SingleProducerSequencer(BUFFER_SIZE, waitStrategy), BLOCK_SIZE);
-    private final ByteBufferHandler handler = new ByteBufferHandler();
-    private final BatchEventProcessor<ByteBuffer> processor =
-            new BatchEventProcessor<>(buffer, buffer.newBarrier(), handler);
+        OffHeapRingBuffer.create(ProducerType.SINGLE, BUFFER_SIZE, BLOCK_SIZE, new YieldingWaitStrategy());
+    private final BlockHandler handler = new BlockHandler();
+    private final BatchEventProcessor<Block> processor =
+            new BatchEventProcessor<>(buffer.dataProvider(new Block()), buffer.newBarrier(), handler);
 
     {
         buffer.addGatingSequences(processor.getSequence());
     }
 
     private final Random r = new Random(1);
-    private final byte[] data = new byte[BLOCK_SIZE];
+    private final long[] data = new long[BLOCK_SIZE / 8];
 
     public OneToOneOffHeapThroughputTest()
     {
-        r.nextBytes(data);
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = r.nextLong();
+        }
     }
 
     @Override
@@ -59,7 +58,7 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
     protected PerfTestContext runDisruptorPass() throws Exception
     {
         PerfTestContext perfTestContext = new PerfTestContext();
-        byte[] data = this.data;
+        long[] data = this.data;
 
         final CountDownLatch latch = new CountDownLatch(1);
         long expectedCount = processor.getSequence().get() + ITERATIONS;
@@ -71,7 +70,7 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
 
         for (long i = 0; i < ITERATIONS; i++)
         {
-            rb.put(data);
+            rb.publishEvent(Block.TRANSLATOR, data);
         }
 
         latch.await();
@@ -96,7 +95,38 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
         new OneToOneOffHeapThroughputTest().testImplementations();
     }
 
-    public static class ByteBufferHandler implements EventHandler<ByteBuffer>, BatchStartAware
+    public static final class Block implements OffHeapFlyweight
+    {
+        private static final OffHeapEventTranslatorOneArg<long[]> TRANSLATOR = (buffer, offset, sequence, data) ->
+        {
+            for (int i = 0; i < data.length; i++)
+            {
+                buffer.putLong(offset + i * 8, data[i]);
+            }
+        };
+
+        private ByteBuffer buffer;
+        private int offset;
+
+        @Override
+        public void wrap(final ByteBuffer buffer, final int offset)
+        {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        public long sum()
+        {
+            long sum = 0;
+            for (int i = offset, size = offset + BLOCK_SIZE; i < size; i += 8)
+            {
+                sum += buffer.getLong(i);
+            }
+            return sum;
+        }
+    }
+
+    public static class BlockHandler implements EventHandler<Block>, BatchStartAware
     {
         private final PaddedLong total = new PaddedLong();
         private final PaddedLong batchesProcessed = new PaddedLong();
@@ -104,13 +134,9 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
         private CountDownLatch latch;
 
         @Override
-        public void onEvent(final ByteBuffer event, final long sequence, final boolean endOfBatch) throws Exception
+        public void onEvent(final Block event, final long sequence, final boolean endOfBatch) throws Exception
         {
-            final int start = event.position();
-            for (int i = start, size = start + BLOCK_SIZE; i < size; i += 8)
-            {
-                total.set(total.get() + event.getLong(i));
-            }
+            total.set(total.get() + event.sum());
 
             if (--expectedCount == 0)
             {
@@ -142,70 +168,4 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
             batchesProcessed.increment();
         }
     }
-
-    public static class OffHeapRingBuffer implements DataProvider<ByteBuffer>
-    {
-        private final Sequencer sequencer;
-        private final int entrySize;
-        private final ByteBuffer buffer;
-        private final int mask;
-
-        private final ThreadLocal<ByteBuffer> perThreadBuffer = new ThreadLocal<>()
-        {
-            @Override
-            protected ByteBuffer initialValue()
-            {
-                return buffer.duplicate().order(ByteOrder.nativeOrder());
-            }
-        };
-
-        public OffHeapRingBuffer(final Sequencer sequencer, final int entrySize)
-        {
-            this.sequencer = sequencer;
-            this.entrySize = entrySize;
-            this.mask = sequencer.getBufferSize() - 1;
-            buffer = ByteBuffer.allocateDirect(sequencer.getBufferSize() * entrySize).order(ByteOrder.nativeOrder());
-        }
-
-        public void addGatingSequences(final Sequence sequence)
-        {
-            sequencer.addGatingSequences(sequence);
-        }
-
-        public SequenceBarrier newBarrier()
-        {
-            return sequencer.newBarrier();
-        }
-
-        @Override
-        public ByteBuffer get(final long sequence)
-        {
-            int index = index(sequence);
-            int position = index * entrySize;
-            int limit = position + entrySize;
-
-            ByteBuffer byteBuffer = perThreadBuffer.get();
-            byteBuffer.position(position).limit(limit);
-
-            return byteBuffer;
-        }
-
-        public void put(final byte[] data)
-        {
-            long next = sequencer.next();
-            try
-            {
-                get(next).put(data);
-            }
-            finally
-            {
-                sequencer.publish(next);
-            }
-        }
-
-        private int index(final long next)
-        {
-            return (int) (next & mask);
-        }
-    }
 }
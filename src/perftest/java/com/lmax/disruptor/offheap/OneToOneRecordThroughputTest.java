@@ -0,0 +1,144 @@
+package com.lmax.disruptor.offheap;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.PerfTestContext;
+import com.lmax.disruptor.RecordHandler;
+import com.lmax.disruptor.RecordProcessor;
+import com.lmax.disruptor.RecordRingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.PaddedLong;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Variable length records of 40 bytes to 4 KB through a {@link RecordRingBuffer}, compare with the fixed
+ * size slots of {@link OneToOneOffHeapThroughputTest}.
+ */
+public class OneToOneRecordThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int MIN_RECORD_SIZE = 40;
+    private static final int MAX_RECORD_SIZE = 4096;
+    private static final int CAPACITY = 1024 * 1024 * 16;
+    private static final long ITERATIONS = 1000 * 1000 * 10L;
+    private static final int LENGTH_COUNT = 1024;
+
+    private final Executor executor = Executors.newFixedThreadPool(1, DaemonThreadFactory.INSTANCE);
+    private final WaitStrategy waitStrategy = new YieldingWaitStrategy();
+    private final RecordRingBuffer buffer = RecordRingBuffer.create(ProducerType.SINGLE, CAPACITY, waitStrategy);
+    private final RecordCountingHandler handler = new RecordCountingHandler();
+    private final RecordProcessor processor = new RecordProcessor(buffer, buffer.newBarrier(), handler);
+
+    {
+        buffer.addGatingSequences(processor.getSequence());
+    }
+
+    private final byte[] data = new byte[MAX_RECORD_SIZE];
+    private final int[] lengths = new int[LENGTH_COUNT];
+
+    public OneToOneRecordThroughputTest()
+    {
+        final Random r = new Random(1);
+        r.nextBytes(data);
+        for (int i = 0; i < LENGTH_COUNT; i++)
+        {
+            lengths[i] = MIN_RECORD_SIZE + r.nextInt(MAX_RECORD_SIZE - MIN_RECORD_SIZE + 1);
+        }
+    }
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return 2;
+    }
+
+    @Override
+    protected PerfTestContext runDisruptorPass() throws Exception
+    {
+        PerfTestContext perfTestContext = new PerfTestContext();
+        byte[] data = this.data;
+        int[] lengths = this.lengths;
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        handler.reset(latch, ITERATIONS);
+        executor.execute(processor);
+        long start = System.currentTimeMillis();
+
+        final RecordRingBuffer rb = buffer;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            rb.publish(data, 0, lengths[(int) i & (LENGTH_COUNT - 1)]);
+        }
+
+        latch.await();
+        perfTestContext.setDisruptorOps((ITERATIONS * 1000L) / (System.currentTimeMillis() - start));
+        perfTestContext.setBatchData(handler.getBatchesProcessed(), ITERATIONS);
+        waitForProcessorSequence(rb.getCursor());
+        processor.halt();
+
+        return perfTestContext;
+    }
+
+    private void waitForProcessorSequence(final long expectedSequence)
+    {
+        while (processor.getSequence().get() < expectedSequence)
+        {
+            LockSupport.parkNanos(1);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        new OneToOneRecordThroughputTest().testImplementations();
+    }
+
+    public static class RecordCountingHandler implements RecordHandler
+    {
+        private final PaddedLong total = new PaddedLong();
+        private final PaddedLong batchesProcessed = new PaddedLong();
+        private long expectedCount;
+        private CountDownLatch latch;
+
+        @Override
+        public void onRecord(final ByteBuffer buffer, final int offset, final int length, final long sequence, final boolean endOfBatch)
+        {
+            total.set(total.get() + buffer.getLong(offset) + length);
+
+            if (endOfBatch)
+            {
+                batchesProcessed.increment();
+            }
+
+            if (--expectedCount == 0)
+            {
+                latch.countDown();
+            }
+        }
+
+        public long getTotal()
+        {
+            return total.get();
+        }
+
+        public long getBatchesProcessed()
+        {
+            return batchesProcessed.get();
+        }
+
+        public void reset(final CountDownLatch latch, final long expectedCount)
+        {
+            this.latch = latch;
+            this.expectedCount = expectedCount;
+            this.total.set(0);
+            this.batchesProcessed.set(0);
+        }
+    }
+}
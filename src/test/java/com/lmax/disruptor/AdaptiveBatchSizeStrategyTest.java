@@ -0,0 +1,78 @@
+package com.lmax.disruptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdaptiveBatchSizeStrategyTest
+{
+    private long nanoTime = 0;
+    private final AdaptiveBatchSizeStrategy strategy = new AdaptiveBatchSizeStrategy(10_000, 8, 1024, () -> nanoTime);
+
+    @Test
+    public void shouldStartAtMaximumBatchSize()
+    {
+        assertEquals(1024, strategy.nextBatchSize(5000));
+    }
+
+    @Test
+    public void shouldShrinkBatchToTargetTimeForExpensiveEvents()
+    {
+        processBatch(5000, 100);
+
+        assertEquals(100L, strategy.getNanosPerEvent());
+        assertEquals(100, strategy.getBatchSize());
+    }
+
+    @Test
+    public void shouldGrowBatchAsEventsGetCheaper()
+    {
+        processBatch(5000, 100);
+        for (int i = 0; i < 50; i++)
+        {
+            processBatch(5000, 20);
+        }
+
+        assertEquals(20L, strategy.getNanosPerEvent());
+        assertEquals(500, strategy.getBatchSize());
+    }
+
+    @Test
+    public void shouldStayWithinBounds()
+    {
+        processBatch(5000, 10_000);
+        assertEquals(8, strategy.getBatchSize());
+
+        final AdaptiveBatchSizeStrategy cheap = new AdaptiveBatchSizeStrategy(10_000, 8, 64, () -> nanoTime);
+        cheap.nextBatchSize(5000);
+        nanoTime += 64;
+        cheap.onBatchProcessed(64);
+        assertEquals(64, cheap.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotLearnFromBatchesThatWereNotLimited()
+    {
+        strategy.nextBatchSize(10);
+        nanoTime += 1_000_000;
+        strategy.onBatchProcessed(10);
+
+        assertEquals(0L, strategy.getNanosPerEvent());
+        assertEquals(1024, strategy.getBatchSize());
+    }
+
+    @Test
+    public void shouldRejectInvalidBounds()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizeStrategy(10_000, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizeStrategy(10_000, 16, 8));
+    }
+
+    private void processBatch(final long available, final long nanosPerEvent)
+    {
+        final int batchSize = strategy.nextBatchSize(available);
+        nanoTime += batchSize * nanosPerEvent;
+        strategy.onBatchProcessed(batchSize);
+    }
+}
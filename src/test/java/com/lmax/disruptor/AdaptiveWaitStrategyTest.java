@@ -0,0 +1,73 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.DummySequenceBarrier;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveWaitStrategyTest
+{
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new AdaptiveWaitStrategy(100, TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void shouldReportInitialThresholdsForUnknownBarrier()
+    {
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(500, 10, 100, TimeUnit.MICROSECONDS);
+        final SequenceBarrier barrier = new DummySequenceBarrier();
+
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(10), strategy.getSpinNanos(barrier));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(100), strategy.getYieldNanos(barrier));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500), strategy.getSleepNanos(barrier));
+    }
+
+    @Test
+    public void shouldStopSpinningAndYieldingWhenEventsArriveSlowly() throws Exception
+    {
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(1, 20, 200, TimeUnit.MICROSECONDS);
+        final SequenceBarrier barrier = new DummySequenceBarrier();
+        final Sequence dependentSequence = new Sequence(-1);
+
+        for (long sequence = 0; sequence < 5; sequence++)
+        {
+            final long toPublish = sequence;
+            final Thread publisher = new Thread(() ->
+            {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                dependentSequence.set(toPublish);
+            });
+            publisher.start();
+
+            assertEquals(sequence, strategy.waitFor(sequence, dependentSequence, dependentSequence, barrier));
+            publisher.join();
+        }
+
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1), strategy.getSpinNanos(barrier));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1), strategy.getYieldNanos(barrier));
+        assertTrue(strategy.getSleepNanos(barrier) <= TimeUnit.MICROSECONDS.toNanos(1));
+    }
+
+    @Test
+    public void shouldNotWaitWhenSequenceIsAvailable() throws Exception
+    {
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(1, TimeUnit.MILLISECONDS);
+        final Sequence dependentSequence = new Sequence(7);
+
+        assertEquals(7L, strategy.waitFor(3, dependentSequence, dependentSequence, new DummySequenceBarrier()));
+    }
+
+    @Test
+    public void shouldRejectNonPositiveLatencyTarget()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveWaitStrategy(0, TimeUnit.MICROSECONDS));
+    }
+}
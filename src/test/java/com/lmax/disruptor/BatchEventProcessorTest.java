@@ -203,7 +203,7 @@ public final class BatchEventProcessorTest
         WaitStrategy waitStrategy = new BusySpinWaitStrategy();
         final SingleProducerSequencer sequencer = new SingleProducerSequencer(8, waitStrategy);
         final ProcessingSequenceBarrier barrier = new ProcessingSequenceBarrier(
-            sequencer, waitStrategy, new Sequence(-1), new Sequence[0]);
+            sequencer, waitStrategy, new SleepingProducerWaitStrategy(), new PendingClaims(sequencer), new Sequence(-1), new Sequence[0]);
         DataProvider<Object> dp = sequence -> null;
 
         final LatchLifeCycleHandler h1 = new LatchLifeCycleHandler();
@@ -304,6 +304,162 @@ public final class BatchEventProcessorTest
         assertThat(eventHandler.batchSizeToCountMap.get(0L), nullValue());
     }
 
+    @Test
+    public void shouldSkipCancelledSequences()
+        throws Exception
+    {
+        final List<String> events = new ArrayList<>();
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessor<>(
+                ringBuffer, sequenceBarrier, (event, sequence, endOfBatch) -> events.add(sequence + ":" + endOfBatch));
+
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.cancel(ringBuffer.next());
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.cancel(ringBuffer.next());
+
+        Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        while (batchEventProcessor.getSequence().get() < 3)
+        {
+            Thread.yield();
+        }
+
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList("0:false", "2:true"), events);
+    }
+
+    @Test
+    public void shouldLimitBatchSizeAndPublishProgressAfterEachBatch()
+        throws Exception
+    {
+        final List<String> batches = new ArrayList<>();
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessor<>(
+                ringBuffer, sequenceBarrier, (event, sequence, endOfBatch) ->
+                {
+                    if (endOfBatch)
+                    {
+                        batches.add("end " + sequence);
+                    }
+                });
+        final Sequence processorSequence = batchEventProcessor.getSequence();
+        batchEventProcessor.setBatchSizeStrategy(new FixedBatchSizeStrategy(4));
+
+        for (int i = 0; i < 10; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        while (processorSequence.get() < 9)
+        {
+            Thread.yield();
+        }
+
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList("end 3", "end 7", "end 9"), batches);
+    }
+
+    @Test
+    public void shouldReportLimitedBatchSizesAtBatchStartTime()
+        throws Exception
+    {
+        final List<String> batches = new ArrayList<>();
+        final class ProgressRecordingEventHandler implements EventHandler<StubEvent>, BatchStartAware
+        {
+            private BatchEventProcessor<StubEvent> processor;
+
+            @Override
+            public void onBatchStart(final long batchSize)
+            {
+                batches.add(batchSize + "@" + processor.getSequence().get());
+            }
+
+            @Override
+            public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+            {
+            }
+        }
+
+        final ProgressRecordingEventHandler eventHandler = new ProgressRecordingEventHandler();
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessor<>(
+                ringBuffer, sequenceBarrier, eventHandler);
+        eventHandler.processor = batchEventProcessor;
+        batchEventProcessor.setBatchSizeStrategy(new FixedBatchSizeStrategy(4));
+
+        for (int i = 0; i < 10; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        while (batchEventProcessor.getSequence().get() < 9)
+        {
+            Thread.yield();
+        }
+
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList("4@-1", "4@3", "2@7"), batches);
+    }
+
+    @Test
+    public void shouldReportLostEventsAndResumeWhenLapped()
+        throws Exception
+    {
+        final RingBuffer<StubEvent> overwritingRingBuffer =
+            RingBuffer.createSingleProducerOverwriting(StubEvent.EVENT_FACTORY, 4, new BlockingWaitStrategy());
+        final List<String> events = new ArrayList<>();
+        final BatchEventProcessor<StubEvent> batchEventProcessor = new BatchEventProcessor<>(
+                overwritingRingBuffer, overwritingRingBuffer.newBarrier(), new OverrunAwareEventHandler(events));
+        overwritingRingBuffer.addGatingSequences(batchEventProcessor.getSequence());
+
+        for (int i = 0; i < 10; i++)
+        {
+            overwritingRingBuffer.publish(overwritingRingBuffer.next());
+        }
+
+        Thread thread = new Thread(batchEventProcessor);
+        thread.start();
+        while (batchEventProcessor.getSequence().get() < 9)
+        {
+            Thread.yield();
+        }
+
+        batchEventProcessor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList("lost 0+6", "6", "7", "8", "9"), events);
+    }
+
+    private static class OverrunAwareEventHandler implements EventHandler<StubEvent>, OverrunHandler
+    {
+        private final List<String> events;
+
+        OverrunAwareEventHandler(final List<String> events)
+        {
+            this.events = events;
+        }
+
+        @Override
+        public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+        {
+            events.add(String.valueOf(sequence));
+        }
+
+        @Override
+        public void onOverrun(final long sequence, final long lostCount)
+        {
+            events.add("lost " + sequence + "+" + lostCount);
+        }
+    }
+
     private static class DelegatingSequenceBarrier implements SequenceBarrier
     {
         private SequenceBarrier delegate;
@@ -328,6 +484,24 @@ public final class BatchEventProcessorTest
             return delegate.getCursor();
         }
 
+        @Override
+        public boolean isCancelled(final long sequence)
+        {
+            return delegate.isCancelled(sequence);
+        }
+
+        @Override
+        public boolean canBeLapped()
+        {
+            return delegate.canBeLapped();
+        }
+
+        @Override
+        public void checkOverrun(final long sequence)
+        {
+            delegate.checkOverrun(sequence);
+        }
+
         @Override
         public boolean isAlerted()
         {
@@ -0,0 +1,79 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockingProducerWaitStrategyTest
+{
+    private static final int BUFFER_SIZE = 4;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldWakeSingleProducerWhenConsumerReturnsToBarrier() throws Exception
+    {
+        final ProducerWaitStrategy producerWaitStrategy = new BlockingProducerWaitStrategy(1, TimeUnit.MINUTES);
+        assertPublisherWokenByBarrier(new SingleProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy));
+    }
+
+    @Test
+    public void shouldWakeMultiProducerWhenConsumerReturnsToBarrier() throws Exception
+    {
+        final ProducerWaitStrategy producerWaitStrategy = new BlockingProducerWaitStrategy(1, TimeUnit.MINUTES);
+        assertPublisherWokenByBarrier(new MultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy));
+    }
+
+    @Test
+    public void shouldRecheckGatingSequencesWithoutSignal() throws Exception
+    {
+        final ProducerWaitStrategy producerWaitStrategy = new BlockingProducerWaitStrategy(1, TimeUnit.MILLISECONDS);
+        final Sequencer sequencer = new MultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy);
+        final Sequence gatingSequence = new Sequence();
+        sequencer.addGatingSequences(gatingSequence);
+        sequencer.publish(0, sequencer.next(BUFFER_SIZE));
+
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        executor.submit(
+            () ->
+            {
+                sequencer.publish(sequencer.next());
+                doneLatch.countDown();
+            });
+
+        assertFalse(doneLatch.await(10, TimeUnit.MILLISECONDS));
+
+        gatingSequence.set(0);
+
+        assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+    }
+
+    private void assertPublisherWokenByBarrier(final Sequencer sequencer) throws Exception
+    {
+        final Sequence gatingSequence = new Sequence();
+        final SequenceBarrier barrier = sequencer.newBarrier();
+        sequencer.addGatingSequences(gatingSequence);
+        sequencer.publish(0, sequencer.next(BUFFER_SIZE));
+
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        executor.submit(
+            () ->
+            {
+                sequencer.publish(sequencer.next());
+                doneLatch.countDown();
+            });
+
+        assertFalse(doneLatch.await(10, TimeUnit.MILLISECONDS));
+
+        gatingSequence.setVolatile(0);
+        barrier.waitFor(1);
+
+        assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,130 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoalescingBlockingWaitStrategyTest
+{
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new CoalescingBlockingWaitStrategy(16, 100, TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void shouldNotWakeConsumerUntilEnoughEventsArePending() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(
+            StubEvent.EVENT_FACTORY, 16, new CoalescingBlockingWaitStrategy(4, 10, TimeUnit.SECONDS));
+        final AtomicLong available = new AtomicLong(Long.MIN_VALUE);
+        final CountDownLatch woken = waitOn(ringBuffer.newBarrier(), available);
+
+        Thread.sleep(50);
+        for (int i = 0; i < 3; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        assertFalse(woken.await(50, TimeUnit.MILLISECONDS));
+
+        ringBuffer.publish(ringBuffer.next());
+
+        assertTrue(woken.await(5, TimeUnit.SECONDS));
+        assertEquals(3L, available.get());
+    }
+
+    @Test
+    public void shouldWakeConsumerAfterMaxDelayWithFewerEventsPending() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(
+            StubEvent.EVENT_FACTORY, 16, new CoalescingBlockingWaitStrategy(8, 200, TimeUnit.MILLISECONDS));
+        final AtomicLong available = new AtomicLong(Long.MIN_VALUE);
+        final CountDownLatch woken = waitOn(ringBuffer.newBarrier(), available);
+
+        Thread.sleep(20);
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.publish(ringBuffer.next());
+
+        assertTrue(woken.await(5, TimeUnit.SECONDS));
+        assertEquals(1L, available.get());
+    }
+
+    @Test
+    public void shouldWakeIdleConsumerOnFirstPublish() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(
+            StubEvent.EVENT_FACTORY, 16, new CoalescingBlockingWaitStrategy(8, 1, TimeUnit.MILLISECONDS));
+        final AtomicLong available = new AtomicLong(Long.MIN_VALUE);
+        final CountDownLatch woken = waitOn(ringBuffer.newBarrier(), available);
+
+        Thread.sleep(50);
+        ringBuffer.publish(ringBuffer.next());
+
+        assertTrue(woken.await(5, TimeUnit.SECONDS));
+        assertEquals(0L, available.get());
+    }
+
+    @Test
+    public void shouldWakeConsumerWhenBarrierIsAlerted() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(
+            StubEvent.EVENT_FACTORY, 16, new CoalescingBlockingWaitStrategy(8, 1, TimeUnit.MILLISECONDS));
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final CountDownLatch alerted = new CountDownLatch(1);
+
+        new Thread(() ->
+        {
+            try
+            {
+                barrier.waitFor(0);
+            }
+            catch (final AlertException e)
+            {
+                alerted.countDown();
+            }
+            catch (final Exception e)
+            {
+                throw new RuntimeException(e);
+            }
+        }).start();
+
+        Thread.sleep(50);
+        barrier.alert();
+
+        assertTrue(alerted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRejectFewerThanOnePendingEvent()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingBlockingWaitStrategy(0, 1, TimeUnit.MILLISECONDS));
+    }
+
+    private static CountDownLatch waitOn(final SequenceBarrier barrier, final AtomicLong available)
+    {
+        final CountDownLatch woken = new CountDownLatch(1);
+        new Thread(() ->
+        {
+            try
+            {
+                available.set(barrier.waitFor(0));
+            }
+            catch (final Exception e)
+            {
+                throw new RuntimeException(e);
+            }
+            woken.countDown();
+        }).start();
+        return woken;
+    }
+}
@@ -0,0 +1,138 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldStoreEachColumnBySequenceAndWrap()
+    {
+        final ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(ProducerType.SINGLE, 4, new BlockingWaitStrategy());
+        final ColumnarRingBuffer.LongColumn id = ringBuffer.newLongColumn();
+        final ColumnarRingBuffer.IntColumn quantity = ringBuffer.newIntColumn();
+        final ColumnarRingBuffer.DoubleColumn price = ringBuffer.newDoubleColumn();
+        final ColumnarRingBuffer.BytesColumn symbol = ringBuffer.newBytesColumn(4);
+
+        for (int i = 0; i < 6; i++)
+        {
+            final long sequence = ringBuffer.next();
+            id.set(sequence, 1000L + i);
+            quantity.set(sequence, i * 10);
+            price.set(sequence, i / 4.0);
+            symbol.set(sequence, new byte[] {'A', 'B', (byte) i}, 0, 3);
+            ringBuffer.publish(sequence);
+        }
+
+        final ColumnarRingBuffer.Row row = ringBuffer.newRow();
+        assertSame(row, row.get(5));
+        assertEquals(5L, row.getSequence());
+        assertEquals(1005L, row.get(id));
+        assertEquals(50, row.get(quantity));
+        assertEquals(1.25, row.get(price), 0.0);
+        assertEquals(symbol.offset(5), row.offset(symbol));
+        assertEquals(symbol.offset(1), symbol.offset(5));
+
+        final byte[] copy = new byte[4];
+        symbol.get(5, copy, 0);
+        assertArrayEquals(new byte[] {'A', 'B', 5, 0}, copy);
+        assertEquals(1004L, id.get(4));
+    }
+
+    @Test
+    public void shouldRejectBytesLongerThanTheColumn()
+    {
+        final ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(ProducerType.SINGLE, 4, new BlockingWaitStrategy());
+        final ColumnarRingBuffer.BytesColumn symbol = ringBuffer.newBytesColumn(2);
+
+        assertThrows(IllegalArgumentException.class, () -> symbol.set(0, new byte[3], 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.newBytesColumn(0));
+    }
+
+    @Test
+    public void shouldConsumeRowsWithBatchEventProcessor() throws Exception
+    {
+        final int count = 10_000;
+        final ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(ProducerType.MULTI, 64, new BlockingWaitStrategy());
+        final ColumnarRingBuffer.LongColumn price = ringBuffer.newLongColumn();
+        final ColumnarRingBuffer.IntColumn quantity = ringBuffer.newIntColumn();
+        final AtomicLong notional = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(count);
+        final BatchEventProcessor<ColumnarRingBuffer.Row> processor = new BatchEventProcessor<>(
+            ringBuffer.newRow(),
+            ringBuffer.newBarrier(),
+            (row, sequence, endOfBatch) ->
+            {
+                notional.addAndGet(row.get(price) * row.get(quantity));
+                latch.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        final ColumnarRingBuffer.Row row = ringBuffer.newRow();
+        long expected = 0;
+        for (int i = 0; i < count; i++)
+        {
+            row.get(ringBuffer.next());
+            row.set(price, i);
+            row.set(quantity, 2);
+            ringBuffer.publish(row.getSequence());
+            expected += i * 2L;
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertEquals(expected, notional.get());
+    }
+
+    @Test
+    public void shouldCancelSequenceWhenTranslatorThrows() throws Exception
+    {
+        final ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(ProducerType.SINGLE, 4, new BlockingWaitStrategy());
+        final ColumnarRingBuffer.LongColumn price = ringBuffer.newLongColumn();
+        final AtomicLong total = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final BatchEventProcessor<ColumnarRingBuffer.Row> processor = new BatchEventProcessor<>(
+            ringBuffer.newRow(),
+            ringBuffer.newBarrier(),
+            (row, sequence, endOfBatch) ->
+            {
+                total.addAndGet(row.get(price));
+                latch.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final ColumnarRingBuffer.Row row = ringBuffer.newRow();
+        ringBuffer.publishEvent(row, (event, sequence) -> event.set(price, 1L));
+        assertThrows(IllegalStateException.class, () -> ringBuffer.publishEvent(row, (event, sequence) ->
+        {
+            event.set(price, 10L);
+            throw new IllegalStateException();
+        }));
+        assertTrue(ringBuffer.tryPublishEvent(row, (event, sequence) -> event.set(price, 100L)));
+        executor.submit(processor);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertEquals(2L, ringBuffer.getCursor());
+        assertTrue(ringBuffer.isCancelled(1));
+        assertEquals(101L, total.get());
+    }
+}
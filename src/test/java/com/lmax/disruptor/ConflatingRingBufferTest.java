@@ -0,0 +1,181 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConflatingRingBufferTest
+{
+    private static final EventTranslatorTwoArg<StubEvent, String, Integer> TRANSLATOR =
+        (event, sequence, key, value) ->
+        {
+            event.setTestString(key);
+            event.setValue(value);
+        };
+
+    @Test
+    public void shouldOnlyDeliverLatestValuePerKeyToLaggingProcessor() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 16);
+        final ConflatingRingBuffer<StubEvent, String> conflating = new ConflatingRingBuffer<>(ringBuffer);
+        final List<String> received = new ArrayList<>();
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessor<>(
+            ringBuffer, ringBuffer.newBarrier(),
+            (event, sequence, endOfBatch) -> received.add(event.getTestString() + event.getValue()));
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        publish(conflating, "A", 1);
+        publish(conflating, "B", 1);
+        publish(conflating, "A", 2);
+        publish(conflating, "A", 3);
+        publish(conflating, "B", 2);
+
+        final Thread thread = new Thread(processor);
+        thread.start();
+        while (processor.getSequence().get() < ringBuffer.getCursor())
+        {
+            Thread.yield();
+        }
+        processor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList("A3", "B2"), received);
+    }
+
+    @Test
+    public void shouldConflateThroughDisruptorDsl() throws Exception
+    {
+        final Disruptor<StubEvent> disruptor = new Disruptor<>(
+            StubEvent.EVENT_FACTORY, 16, DaemonThreadFactory.INSTANCE, ProducerType.SINGLE, new BlockingWaitStrategy());
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstBatch = new CountDownLatch(2);
+        final CountDownLatch secondBatch = new CountDownLatch(3);
+        disruptor.handleEventsWith((event, sequence, endOfBatch) ->
+        {
+            received.add(event.getTestString() + event.getValue());
+            firstBatch.countDown();
+            secondBatch.countDown();
+        });
+        final ConflatingRingBuffer<StubEvent, String> conflating = new ConflatingRingBuffer<>(disruptor.getRingBuffer());
+
+        publish(conflating, "A", 1);
+        publish(conflating, "A", 2);
+        publish(conflating, "B", 1);
+        disruptor.start();
+        try
+        {
+            assertTrue(firstBatch.await(10, TimeUnit.SECONDS));
+            publish(conflating, "A", 3);
+            assertTrue(secondBatch.await(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            disruptor.shutdown(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Arrays.asList("A2", "B1", "A3"), received);
+    }
+
+    @Test
+    public void shouldEndBatchOnLastDeliveredEventWhenTailIsSupersededInFlight() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 16);
+        final ConflatingRingBuffer<StubEvent, String> conflating = new ConflatingRingBuffer<>(ringBuffer);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch handlingFirst = new CountDownLatch(1);
+        final CountDownLatch superseded = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessor<>(
+            ringBuffer, ringBuffer.newBarrier(),
+            (event, sequence, endOfBatch) ->
+            {
+                if (sequence == 0)
+                {
+                    handlingFirst.countDown();
+                    superseded.await();
+                }
+                received.add(event.getTestString() + event.getValue() + ":" + endOfBatch);
+                done.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        publish(conflating, "A", 1);
+        publish(conflating, "B", 1);
+        publish(conflating, "B", 2);
+        publish(conflating, "C", 1);
+
+        final Thread thread = new Thread(processor);
+        thread.start();
+        assertTrue(handlingFirst.await(5, TimeUnit.SECONDS));
+        publish(conflating, "C", 2);
+        superseded.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        processor.halt();
+        thread.join();
+
+        assertEquals(Arrays.asList("A1:false", "B2:true", "C2:true"), received);
+    }
+
+    @Test
+    public void shouldCancelPreviousSequenceForSameKey()
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 4);
+        final ConflatingRingBuffer<StubEvent, String> conflating = new ConflatingRingBuffer<>(ringBuffer);
+
+        publish(conflating, "A", 1);
+        publish(conflating, "A", 2);
+
+        assertTrue(ringBuffer.isCancelled(0));
+        assertFalse(ringBuffer.isCancelled(1));
+    }
+
+    @Test
+    public void shouldCancelEventWhenTranslatorThrows()
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 4);
+        final ConflatingRingBuffer<StubEvent, String> conflating = new ConflatingRingBuffer<>(ringBuffer);
+
+        assertThrows(IllegalStateException.class, () -> conflating.publishEvent("A", (event, sequence) ->
+        {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(0L, ringBuffer.getCursor());
+        assertTrue(ringBuffer.isCancelled(0));
+    }
+
+    @Test
+    public void shouldFailToTryPublishWhenFull()
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 4);
+        ringBuffer.addGatingSequences(new Sequence());
+        final ConflatingRingBuffer<StubEvent, String> conflating = new ConflatingRingBuffer<>(ringBuffer);
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(conflating.tryPublishEvent("A", (event, sequence, value) -> event.setValue(value), i));
+        }
+
+        assertFalse(conflating.tryPublishEvent("A", (event, sequence) -> event.setValue(4)));
+    }
+
+    private static void publish(final ConflatingRingBuffer<StubEvent, String> conflating, final String key, final int value)
+    {
+        conflating.publishEvent(key, (event, sequence) -> TRANSLATOR.translateTo(event, sequence, key, value));
+    }
+}
@@ -4,6 +4,7 @@ import com.lmax.disruptor.EventPoller.PollState;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -67,4 +68,91 @@ public class EventPollerTest
 
         assertThat(events.size(), is(4));
     }
+
+    @Test
+    public void shouldSkipCancelledSequences() throws Exception
+    {
+        final ArrayList<String> events = new ArrayList<>();
+        final EventPoller.Handler<byte[]> handler = (event, sequence, endOfBatch) ->
+        {
+            events.add(sequence + ":" + endOfBatch);
+            return true;
+        };
+
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducer(() -> new byte[1], 4, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.cancel(ringBuffer.next());
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.cancel(ringBuffer.next());
+
+        assertThat(poller.poll(handler), is(PollState.PROCESSING));
+        assertThat(events, is(Arrays.asList("0:false", "2:true")));
+        assertThat(poller.getSequence().get(), is(3L));
+    }
+
+    @Test
+    public void shouldReportEventsLostToOverwritingPublisher() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducerOverwriting(() -> new byte[1], 4, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        final OverrunRecordingHandler handler = new OverrunRecordingHandler();
+
+        for (int i = 0; i < 6; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        assertThat(poller.poll(handler), is(PollState.PROCESSING));
+        assertThat(handler.events, is(Arrays.asList("lost 0+2", "2", "3", "4", "5")));
+        assertThat(poller.getSequence().get(), is(5L));
+    }
+
+    @Test
+    public void shouldReportEventOverwrittenWhileBeingHandled() throws Exception
+    {
+        final RingBuffer<byte[]> ringBuffer = RingBuffer.createSingleProducerOverwriting(() -> new byte[1], 4, new SleepingWaitStrategy());
+        final EventPoller<byte[]> poller = ringBuffer.newPoller();
+        final OverrunRecordingHandler handler = new OverrunRecordingHandler();
+        handler.onFirstEvent = () -> ringBuffer.publish(ringBuffer.next());
+
+        for (int i = 0; i < 4; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        assertThat(poller.poll(handler), is(PollState.PROCESSING));
+        assertThat(handler.events, is(Arrays.asList("0", "lost 0+1")));
+        assertThat(poller.getSequence().get(), is(0L));
+
+        assertThat(poller.poll(handler), is(PollState.PROCESSING));
+        assertThat(handler.events, is(Arrays.asList("0", "lost 0+1", "1", "2", "3", "4")));
+    }
+
+    private static class OverrunRecordingHandler implements EventPoller.Handler<byte[]>, OverrunHandler
+    {
+        private final ArrayList<String> events = new ArrayList<>();
+        private Runnable onFirstEvent;
+
+        @Override
+        public boolean onEvent(final byte[] event, final long sequence, final boolean endOfBatch)
+        {
+            events.add(String.valueOf(sequence));
+            if (null != onFirstEvent)
+            {
+                final Runnable action = onFirstEvent;
+                onFirstEvent = null;
+                action.run();
+            }
+            return true;
+        }
+
+        @Override
+        public void onOverrun(final long sequence, final long lostCount)
+        {
+            events.add("lost " + sequence + "+" + lostCount);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LockFreeBlockingWaitStrategyTest
+{
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new LockFreeBlockingWaitStrategy());
+    }
+
+    @Test
+    public void shouldWakeAllWaitingConsumers() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer =
+            RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 16, new LockFreeBlockingWaitStrategy());
+        final int consumers = 4;
+        final CountDownLatch woken = new CountDownLatch(consumers);
+        final AtomicInteger available = new AtomicInteger();
+
+        for (int i = 0; i < consumers; i++)
+        {
+            final SequenceBarrier barrier = ringBuffer.newBarrier();
+            new Thread(() ->
+            {
+                try
+                {
+                    if (barrier.waitFor(0) >= 0)
+                    {
+                        available.incrementAndGet();
+                    }
+                }
+                catch (final Exception e)
+                {
+                    throw new RuntimeException(e);
+                }
+                woken.countDown();
+            }).start();
+        }
+
+        Thread.sleep(50);
+        ringBuffer.publish(ringBuffer.next());
+
+        assertTrue(woken.await(5, TimeUnit.SECONDS));
+        assertEquals(consumers, available.get());
+    }
+
+    @Test
+    public void shouldWakeConsumerWhenBarrierIsAlerted() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer =
+            RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16, new LockFreeBlockingWaitStrategy());
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final CountDownLatch alerted = new CountDownLatch(1);
+
+        new Thread(() ->
+        {
+            try
+            {
+                barrier.waitFor(0);
+            }
+            catch (final AlertException e)
+            {
+                alerted.countDown();
+            }
+            catch (final Exception e)
+            {
+                throw new RuntimeException(e);
+            }
+        }).start();
+
+        Thread.sleep(50);
+        barrier.alert();
+
+        assertTrue(alerted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRequireStoreLoadBeforeSignalWhenUsedDirectlyOrAsFallback()
+    {
+        assertTrue(new LockFreeBlockingWaitStrategy().requiresStoreLoadBeforeSignal());
+        assertTrue(new PhasedBackoffWaitStrategy(1, 1, TimeUnit.MILLISECONDS, new LockFreeBlockingWaitStrategy())
+            .requiresStoreLoadBeforeSignal());
+        assertFalse(new BlockingWaitStrategy().requiresStoreLoadBeforeSignal());
+        assertFalse(PhasedBackoffWaitStrategy.withLock(1, 1, TimeUnit.MILLISECONDS).requiresStoreLoadBeforeSignal());
+    }
+}
@@ -0,0 +1,109 @@
+package com.lmax.disruptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MinimumSequenceTreeTest
+{
+    @Test
+    public void shouldReportMaxValueWithNoSequences()
+    {
+        assertEquals(Long.MAX_VALUE, new MinimumSequenceTree(new Sequence[0]).minimum(0));
+    }
+
+    @Test
+    public void shouldNotReadSequencesWhenBoundHasReachedRequiredSequence()
+    {
+        final CountingSequence[] sequences = sequences(20, 10);
+        final MinimumSequenceTree tree = new MinimumSequenceTree(sequences);
+        resetReads(sequences);
+
+        sequences[3].set(50);
+
+        assertEquals(10L, tree.minimum(10));
+        assertEquals(0, totalReads(sequences));
+    }
+
+    @Test
+    public void shouldOnlyReadSequencesBehindRequiredSequence()
+    {
+        final CountingSequence[] sequences = sequences(20, 10);
+        final MinimumSequenceTree tree = new MinimumSequenceTree(sequences);
+        for (int i = 0; i < sequences.length; i++)
+        {
+            sequences[i].set(i == 17 ? 12 : 30);
+        }
+        assertEquals(12L, tree.minimum(12));
+        resetReads(sequences);
+
+        sequences[17].set(30);
+
+        assertEquals(30L, tree.minimum(20));
+        assertEquals(1, totalReads(sequences));
+        assertEquals(1, sequences[17].reads);
+    }
+
+    @Test
+    public void shouldReturnLowerBoundWhenSequenceIsStillBehind()
+    {
+        final CountingSequence[] sequences = sequences(20, 10);
+        final MinimumSequenceTree tree = new MinimumSequenceTree(sequences);
+        for (int i = 0; i < sequences.length; i++)
+        {
+            sequences[i].set(i == 0 ? 15 : 12);
+        }
+
+        final long minimum = tree.minimum(20);
+
+        assertTrue(minimum < 20);
+        assertTrue(minimum <= 12);
+        assertEquals(12L, tree.minimum(12));
+    }
+
+    private static CountingSequence[] sequences(final int count, final long initialValue)
+    {
+        final CountingSequence[] sequences = new CountingSequence[count];
+        for (int i = 0; i < count; i++)
+        {
+            sequences[i] = new CountingSequence(initialValue);
+        }
+        return sequences;
+    }
+
+    private static void resetReads(final CountingSequence[] sequences)
+    {
+        for (final CountingSequence sequence : sequences)
+        {
+            sequence.reads = 0;
+        }
+    }
+
+    private static int totalReads(final CountingSequence[] sequences)
+    {
+        int reads = 0;
+        for (final CountingSequence sequence : sequences)
+        {
+            reads += sequence.reads;
+        }
+        return reads;
+    }
+
+    private static final class CountingSequence extends Sequence
+    {
+        private int reads;
+
+        CountingSequence(final long initialValue)
+        {
+            super(initialValue);
+        }
+
+        @Override
+        public long get()
+        {
+            reads++;
+            return super.get();
+        }
+    }
+}
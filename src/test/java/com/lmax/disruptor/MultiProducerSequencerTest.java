@@ -38,4 +38,26 @@ public class MultiProducerSequencerTest
         assertThat(publisher.isAvailable(5), is(true));
         assertThat(publisher.isAvailable(6), is(false));
     }
+
+    @Test
+    public void shouldMakeWholeBatchAvailableOnBatchPublish() throws Exception
+    {
+        publisher.publish(0, 63);
+
+        assertThat(publisher.isAvailable(0), is(true));
+        assertThat(publisher.isAvailable(63), is(true));
+        assertThat(publisher.isAvailable(64), is(false));
+        assertThat(publisher.getHighestPublishedSequence(0, 127), is(63L));
+    }
+
+    @Test
+    public void shouldStopScanAtFirstUnpublishedSlotAfterBatchPublish() throws Exception
+    {
+        publisher.publish(0, 3);
+        publisher.publish(5, 9);
+
+        assertThat(publisher.getHighestPublishedSequence(0, 9), is(3L));
+        assertThat(publisher.getHighestPublishedSequence(5, 9), is(9L));
+        assertThat(publisher.getHighestPublishedSequence(4, 9), is(3L));
+    }
 }
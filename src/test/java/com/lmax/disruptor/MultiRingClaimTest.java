@@ -0,0 +1,105 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultiRingClaimTest
+{
+    private static final int BUFFER_SIZE = 4;
+    private static final int TOMBSTONE = Integer.MIN_VALUE;
+    private static final EventTranslator<StubEvent> TOMBSTONE_TRANSLATOR = (event, sequence) -> event.setValue(TOMBSTONE);
+
+    private final RingBuffer<StubEvent> first = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+    private final RingBuffer<StubEvent> second = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+    private final Sequence secondGatingSequence = new Sequence();
+    private MultiRingClaim claim;
+
+    @BeforeEach
+    public void setUp()
+    {
+        first.addGatingSequences(new Sequence());
+        second.addGatingSequences(secondGatingSequence);
+        claim = new MultiRingClaim()
+            .add(first, TOMBSTONE_TRANSLATOR)
+            .add(second, TOMBSTONE_TRANSLATOR);
+    }
+
+    @Test
+    public void shouldPublishToEveryRingBuffer()
+    {
+        assertTrue(claim.tryClaim());
+        claim.get(first).setValue(1);
+        claim.get(second).setValue(2);
+
+        assertFalse(first.isAvailable(0));
+        claim.publish();
+
+        assertEquals(1, first.get(0).getValue());
+        assertEquals(2, second.get(0).getValue());
+        assertTrue(first.isAvailable(0));
+        assertTrue(second.isAvailable(0));
+    }
+
+    @Test
+    public void shouldPublishTombstoneWhenAnyRingBufferIsFull()
+    {
+        second.publish(0, second.next(BUFFER_SIZE));
+
+        assertFalse(claim.tryPublish(c -> c.get(first).setValue(1)));
+
+        assertTrue(first.isAvailable(0));
+        assertEquals(TOMBSTONE, first.get(0).getValue());
+
+        secondGatingSequence.set(0);
+
+        assertTrue(claim.tryPublish(c ->
+        {
+            c.get(first).setValue(1);
+            c.get(second).setValue(2);
+        }));
+        assertEquals(1, first.get(1).getValue());
+        assertEquals(2, second.get(BUFFER_SIZE).getValue());
+    }
+
+    @Test
+    public void shouldRollbackWhenTranslatorThrows()
+    {
+        assertThrows(IllegalStateException.class, () -> claim.tryPublish(c ->
+        {
+            c.get(first).setValue(1);
+            throw new IllegalStateException();
+        }));
+
+        assertTrue(first.isAvailable(0));
+        assertTrue(second.isAvailable(0));
+        assertEquals(TOMBSTONE, first.get(0).getValue());
+        assertEquals(TOMBSTONE, second.get(0).getValue());
+    }
+
+    @Test
+    public void shouldNotAllowClaimWhileHoldingClaim()
+    {
+        assertTrue(claim.tryClaim());
+
+        assertThrows(IllegalStateException.class, () -> claim.tryClaim());
+        assertThrows(IllegalStateException.class, () -> claim.add(RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE), TOMBSTONE_TRANSLATOR));
+    }
+
+    @Test
+    public void shouldCancelSlotsWithoutTombstoneTranslator()
+    {
+        final MultiRingClaim cancellingClaim = new MultiRingClaim().add(first).add(second);
+        second.publish(0, second.next(BUFFER_SIZE));
+
+        assertFalse(cancellingClaim.tryClaim());
+
+        assertTrue(first.isAvailable(0));
+        assertTrue(first.isCancelled(0));
+    }
+}
@@ -0,0 +1,166 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapRingBufferTest
+{
+    private static final int SLOT_SIZE = 16;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldWriteSlotsAtFixedOffsetsWrappingAroundTheBuffer()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.create(ProducerType.SINGLE, 4, SLOT_SIZE, new BlockingWaitStrategy());
+
+        for (long i = 0; i < 6; i++)
+        {
+            ringBuffer.publishEvent(Tick::write, i);
+        }
+
+        final Tick tick = new Tick();
+        final DataProvider<Tick> dataProvider = ringBuffer.dataProvider(tick);
+        assertSame(tick, dataProvider.get(5));
+        assertEquals(5L, tick.id());
+        assertEquals(50L, tick.price());
+        assertEquals(ringBuffer.offset(1), ringBuffer.offset(5));
+        assertEquals(SLOT_SIZE, ringBuffer.offset(5));
+        assertEquals(ByteOrder.nativeOrder(), ringBuffer.buffer().order());
+    }
+
+    @Test
+    public void shouldNotPublishWhenFull()
+    {
+        final OffHeapRingBuffer ringBuffer = OffHeapRingBuffer.create(ProducerType.MULTI, 4, SLOT_SIZE, new BlockingWaitStrategy());
+        ringBuffer.addGatingSequences(new Sequence());
+
+        for (long i = 0; i < 4; i++)
+        {
+            assertTrue(ringBuffer.tryPublishEvent(Tick::write, i));
+        }
+
+        assertFalse(ringBuffer.tryPublishEvent(Tick::write, 4L));
+        assertEquals(0L, ringBuffer.remainingCapacity());
+    }
+
+    @Test
+    public void shouldRejectHeapOrUndersizedBuffers()
+    {
+        final WaitStrategy waitStrategy = new BlockingWaitStrategy();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapRingBuffer.create(ProducerType.SINGLE, ByteBuffer.allocate(64), 4, SLOT_SIZE, waitStrategy));
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapRingBuffer.create(ProducerType.SINGLE, ByteBuffer.allocateDirect(63), 4, SLOT_SIZE, waitStrategy));
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapRingBuffer.create(ProducerType.SINGLE, 1 << 20, 1 << 12, waitStrategy));
+    }
+
+    @Test
+    public void shouldConsumeMemoryMappedSlotsWithBatchEventProcessor() throws Exception
+    {
+        final int bufferSize = 64;
+        final int count = 1000;
+        final Path file = Files.createTempFile("disruptor", ".ring");
+        file.toFile().deleteOnExit();
+        final MappedByteBuffer memory;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, bufferSize * SLOT_SIZE);
+        }
+
+        final OffHeapRingBuffer ringBuffer =
+            OffHeapRingBuffer.create(ProducerType.SINGLE, memory, bufferSize, SLOT_SIZE, new BlockingWaitStrategy());
+        final TickHandler handler = new TickHandler(count);
+        final BatchEventProcessor<Tick> processor =
+            new BatchEventProcessor<>(ringBuffer.dataProvider(new Tick()), ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        for (long i = 0; i < count; i++)
+        {
+            ringBuffer.publishEvent(Tick::write, i);
+        }
+
+        assertTrue(handler.latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(i, handler.ids.get(i).longValue());
+        }
+    }
+
+    private static final class Tick implements OffHeapFlyweight
+    {
+        private static final int ID_OFFSET = 0;
+        private static final int PRICE_OFFSET = 8;
+
+        private ByteBuffer buffer;
+        private int offset;
+
+        static void write(final ByteBuffer buffer, final int offset, final long sequence, final Long id)
+        {
+            buffer.putLong(offset + ID_OFFSET, id);
+            buffer.putLong(offset + PRICE_OFFSET, id * 10);
+        }
+
+        @Override
+        public void wrap(final ByteBuffer buffer, final int offset)
+        {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        long id()
+        {
+            return buffer.getLong(offset + ID_OFFSET);
+        }
+
+        long price()
+        {
+            return buffer.getLong(offset + PRICE_OFFSET);
+        }
+    }
+
+    private static final class TickHandler implements EventHandler<Tick>
+    {
+        private final List<Long> ids = new ArrayList<>();
+        private final CountDownLatch latch;
+
+        TickHandler(final int count)
+        {
+            this.latch = new CountDownLatch(count);
+        }
+
+        @Override
+        public void onEvent(final Tick event, final long sequence, final boolean endOfBatch)
+        {
+            assertEquals(event.id() * 10, event.price());
+            ids.add(event.id());
+            latch.countDown();
+        }
+    }
+}
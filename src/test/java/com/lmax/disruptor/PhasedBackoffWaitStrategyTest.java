@@ -50,4 +50,11 @@ public class PhasedBackoffWaitStrategyTest
         assertWaitForWithDelayOf(10, PhasedBackoffWaitStrategy.withLock(1, 1, MILLISECONDS));
         assertWaitForWithDelayOf(10, PhasedBackoffWaitStrategy.withSleep(1, 1, MILLISECONDS));
     }
+
+    @Test
+    public void shouldHandleSequenceChangeWhenCalibrated() throws Exception
+    {
+        assertWaitForWithDelayOf(0, PhasedBackoffWaitStrategy.calibrated(1, 1, MILLISECONDS, new BlockingWaitStrategy()));
+        assertWaitForWithDelayOf(10, PhasedBackoffWaitStrategy.calibrated(1, 1, MILLISECONDS, new BlockingWaitStrategy()));
+    }
 }
@@ -0,0 +1,98 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PriorityEventProcessorTest
+{
+    private static final int HIGH = 0;
+    private static final int LOW = 1;
+
+    private final PriorityRingBuffer<StubEvent> ringBuffer =
+        PriorityRingBuffer.create(ProducerType.MULTI, StubEvent.EVENT_FACTORY, 2, 16, new BlockingWaitStrategy());
+    private final List<Integer> values = new ArrayList<>();
+    private final EventHandler<StubEvent> handler = (event, sequence, endOfBatch) -> values.add(event.getValue());
+
+    @Test
+    public void shouldDrainHigherPriorityLaneFirst() throws Exception
+    {
+        final PriorityEventProcessor<StubEvent> processor = new PriorityEventProcessor<>(ringBuffer, handler, 4, 100);
+        publish(LOW, 1, 2, 3, 4, 5, 6);
+        publish(HIGH, 100, 101);
+
+        runUntilProcessed(processor, 8);
+
+        assertEquals(Arrays.asList(100, 101, 1, 2, 3, 4, 5, 6), values);
+    }
+
+    @Test
+    public void shouldServeStarvedLaneAfterStarvationLimit() throws Exception
+    {
+        final PriorityEventProcessor<StubEvent> processor = new PriorityEventProcessor<>(ringBuffer, handler, 1, 2);
+        publish(HIGH, 100, 101, 102, 103);
+        publish(LOW, 1, 2);
+
+        runUntilProcessed(processor, 6);
+
+        assertEquals(Arrays.asList(100, 101, 1, 102, 103, 2), values);
+    }
+
+    @Test
+    public void shouldWakeForEventOnAnyLane() throws Exception
+    {
+        final PriorityEventProcessor<StubEvent> processor = new PriorityEventProcessor<>(ringBuffer, handler, 4, 2);
+        final Thread thread = new Thread(processor);
+        thread.start();
+
+        publish(LOW, 1);
+        publish(HIGH, 100);
+        awaitProcessed(processor, 2);
+
+        processor.halt();
+        thread.join();
+
+        assertEquals(0L, processor.getLaneSequence(HIGH).get());
+        assertEquals(0L, processor.getLaneSequence(LOW).get());
+    }
+
+    @Test
+    public void shouldRejectInvalidBatchSize()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new PriorityEventProcessor<>(ringBuffer, handler, 0, 2));
+    }
+
+    private void publish(final int priority, final int... eventValues)
+    {
+        final RingBuffer<StubEvent> lane = ringBuffer.getLane(priority);
+        for (final int value : eventValues)
+        {
+            lane.publishEvent((event, sequence) -> event.setValue(value));
+        }
+    }
+
+    private static void runUntilProcessed(final PriorityEventProcessor<StubEvent> processor, final int count) throws Exception
+    {
+        final Thread thread = new Thread(processor);
+        thread.start();
+        awaitProcessed(processor, count);
+
+        processor.halt();
+        thread.join();
+    }
+
+    private static void awaitProcessed(final PriorityEventProcessor<StubEvent> processor, final int count)
+    {
+        while (processor.getSequence().get() < count - 1)
+        {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReadOnlySequenceTest
+{
+    private final Sequence source = new Sequence(7);
+    private final Sequence sequence = new ReadOnlySequence()
+    {
+        @Override
+        public long get()
+        {
+            return source.get() * 2;
+        }
+    };
+
+    @Test
+    public void shouldReportDerivedValue()
+    {
+        assertEquals(14L, sequence.get());
+        source.set(8);
+        assertEquals(16L, sequence.get());
+        assertEquals("16", sequence.toString());
+    }
+
+    @Test
+    public void shouldRejectWrites()
+    {
+        assertThrows(UnsupportedOperationException.class, () -> sequence.set(1));
+        assertThrows(UnsupportedOperationException.class, () -> sequence.setVolatile(1));
+        assertThrows(UnsupportedOperationException.class, () -> sequence.compareAndSet(14, 1));
+        assertThrows(UnsupportedOperationException.class, () -> sequence.addAndGet(1));
+        assertThrows(UnsupportedOperationException.class, sequence::incrementAndGet);
+        assertThrows(UnsupportedOperationException.class, () -> sequence.getAndAdd(1));
+        assertEquals(14L, sequence.get());
+    }
+}
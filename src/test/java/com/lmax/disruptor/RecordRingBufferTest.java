@@ -0,0 +1,218 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RecordRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldClaimAlignedRecordsOfExactLength()
+    {
+        final RecordRingBuffer ringBuffer = RecordRingBuffer.create(ProducerType.SINGLE, 256, new BlockingWaitStrategy());
+
+        final long first = ringBuffer.claim(3);
+        ringBuffer.publish(first);
+        final long second = ringBuffer.claim(9);
+        ringBuffer.publish(second);
+
+        assertEquals(0L, first);
+        assertEquals(2L, second);
+        assertEquals(RecordRingBuffer.HEADER_LENGTH, ringBuffer.payloadOffset(first));
+        assertEquals(2 * RecordRingBuffer.ALIGNMENT + RecordRingBuffer.HEADER_LENGTH, ringBuffer.payloadOffset(second));
+        assertEquals(4L, ringBuffer.getCursor());
+    }
+
+    @Test
+    public void shouldRejectPayloadLargerThanHalfTheBuffer()
+    {
+        final RecordRingBuffer ringBuffer = RecordRingBuffer.create(ProducerType.SINGLE, 256, new BlockingWaitStrategy());
+
+        assertEquals(128 - RecordRingBuffer.HEADER_LENGTH, ringBuffer.maxPayloadLength());
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.claim(ringBuffer.maxPayloadLength() + 1));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.claim(-1));
+    }
+
+    @Test
+    public void shouldPadRecordThatWouldWrapAndSkipPaddingWhenConsuming() throws Exception
+    {
+        final RecordRingBuffer ringBuffer = RecordRingBuffer.create(ProducerType.SINGLE, 64, new BlockingWaitStrategy());
+        final CollectingHandler handler = new CollectingHandler(3);
+        final RecordProcessor processor = new RecordProcessor(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        ringBuffer.publish(bytes(1, 20), 0, 20);
+        ringBuffer.publish(bytes(2, 10), 0, 10);
+        executor.submit(processor);
+        ringBuffer.publish(bytes(3, 24), 0, 24);
+
+        assertTrue(handler.latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertArrayEquals(bytes(1, 20), handler.records.get(0));
+        assertArrayEquals(bytes(2, 10), handler.records.get(1));
+        assertArrayEquals(bytes(3, 24), handler.records.get(2));
+        assertEquals(11L, handler.sequences.get(2).longValue());
+    }
+
+    @Test
+    public void shouldEndBatchOnLastRecordBeforeTrailingPadding() throws Exception
+    {
+        final RecordRingBuffer ringBuffer = RecordRingBuffer.create(ProducerType.SINGLE, 256, new BlockingWaitStrategy());
+        final CollectingHandler handler = new CollectingHandler(2);
+        final RecordProcessor processor = new RecordProcessor(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        ringBuffer.publish(bytes(1, 12), 0, 12);
+        ringBuffer.publish(bytes(2, 12), 0, 12);
+        // a failed copy is published as padding, ending the batch
+        assertThrows(IndexOutOfBoundsException.class, () -> ringBuffer.publish(bytes(3, 4), 0, 16));
+        executor.submit(processor);
+
+        assertTrue(handler.latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertEquals(List.of(false, true), handler.endOfBatches);
+    }
+
+    @Test
+    public void shouldSkipRecordWhoseCopyFailed() throws Exception
+    {
+        final RecordRingBuffer ringBuffer = RecordRingBuffer.create(ProducerType.SINGLE, 256, new BlockingWaitStrategy());
+        final CollectingHandler handler = new CollectingHandler(2);
+        final RecordProcessor processor = new RecordProcessor(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        ringBuffer.publish(bytes(1, 12), 0, 12);
+        assertThrows(IndexOutOfBoundsException.class, () -> ringBuffer.publish(bytes(2, 4), 0, 16));
+        ringBuffer.publish(bytes(3, 12), 0, 12);
+        executor.submit(processor);
+
+        assertTrue(handler.latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertEquals(2, handler.records.size());
+        assertArrayEquals(bytes(1, 12), handler.records.get(0));
+        assertArrayEquals(bytes(3, 12), handler.records.get(1));
+    }
+
+    @Test
+    public void shouldDeliverEveryRecordFromMultiplePublishers() throws Exception
+    {
+        final int publisherCount = 3;
+        final int recordsPerPublisher = 20_000;
+        final RecordRingBuffer ringBuffer = RecordRingBuffer.create(ProducerType.MULTI, 1024, new BlockingWaitStrategy());
+        final PublisherOrderHandler handler = new PublisherOrderHandler(publisherCount, publisherCount * recordsPerPublisher);
+        final RecordProcessor processor = new RecordProcessor(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        final List<Future<?>> publishers = new ArrayList<>();
+        for (int i = 0; i < publisherCount; i++)
+        {
+            final int publisher = i;
+            publishers.add(executor.submit(() ->
+            {
+                final Random random = new Random(publisher);
+                for (int value = 0; value < recordsPerPublisher; value++)
+                {
+                    final int length = 9 + random.nextInt(ringBuffer.maxPayloadLength() - 8);
+                    final long sequence = ringBuffer.claim(length);
+                    final int offset = ringBuffer.payloadOffset(sequence);
+                    ringBuffer.buffer().putInt(offset, publisher);
+                    ringBuffer.buffer().putInt(offset + 4, value);
+                    ringBuffer.buffer().put(offset + length - 1, (byte) value);
+                    ringBuffer.publish(sequence);
+                }
+            }));
+        }
+
+        for (final Future<?> publisher : publishers)
+        {
+            publisher.get(20, TimeUnit.SECONDS);
+        }
+        assertTrue(handler.latch.await(10, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertTrue(handler.inOrder);
+    }
+
+    private static byte[] bytes(final int value, final int length)
+    {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            bytes[i] = (byte) (value * 31 + i);
+        }
+        return bytes;
+    }
+
+    private static final class CollectingHandler implements RecordHandler
+    {
+        private final List<byte[]> records = new ArrayList<>();
+        private final List<Long> sequences = new ArrayList<>();
+        private final List<Boolean> endOfBatches = new ArrayList<>();
+        private final CountDownLatch latch;
+
+        CollectingHandler(final int expectedRecords)
+        {
+            this.latch = new CountDownLatch(expectedRecords);
+        }
+
+        @Override
+        public void onRecord(final ByteBuffer buffer, final int offset, final int length, final long sequence, final boolean endOfBatch)
+        {
+            final byte[] record = new byte[length];
+            for (int i = 0; i < length; i++)
+            {
+                record[i] = buffer.get(offset + i);
+            }
+            records.add(record);
+            sequences.add(sequence);
+            endOfBatches.add(endOfBatch);
+            latch.countDown();
+        }
+    }
+
+    private static final class PublisherOrderHandler implements RecordHandler
+    {
+        private final int[] nextValues;
+        private final CountDownLatch latch;
+        private volatile boolean inOrder = true;
+
+        PublisherOrderHandler(final int publisherCount, final int expectedRecords)
+        {
+            this.nextValues = new int[publisherCount];
+            this.latch = new CountDownLatch(expectedRecords);
+        }
+
+        @Override
+        public void onRecord(final ByteBuffer buffer, final int offset, final int length, final long sequence, final boolean endOfBatch)
+        {
+            final int publisher = buffer.getInt(offset);
+            final int value = buffer.getInt(offset + 4);
+            if (value != nextValues[publisher]++ || buffer.get(offset + length - 1) != (byte) value)
+            {
+                inOrder = false;
+            }
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResizableRingBufferTest
+{
+    private static final int PUBLISHER_VALUE_OFFSET = 1_000_000;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldContinueSequenceAfterResize()
+    {
+        final ResizableRingBuffer<StubEvent> ringBuffer =
+            ResizableRingBuffer.create(StubEvent.EVENT_FACTORY, 4, new BlockingWaitStrategy());
+        final Sequence gatingSequence = new Sequence();
+        ringBuffer.addGatingSequences(gatingSequence);
+
+        for (int i = 0; i < 3; i++)
+        {
+            publish(ringBuffer, i);
+        }
+        gatingSequence.set(2);
+
+        assertTrue(ringBuffer.resize(16));
+        assertFalse(ringBuffer.resize(16));
+
+        assertEquals(16, ringBuffer.getBufferSize());
+        assertEquals(2L, ringBuffer.getCursor());
+        assertEquals(16L, ringBuffer.remainingCapacity());
+        assertEquals(3L, ringBuffer.next());
+    }
+
+    @Test
+    public void shouldGrowWhenPublisherFindsRingBufferFull() throws Exception
+    {
+        final ResizableRingBuffer<StubEvent> ringBuffer = ResizableRingBuffer.create(
+            StubEvent.EVENT_FACTORY, 4, new BlockingWaitStrategy(), new OccupancyResizePolicy(4, 16));
+        final Sequence gatingSequence = new Sequence();
+        ringBuffer.addGatingSequences(gatingSequence);
+        for (int i = 0; i < 4; i++)
+        {
+            publish(ringBuffer, i);
+        }
+
+        final Future<Long> claim = executor.submit(() -> ringBuffer.next());
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertFalse(claim.isDone());
+
+        gatingSequence.set(3);
+
+        assertEquals(4L, claim.get(5, TimeUnit.SECONDS).longValue());
+        assertEquals(8, ringBuffer.getBufferSize());
+    }
+
+    @Test
+    public void shouldShrinkWhenPolicyIsAppliedToEmptyRingBuffer()
+    {
+        final ResizableRingBuffer<StubEvent> ringBuffer = ResizableRingBuffer.create(
+            StubEvent.EVENT_FACTORY, 16, new BlockingWaitStrategy(), new OccupancyResizePolicy(4, 16));
+
+        assertTrue(ringBuffer.applyResizePolicy());
+        assertTrue(ringBuffer.applyResizePolicy());
+        assertFalse(ringBuffer.applyResizePolicy());
+
+        assertEquals(4, ringBuffer.getBufferSize());
+    }
+
+    @Test
+    public void shouldDeliverEveryEventToBatchEventProcessorAcrossResizes() throws Exception
+    {
+        final int publisherCount = 2;
+        final int eventsPerPublisher = 20_000;
+        final ResizableRingBuffer<StubEvent> ringBuffer =
+            ResizableRingBuffer.create(StubEvent.EVENT_FACTORY, 8, new BlockingWaitStrategy());
+        final PublisherOrderHandler handler = new PublisherOrderHandler(publisherCount, publisherCount * eventsPerPublisher);
+        final BatchEventProcessor<StubEvent> processor =
+            new BatchEventProcessor<>(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        final AtomicBoolean publishing = new AtomicBoolean(true);
+        final Future<?> resizer = executor.submit(() ->
+        {
+            final int[] sizes = {64, 16, 8, 128};
+            for (int i = 0; publishing.get(); i++)
+            {
+                ringBuffer.resize(sizes[i % sizes.length]);
+                Thread.yield();
+            }
+        });
+
+        final List<Future<?>> publishers = new ArrayList<>();
+        for (int i = 0; i < publisherCount; i++)
+        {
+            final int publisher = i;
+            publishers.add(executor.submit(() ->
+            {
+                for (int value = 0; value < eventsPerPublisher; value++)
+                {
+                    publish(ringBuffer, publisher * PUBLISHER_VALUE_OFFSET + value);
+                }
+            }));
+        }
+
+        for (final Future<?> publisher : publishers)
+        {
+            publisher.get(20, TimeUnit.SECONDS);
+        }
+        publishing.set(false);
+        resizer.get(5, TimeUnit.SECONDS);
+        assertTrue(handler.latch.await(10, TimeUnit.SECONDS));
+        processor.halt();
+        executor.shutdown();
+
+        assertTrue(handler.inOrder);
+    }
+
+    private static void publish(final ResizableRingBuffer<StubEvent> ringBuffer, final int value)
+    {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).setValue(value);
+        ringBuffer.publish(sequence);
+    }
+
+    private static final class PublisherOrderHandler implements EventHandler<StubEvent>
+    {
+        private final int[] nextValues;
+        private final CountDownLatch latch;
+        private volatile boolean inOrder = true;
+
+        PublisherOrderHandler(final int publisherCount, final int expectedEvents)
+        {
+            this.nextValues = new int[publisherCount];
+            this.latch = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+        {
+            final int publisher = event.getValue() / PUBLISHER_VALUE_OFFSET;
+            if (event.getValue() % PUBLISHER_VALUE_OFFSET != nextValues[publisher]++)
+            {
+                inOrder = false;
+            }
+            latch.countDown();
+        }
+    }
+}
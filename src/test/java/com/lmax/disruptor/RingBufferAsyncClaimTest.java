@@ -0,0 +1,133 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferAsyncClaimTest
+{
+    private static final int BUFFER_SIZE = 4;
+
+    @Test
+    public void shouldCompleteImmediatelyWhenCapacityIsAvailable()
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+        ringBuffer.addGatingSequences(new Sequence());
+
+        final CompletableFuture<Long> future = ringBuffer.claimAsync(2);
+
+        assertTrue(future.isDone());
+        assertEquals(1L, (long) future.join());
+    }
+
+    @Test
+    public void shouldCompleteClaimWhenConsumerReturnsToBarrier() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+        final Sequence gatingSequence = new Sequence();
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        ringBuffer.addGatingSequences(gatingSequence);
+        ringBuffer.publish(ringBuffer.next(BUFFER_SIZE));
+
+        final CompletableFuture<Long> future = ringBuffer.claimAsync();
+        assertFalse(future.isDone());
+
+        gatingSequence.set(0);
+        barrier.waitFor(1);
+
+        assertTrue(future.isDone());
+        assertEquals(BUFFER_SIZE, (long) future.join());
+    }
+
+    @Test
+    public void shouldCompletePendingClaimsInOrder() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+        final Sequence gatingSequence = new Sequence();
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        ringBuffer.addGatingSequences(gatingSequence);
+        ringBuffer.publish(0, ringBuffer.next(BUFFER_SIZE));
+
+        final CompletableFuture<Long> first = ringBuffer.claimAsync(2);
+        final CompletableFuture<Long> second = ringBuffer.claimAsync(1);
+
+        gatingSequence.set(0);
+        barrier.waitFor(1);
+
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        gatingSequence.set(2);
+        barrier.waitFor(3);
+
+        assertEquals(5L, (long) first.join());
+        assertEquals(6L, (long) second.join());
+    }
+
+    @Test
+    public void shouldPublishEventOnceCapacityIsAvailable() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+        final Sequence gatingSequence = new Sequence();
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        ringBuffer.addGatingSequences(gatingSequence);
+        ringBuffer.publish(ringBuffer.next(BUFFER_SIZE));
+
+        final CompletableFuture<Long> future = ringBuffer.publishEventAsync((event, sequence, value) -> event.setValue(value), 7);
+        assertFalse(future.isDone());
+
+        gatingSequence.set(0);
+        barrier.waitFor(1);
+
+        assertEquals(BUFFER_SIZE, (long) future.join());
+        assertEquals(BUFFER_SIZE, ringBuffer.getCursor());
+        assertEquals(7, ringBuffer.get(BUFFER_SIZE).getValue());
+    }
+
+    @Test
+    public void shouldRejectClaimLargerThanBufferSize()
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE);
+
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.claimAsync(BUFFER_SIZE + 1));
+    }
+
+    @Test
+    public void shouldKeepCompletingClaimsOfOnlyProducerAsConsumerDrainsFullRing() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer =
+            RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, BUFFER_SIZE, new YieldingWaitStrategy());
+        final AtomicLong total = new AtomicLong();
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessor<>(
+            ringBuffer, ringBuffer.newBarrier(), (event, sequence, endOfBatch) -> total.addAndGet(event.getValue()));
+        ringBuffer.addGatingSequences(processor.getSequence());
+        final Thread thread = new Thread(processor);
+        thread.start();
+
+        final int iterations = 20_000;
+        long expected = 0;
+        for (int i = 0; i < iterations; i++)
+        {
+            // each claim may race with the consumer draining the full ring and going back to wait
+            ringBuffer.publishEventAsync((event, sequence, value) -> event.setValue(value), i).get(5, TimeUnit.SECONDS);
+            expected += i;
+        }
+
+        while (processor.getSequence().get() < iterations - 1)
+        {
+            Thread.yield();
+        }
+        processor.halt();
+        thread.join();
+
+        assertEquals(expected, total.get());
+    }
+}
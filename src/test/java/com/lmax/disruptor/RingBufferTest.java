@@ -1443,6 +1443,44 @@ public class RingBufferTest
         assertHandleResetAndNotWrap(RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 4));
     }
 
+    @Test
+    public void shouldCancelSequenceWhenTranslatorThrows()
+    {
+        final EventTranslator<StubEvent> failingTranslator = (event, sequence) ->
+        {
+            throw new IllegalStateException();
+        };
+
+        assertThrows(IllegalStateException.class, () -> ringBuffer.publishEvent(failingTranslator));
+        assertThrows(IllegalStateException.class, () -> ringBuffer.tryPublishEvent(failingTranslator));
+
+        assertEquals(1L, ringBuffer.getCursor());
+        assertTrue(ringBuffer.isAvailable(0));
+        assertTrue(ringBuffer.isCancelled(0));
+        assertTrue(ringBuffer.isCancelled(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldPublishTranslatedEventsAndCancelTheRestWhenBatchTranslatorThrows()
+    {
+        final EventTranslator<StubEvent> translator = (event, sequence) -> event.setValue((int) sequence);
+        final EventTranslator<StubEvent> failingTranslator = (event, sequence) ->
+        {
+            throw new IllegalStateException();
+        };
+
+        assertThrows(IllegalStateException.class,
+            () -> ringBuffer.publishEvents(new EventTranslator[]{translator, failingTranslator, translator}));
+
+        assertEquals(2L, ringBuffer.getCursor());
+        assertFalse(ringBuffer.isCancelled(0));
+        assertEquals(0, ringBuffer.get(0).getValue());
+        assertTrue(ringBuffer.isCancelled(1));
+        assertTrue(ringBuffer.isCancelled(2));
+        assertTrue(ringBuffer.isAvailable(2));
+    }
+
     @SuppressWarnings("deprecation")
     private void assertHandleResetAndNotWrap(final RingBuffer<StubEvent> rb)
     {
@@ -147,6 +147,39 @@ public class SequencerTest
         });
     }
 
+    @ParameterizedTest
+    @MethodSource("sequencerGenerator")
+    public void shouldReturnNegativeWhenSequencerIsFull(final Sequencer sequencer)
+    {
+        sequencer.addGatingSequences(gatingSequence);
+
+        assertEquals(BUFFER_SIZE - 2, sequencer.tryNextOrNegative(BUFFER_SIZE - 1));
+        assertEquals(-1L, sequencer.tryNextOrNegative(2));
+        assertEquals(BUFFER_SIZE - 1, sequencer.tryNextOrNegative());
+        assertEquals(-1L, sequencer.tryNextOrNegative());
+
+        gatingSequence.set(0);
+
+        assertEquals(BUFFER_SIZE, sequencer.tryNextOrNegative());
+    }
+
+    @ParameterizedTest
+    @MethodSource("sequencerGenerator")
+    public void shouldDetectNonGatingConsumerBeingLapped(final Sequencer sequencer) throws Exception
+    {
+        final SequenceBarrier barrier = sequencer.newNonGatingBarrier();
+        for (int i = 0; i < BUFFER_SIZE + 2; i++)
+        {
+            sequencer.publish(sequencer.next());
+        }
+
+        final OverrunException overrun = assertThrows(OverrunException.class, () -> barrier.waitFor(0));
+        assertEquals(2L, overrun.getOldestAvailableSequence());
+        assertEquals(BUFFER_SIZE + 1, barrier.waitFor(2));
+        barrier.checkOverrun(2);
+        assertThrows(OverrunException.class, () -> barrier.checkOverrun(1));
+    }
+
     @ParameterizedTest
     @MethodSource("sequencerGenerator")
     public void shouldCalculateRemainingCapacity(final Sequencer sequencer) throws Exception
@@ -312,4 +345,44 @@ public class SequencerTest
 
         assertFalse(sequencer.isAvailable(seq));
     }
+
+    @ParameterizedTest
+    @MethodSource("sequencerGenerator")
+    public void shouldPublishCancelledSequences(final Sequencer sequencer)
+    {
+        sequencer.addGatingSequences(gatingSequence);
+
+        final long cancelled = sequencer.next();
+        sequencer.cancel(cancelled);
+        final long hi = sequencer.next(BUFFER_SIZE - 1);
+        sequencer.publish(cancelled + 1, hi);
+
+        assertTrue(sequencer.isAvailable(cancelled));
+        assertTrue(sequencer.isCancelled(cancelled));
+        assertFalse(sequencer.isCancelled(hi));
+
+        gatingSequence.set(cancelled);
+        final long wrapped = sequencer.next();
+        sequencer.publish(wrapped);
+
+        assertFalse(sequencer.isCancelled(wrapped));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sequencerGenerator")
+    public void shouldReportCancelledSequencesInRange(final Sequencer sequencer)
+    {
+        sequencer.addGatingSequences(gatingSequence);
+
+        final long hi = sequencer.next(4);
+        assertFalse(sequencer.hasCancelled(hi - 3, hi));
+
+        sequencer.publish(hi - 3, hi - 2);
+        sequencer.cancel(hi - 1);
+        sequencer.publish(hi);
+
+        assertFalse(sequencer.hasCancelled(hi - 3, hi - 2));
+        assertTrue(sequencer.hasCancelled(hi - 3, hi));
+        assertFalse(sequencer.hasCancelled(hi, hi));
+    }
 }
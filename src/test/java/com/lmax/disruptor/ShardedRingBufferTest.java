@@ -0,0 +1,188 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedRingBufferTest
+{
+    private static final int LANE_VALUE_OFFSET = 1_000_000;
+
+    @Test
+    public void shouldMergePublishedEventsFromAllLanes() throws Exception
+    {
+        final ShardedRingBuffer<StubEvent> ringBuffer =
+            ShardedRingBuffer.create(StubEvent.EVENT_FACTORY, 2, 8, new BlockingWaitStrategy());
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        publish(ringBuffer.getLane(0), 0);
+        publish(ringBuffer.getLane(1), 10);
+        publish(ringBuffer.getLane(0), 1);
+
+        final long available = barrier.waitFor(0);
+
+        assertEquals(2L, available);
+        assertEquals(2L, ringBuffer.getCursor());
+        final List<Integer> values = new ArrayList<>();
+        for (long sequence = 0; sequence <= available; sequence++)
+        {
+            values.add(ringBuffer.get(sequence).getValue());
+        }
+        assertTrue(values.indexOf(0) < values.indexOf(1));
+        assertTrue(values.contains(10));
+    }
+
+    @Test
+    public void shouldOnlyReleaseLaneSlotsOnceGatingSequencesHavePassed() throws Exception
+    {
+        final ShardedRingBuffer<StubEvent> ringBuffer =
+            ShardedRingBuffer.create(StubEvent.EVENT_FACTORY, 2, 4, new BlockingWaitStrategy());
+        final Sequence gatingSequence = new Sequence();
+        ringBuffer.addGatingSequences(gatingSequence);
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final RingBuffer<StubEvent> lane = ringBuffer.getLane(0);
+
+        for (int i = 0; i < 4; i++)
+        {
+            publish(lane, i);
+        }
+        assertEquals(3L, barrier.waitFor(0));
+        assertFalse(lane.hasAvailableCapacity(1));
+
+        gatingSequence.set(1);
+        publish(ringBuffer.getLane(1), 10);
+        assertEquals(4L, barrier.waitFor(2));
+
+        assertTrue(lane.hasAvailableCapacity(2));
+        assertFalse(lane.hasAvailableCapacity(3));
+    }
+
+    @Test
+    public void shouldDeliverEveryEventInLaneOrderToBatchEventProcessor() throws Exception
+    {
+        final int laneCount = 4;
+        final int eventsPerLane = 10_000;
+        final ShardedRingBuffer<StubEvent> ringBuffer =
+            ShardedRingBuffer.create(StubEvent.EVENT_FACTORY, laneCount, 64, new BlockingWaitStrategy());
+        final LaneOrderHandler handler = new LaneOrderHandler(laneCount, laneCount * eventsPerLane);
+        final BatchEventProcessor<StubEvent> processor =
+            new BatchEventProcessor<>(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(laneCount + 1, DaemonThreadFactory.INSTANCE);
+        executor.submit(processor);
+
+        final List<Future<?>> publishers = new ArrayList<>();
+        for (int i = 0; i < laneCount; i++)
+        {
+            final int laneIndex = i;
+            publishers.add(executor.submit(() ->
+            {
+                final RingBuffer<StubEvent> lane = ringBuffer.getLane(laneIndex);
+                for (int value = 0; value < eventsPerLane; value++)
+                {
+                    publish(lane, laneIndex * LANE_VALUE_OFFSET + value);
+                }
+            }));
+        }
+
+        for (final Future<?> publisher : publishers)
+        {
+            publisher.get(10, TimeUnit.SECONDS);
+        }
+        assertTrue(handler.latch.await(10, TimeUnit.SECONDS));
+        processor.halt();
+        executor.shutdown();
+
+        assertTrue(handler.inOrder);
+    }
+
+    @Test
+    public void shouldDeliverEveryEventToEachOfSeveralConsumersMergingConcurrently() throws Exception
+    {
+        final int laneCount = 2;
+        final int consumerCount = 3;
+        final int eventsPerLane = 10_000;
+        final ShardedRingBuffer<StubEvent> ringBuffer =
+            ShardedRingBuffer.create(StubEvent.EVENT_FACTORY, laneCount, 16, new YieldingWaitStrategy());
+        final ExecutorService executor =
+            Executors.newFixedThreadPool(laneCount + consumerCount, DaemonThreadFactory.INSTANCE);
+
+        final List<LaneOrderHandler> handlers = new ArrayList<>();
+        final List<BatchEventProcessor<StubEvent>> processors = new ArrayList<>();
+        for (int i = 0; i < consumerCount; i++)
+        {
+            final LaneOrderHandler handler = new LaneOrderHandler(laneCount, laneCount * eventsPerLane);
+            final BatchEventProcessor<StubEvent> processor =
+                new BatchEventProcessor<>(ringBuffer, ringBuffer.newBarrier(), handler);
+            ringBuffer.addGatingSequences(processor.getSequence());
+            handlers.add(handler);
+            processors.add(processor);
+        }
+        processors.forEach(executor::submit);
+
+        for (int i = 0; i < laneCount; i++)
+        {
+            final int laneIndex = i;
+            executor.submit(() ->
+            {
+                final RingBuffer<StubEvent> lane = ringBuffer.getLane(laneIndex);
+                for (int value = 0; value < eventsPerLane; value++)
+                {
+                    publish(lane, laneIndex * LANE_VALUE_OFFSET + value);
+                }
+            });
+        }
+
+        for (final LaneOrderHandler handler : handlers)
+        {
+            assertTrue(handler.latch.await(10, TimeUnit.SECONDS));
+            assertTrue(handler.inOrder);
+        }
+        processors.forEach(BatchEventProcessor::halt);
+        executor.shutdown();
+    }
+
+    private static void publish(final RingBuffer<StubEvent> lane, final int value)
+    {
+        final long sequence = lane.next();
+        lane.get(sequence).setValue(value);
+        lane.publish(sequence);
+    }
+
+    private static final class LaneOrderHandler implements EventHandler<StubEvent>
+    {
+        private final int[] nextValues;
+        private final CountDownLatch latch;
+        private volatile boolean inOrder = true;
+
+        LaneOrderHandler(final int laneCount, final int expectedEvents)
+        {
+            this.nextValues = new int[laneCount];
+            this.latch = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+        {
+            final int lane = event.getValue() / LANE_VALUE_OFFSET;
+            if (event.getValue() % LANE_VALUE_OFFSET != nextValues[lane]++)
+            {
+                inOrder = false;
+            }
+            latch.countDown();
+        }
+    }
+}
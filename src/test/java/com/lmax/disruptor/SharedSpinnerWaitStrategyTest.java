@@ -0,0 +1,125 @@
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.support.StubEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedSpinnerWaitStrategyTest
+{
+    private final SharedSpinnerWaitStrategy waitStrategy = new SharedSpinnerWaitStrategy();
+
+    @AfterEach
+    public void tearDown()
+    {
+        waitStrategy.halt();
+    }
+
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, waitStrategy);
+    }
+
+    @Test
+    public void shouldWakeOnlyConsumersWhoseRingAdvanced() throws Exception
+    {
+        final RingBuffer<StubEvent> first = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16, waitStrategy);
+        final RingBuffer<StubEvent> second = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16, waitStrategy);
+        final AtomicLong firstAvailable = new AtomicLong(Long.MIN_VALUE);
+        final AtomicLong secondAvailable = new AtomicLong(Long.MIN_VALUE);
+        final Thread firstConsumer = waitOn(first.newBarrier(), firstAvailable);
+        final Thread secondConsumer = waitOn(second.newBarrier(), secondAvailable);
+
+        awaitWaiters(2);
+        first.publish(first.next());
+        firstConsumer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(0L, firstAvailable.get());
+        assertEquals(Long.MIN_VALUE, secondAvailable.get());
+        assertTrue(secondConsumer.isAlive());
+
+        second.publish(second.next());
+        secondConsumer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(0L, secondAvailable.get());
+    }
+
+    @Test
+    public void shouldWakeConsumerWhenBarrierIsAlerted() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16, waitStrategy);
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        final Thread consumer = new Thread(() ->
+        {
+            try
+            {
+                barrier.waitFor(0);
+            }
+            catch (final Throwable t)
+            {
+                thrown.set(t);
+            }
+            done.countDown();
+        });
+        consumer.start();
+
+        awaitWaiters(1);
+        barrier.alert();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(thrown.get() instanceof AlertException);
+        assertEquals(0, waitStrategy.getWaiterCount());
+    }
+
+    @Test
+    public void shouldKeepWaitingConsumersRunningAfterHalt() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 16, waitStrategy);
+        final AtomicLong available = new AtomicLong(Long.MIN_VALUE);
+        final Thread consumer = waitOn(ringBuffer.newBarrier(), available);
+
+        awaitWaiters(1);
+        waitStrategy.halt();
+        ringBuffer.publish(ringBuffer.next());
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(0L, available.get());
+    }
+
+    private static Thread waitOn(final SequenceBarrier barrier, final AtomicLong available)
+    {
+        final Thread consumer = new Thread(() ->
+        {
+            try
+            {
+                available.set(barrier.waitFor(0));
+            }
+            catch (final Exception e)
+            {
+                throw new RuntimeException(e);
+            }
+        });
+        consumer.start();
+        return consumer;
+    }
+
+    private void awaitWaiters(final int count) throws InterruptedException
+    {
+        while (waitStrategy.getWaiterCount() < count)
+        {
+            Thread.sleep(1);
+        }
+    }
+}
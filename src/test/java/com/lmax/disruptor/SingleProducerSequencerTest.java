@@ -4,6 +4,10 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SingleProducerSequencerTest
 {
@@ -23,4 +27,67 @@ public class SingleProducerSequencerTest
             sequencer.publish(next);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldLapGatingSequencesWhenOverwriting()
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(4, new BusySpinWaitStrategy(), true);
+        sequencer.addGatingSequences(new Sequence());
+
+        for (int i = 0; i < 8; i++)
+        {
+            sequencer.publish(sequencer.next());
+        }
+
+        assertEquals(7L, sequencer.getCursor());
+        assertTrue(sequencer.hasAvailableCapacity(4));
+        assertEquals(4L, sequencer.remainingCapacity());
+        assertEquals(8L, sequencer.tryNextOrNegative());
+    }
+
+    @Test
+    public void shouldThrowOverrunFromBarrierWhenLapped() throws Exception
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(4, new BusySpinWaitStrategy(), true);
+        SequenceBarrier barrier = sequencer.newBarrier();
+
+        for (int i = 0; i < 6; i++)
+        {
+            sequencer.publish(sequencer.next());
+        }
+
+        OverrunException overrun = assertThrows(OverrunException.class, () -> barrier.waitFor(1));
+        assertEquals(1L, overrun.getSequence());
+        assertEquals(2L, overrun.getOldestAvailableSequence());
+        assertEquals(1L, overrun.getLostCount());
+        assertEquals(5L, barrier.waitFor(2));
+    }
+
+    @Test
+    public void shouldDetectSlotClaimedAgainAfterRead()
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(4, new BusySpinWaitStrategy(), true);
+        SequenceBarrier barrier = sequencer.newBarrier();
+
+        for (int i = 0; i < 4; i++)
+        {
+            sequencer.publish(sequencer.next());
+        }
+        barrier.checkOverrun(0);
+
+        long next = sequencer.next();
+        OverrunException overrun = assertThrows(OverrunException.class, () -> barrier.checkOverrun(0));
+        assertEquals(1L, overrun.getOldestAvailableSequence());
+        barrier.checkOverrun(1);
+
+        sequencer.publish(next);
+        barrier.checkOverrun(4);
+    }
+
+    @Test
+    public void shouldOnlyReportBarriersOfOverwritingSequencerAsLappable()
+    {
+        assertFalse(new SingleProducerSequencer(4, new BusySpinWaitStrategy()).newBarrier().canBeLapped());
+        assertTrue(new SingleProducerSequencer(4, new BusySpinWaitStrategy(), true).newBarrier().canBeLapped());
+    }
+}
@@ -0,0 +1,73 @@
+package com.lmax.disruptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SlabEventFactoryTest
+{
+    @Test
+    public void shouldBindRingBufferEntriesToConsecutiveRunsOfTheSlab()
+    {
+        final SlabEventFactory<Trade> factory = SlabEventFactory.create(8, 3, Trade::new);
+        final RingBuffer<Trade> ringBuffer = RingBuffer.createSingleProducer(factory, 8);
+
+        assertEquals(8, factory.stride());
+        final long[] slab = ringBuffer.get(0).slab;
+        for (int i = 0; i < 8; i++)
+        {
+            assertSame(slab, ringBuffer.get(i).slab);
+            assertEquals(i * factory.stride(), ringBuffer.get(i).offset);
+        }
+
+        ringBuffer.publishEvent((event, sequence) -> event.setPrice(sequence * 10));
+        ringBuffer.publishEvent((event, sequence) -> event.setPrice(sequence * 10));
+
+        assertEquals(10L, ringBuffer.get(1).getPrice());
+        assertEquals(10L, slab[factory.stride() + Trade.PRICE]);
+    }
+
+    @Test
+    public void shouldRoundStrideUpToWholeCacheLines()
+    {
+        assertEquals(8, SlabEventFactory.create(4, 8, Trade::new).stride());
+        assertEquals(16, SlabEventFactory.create(4, 9, Trade::new).stride());
+    }
+
+    @Test
+    public void shouldNotCreateMoreEventsThanTheSlabHolds()
+    {
+        final SlabEventFactory<Trade> factory = SlabEventFactory.create(2, 1, Trade::new);
+        factory.newInstance();
+        factory.newInstance();
+
+        assertThrows(IllegalStateException.class, factory::newInstance);
+        assertThrows(IllegalArgumentException.class, () -> SlabEventFactory.create(0, 1, Trade::new));
+    }
+
+    private static final class Trade
+    {
+        static final int PRICE = 1;
+
+        private final long[] slab;
+        private final int offset;
+
+        Trade(final long[] slab, final int offset)
+        {
+            this.slab = slab;
+            this.offset = offset;
+        }
+
+        long getPrice()
+        {
+            return slab[offset + PRICE];
+        }
+
+        void setPrice(final long price)
+        {
+            slab[offset + PRICE] = price;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.lmax.disruptor;
 import org.junit.jupiter.api.Test;
 
 import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 
 
 public class SleepingWaitStrategyTest
@@ -27,4 +28,10 @@ public class SleepingWaitStrategyTest
     {
         assertWaitForWithDelayOf(50, new SleepingWaitStrategy());
     }
+
+    @Test
+    public void shouldWaitForValueWithCalibratedSpinTimeout() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new SleepingWaitStrategy(10, 100, MICROSECONDS));
+    }
 }
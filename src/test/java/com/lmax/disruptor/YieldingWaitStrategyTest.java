@@ -18,6 +18,7 @@ package com.lmax.disruptor;
 import org.junit.jupiter.api.Test;
 
 import static com.lmax.disruptor.support.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 
 public class YieldingWaitStrategyTest
 {
@@ -27,4 +28,10 @@ public class YieldingWaitStrategyTest
     {
         assertWaitForWithDelayOf(50, new YieldingWaitStrategy());
     }
+
+    @Test
+    public void shouldWaitForValueWithCalibratedSpinTimeout() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new YieldingWaitStrategy(10, MICROSECONDS));
+    }
 }
@@ -20,6 +20,7 @@ import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.FatalExceptionHandler;
+import com.lmax.disruptor.OverrunHandler;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.SequenceBarrier;
 import com.lmax.disruptor.TimeoutException;
@@ -38,8 +39,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -680,6 +684,53 @@ public class DisruptorTest
         }
     }
 
+    @Test
+    public void shouldNotHoldUpPublishersForNonGatingHandlers() throws Exception
+    {
+        final CountDownLatch gatingCounter = new CountDownLatch(20);
+        final StuckOverrunHandler stuckHandler = new StuckOverrunHandler();
+        disruptor.handleEventsWith((event, sequence, endOfBatch) -> gatingCounter.countDown());
+        disruptor.handleEventsWithoutGating(stuckHandler);
+
+        publishEvent();
+        assertTrue(stuckHandler.entered.await(TIMEOUT_IN_SECONDS, SECONDS));
+        for (int i = 1; i < 20; i++)
+        {
+            publishEvent();
+        }
+        assertTrue(gatingCounter.await(TIMEOUT_IN_SECONDS, SECONDS));
+
+        stuckHandler.release.countDown();
+        while (!stuckHandler.received.contains("19"))
+        {
+            Thread.yield();
+        }
+
+        assertEquals(Arrays.asList("0", "lost 0+16", "16", "17", "18", "19"), stuckHandler.received);
+        disruptor.shutdown(TIMEOUT_IN_SECONDS, SECONDS);
+    }
+
+    private static class StuckOverrunHandler implements EventHandler<TestEvent>, OverrunHandler
+    {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(final TestEvent event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            received.add(String.valueOf(sequence));
+            entered.countDown();
+            release.await();
+        }
+
+        @Override
+        public void onOverrun(final long sequence, final long lostCount)
+        {
+            received.add("lost " + sequence + "+" + lostCount);
+        }
+    }
+
     private void createDisruptor()
     {
         disruptor = new Disruptor<>(
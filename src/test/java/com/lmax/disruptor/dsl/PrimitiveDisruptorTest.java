@@ -0,0 +1,69 @@
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.primitive.LongEventHandler;
+import com.lmax.disruptor.primitive.LongRingBuffer;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveDisruptorTest
+{
+    @Test
+    public void shouldRunChainedHandlersInOrder() throws Exception
+    {
+        final int count = 1000;
+        final LongRingBuffer ringBuffer = LongRingBuffer.createMultiProducer(32, new BlockingWaitStrategy());
+        final PrimitiveDisruptor<Long, LongEventHandler> disruptor =
+            new PrimitiveDisruptor<>(ringBuffer, DaemonThreadFactory.INSTANCE);
+
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong lastSeenBySecond = new AtomicLong(-1);
+        final CountDownLatch latch = new CountDownLatch(count);
+        final LongEventHandler first = (value, sequence, endOfBatch) -> sum.addAndGet(value);
+        final LongEventHandler second = (value, sequence, endOfBatch) ->
+        {
+            assertTrue(disruptor.getSequenceValueFor(first) >= sequence);
+            lastSeenBySecond.set(value);
+            latch.countDown();
+        };
+
+        disruptor.handleEventsWith(first).then(second);
+        assertSame(ringBuffer, disruptor.start());
+
+        for (long i = 0; i < count; i++)
+        {
+            ringBuffer.publishEvent(i);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        disruptor.shutdown(5, TimeUnit.SECONDS);
+
+        assertEquals(count * (count - 1L) / 2, sum.get());
+        assertEquals(count - 1L, lastSeenBySecond.get());
+        assertEquals(count - 1L, disruptor.getSequenceValueFor(second));
+    }
+
+    @Test
+    public void shouldNotAllowHandlersAfterStart()
+    {
+        final PrimitiveDisruptor<Long, LongEventHandler> disruptor = new PrimitiveDisruptor<>(
+            LongRingBuffer.createSingleProducer(8, new BlockingWaitStrategy()), DaemonThreadFactory.INSTANCE);
+        final LongEventHandler handler = (value, sequence, endOfBatch) -> { };
+        disruptor.handleEventsWith(handler);
+        disruptor.start();
+
+        assertThrows(IllegalStateException.class, () -> disruptor.handleEventsWith(handler));
+        assertThrows(IllegalStateException.class, disruptor::start);
+        assertThrows(IllegalArgumentException.class, () -> disruptor.after((value, sequence, endOfBatch) -> { }));
+        disruptor.halt();
+    }
+}
@@ -0,0 +1,180 @@
+package com.lmax.disruptor.primitive;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldPublishValuesAndWrap()
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(4, new BlockingWaitStrategy());
+
+        for (long i = 0; i < 6; i++)
+        {
+            ringBuffer.publishEvent(i * 10);
+        }
+        ringBuffer.publishEvent(sequence -> sequence * 100);
+        ringBuffer.publishEvent((sequence, arg0) -> arg0 + 1, 41L);
+
+        assertEquals(7L, ringBuffer.getCursor());
+        assertEquals(50L, ringBuffer.get(5));
+        assertEquals(600L, ringBuffer.get(6));
+        assertEquals(42L, ringBuffer.get(7));
+    }
+
+    @Test
+    public void shouldNotPublishWhenFull()
+    {
+        final IntRingBuffer ringBuffer = IntRingBuffer.createMultiProducer(4, new BlockingWaitStrategy());
+        ringBuffer.addGatingSequences(new Sequence());
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(ringBuffer.tryPublishEvent(i));
+        }
+
+        assertFalse(ringBuffer.tryPublishEvent(4));
+        assertFalse(ringBuffer.tryPublishEvent(sequence -> 4));
+        assertEquals(3, ringBuffer.get(3));
+    }
+
+    @Test
+    public void shouldDeliverValuesInOrderToBatchEventProcessor() throws Exception
+    {
+        final int count = 10_000;
+        final DoubleRingBuffer ringBuffer = DoubleRingBuffer.createSingleProducer(64, new BlockingWaitStrategy());
+        final List<Double> values = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(count);
+        final DoubleBatchEventProcessor processor = ringBuffer.createEventProcessor(
+            ringBuffer.newBarrier(),
+            (value, sequence, endOfBatch) ->
+            {
+                values.add(value);
+                latch.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        for (int i = 0; i < count; i++)
+        {
+            ringBuffer.publishEvent(i / 2.0);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(i / 2.0, values.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void shouldReportBoxedValueToExceptionHandlerAndCarryOn() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(16, new BlockingWaitStrategy());
+        final AtomicReference<Long> failedValue = new AtomicReference<>();
+        final AtomicLong lastValue = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final LongBatchEventProcessor processor = new LongBatchEventProcessor(
+            ringBuffer,
+            ringBuffer.newBarrier(),
+            (value, sequence, endOfBatch) ->
+            {
+                if (value == 7L)
+                {
+                    throw new IllegalArgumentException();
+                }
+                lastValue.set(value);
+                if (value == 9L)
+                {
+                    latch.countDown();
+                }
+            });
+        processor.setExceptionHandler(new ExceptionHandler<Long>()
+        {
+            @Override
+            public void handleEventException(final Throwable ex, final long sequence, final Long event)
+            {
+                failedValue.set(event);
+            }
+
+            @Override
+            public void handleOnStartException(final Throwable ex)
+            {
+            }
+
+            @Override
+            public void handleOnShutdownException(final Throwable ex)
+            {
+            }
+        });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        for (long i = 0; i < 10; i++)
+        {
+            ringBuffer.publishEvent(i);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertEquals(Long.valueOf(7L), failedValue.get());
+        assertEquals(9L, lastValue.get());
+    }
+
+    @Test
+    public void shouldSkipValueWhoseTranslatorThrew() throws Exception
+    {
+        final IntRingBuffer ringBuffer = IntRingBuffer.createSingleProducer(16, new BlockingWaitStrategy());
+        final List<String> delivered = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final IntBatchEventProcessor processor = ringBuffer.createEventProcessor(
+            ringBuffer.newBarrier(),
+            (value, sequence, endOfBatch) ->
+            {
+                delivered.add(value + ":" + endOfBatch);
+                latch.countDown();
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        ringBuffer.publishEvent(1);
+        assertThrows(IllegalStateException.class, () -> ringBuffer.publishEvent(sequence ->
+        {
+            throw new IllegalStateException();
+        }));
+        ringBuffer.publishEvent(3);
+        assertThrows(IllegalStateException.class, () -> ringBuffer.publishEvent((sequence, arg0) ->
+        {
+            throw new IllegalStateException();
+        }, 4));
+
+        executor.submit(processor);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        processor.halt();
+
+        assertEquals(List.of("1:false", "3:true"), delivered);
+    }
+}
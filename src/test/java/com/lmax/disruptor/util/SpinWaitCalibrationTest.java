@@ -0,0 +1,37 @@
+package com.lmax.disruptor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpinWaitCalibrationTest
+{
+    @Test
+    public void shouldMeasurePositiveSpinWaitTime()
+    {
+        assertTrue(SpinWaitCalibration.spinWaitPicos() >= 1);
+        assertTrue(SpinWaitCalibration.spinsFor(1_000_000) >= 1);
+    }
+
+    @Test
+    public void shouldConvertNanosToSpinsUsingMeasuredTime()
+    {
+        assertEquals(250, SpinWaitCalibration.spinsFor(10_000, 40_000));
+        assertEquals(25, SpinWaitCalibration.spinsFor(10_000, 400_000));
+    }
+
+    @Test
+    public void shouldSpinAtLeastOnceForAnyPositiveBudget()
+    {
+        assertEquals(1, SpinWaitCalibration.spinsFor(1, 40_000));
+        assertEquals(0, SpinWaitCalibration.spinsFor(0, 40_000));
+        assertEquals(0, SpinWaitCalibration.spinsFor(-1, 40_000));
+    }
+
+    @Test
+    public void shouldCapSpinsForLongBudgets()
+    {
+        assertEquals(Integer.MAX_VALUE, SpinWaitCalibration.spinsFor(Long.MAX_VALUE, 1));
+    }
+}